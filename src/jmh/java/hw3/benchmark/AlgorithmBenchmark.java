@@ -0,0 +1,34 @@
+package hw3.benchmark;
+
+import hw3.solver.MSTAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link MSTAlgorithm} the solver can select, including the Prim heap variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AlgorithmBenchmark {
+    @Param({"PRIM", "PRIM_DARY", "PRIM_PAIRING", "KRUSKAL", "FILTER_KRUSKAL", "BORUVKA"})
+    public MSTAlgorithm algorithm;
+
+    @Benchmark
+    public double solve(GraphState state) {
+        return algorithm.solve(state.csr).weight();
+    }
+}
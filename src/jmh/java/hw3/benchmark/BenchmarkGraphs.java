@@ -0,0 +1,122 @@
+package hw3.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import edu.princeton.cs.algorithms.EdgeWeightedGraph;
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Seeded random graphs for the benchmarks. Every graph is connected: a random
+ * spanning tree is laid down first and the remaining edges join random vertex pairs.
+ */
+public final class BenchmarkGraphs {
+
+    /**
+     * How edge weights are drawn.
+     */
+    public enum Weights {
+        /** Uniform doubles in [0, 1): practically no ties. */
+        UNIFORM,
+        /** Integers in [1, 100], like the bundled datasets: many ties. */
+        INTEGER,
+        /** Exponential with mean 1: a few heavy edges, most of them light. */
+        EXPONENTIAL
+    }
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * @param vertices      number of vertices
+     * @param averageDegree average vertex degree; the graph has vertices * averageDegree / 2 edges
+     * @param weights       weight distribution
+     * @param seed          random seed, so every fork sees the same graph
+     */
+    public static CSRGraph csr(int vertices, int averageDegree, Weights weights, long seed) {
+        Random random = new Random(seed);
+        int edges = edgeCount(vertices, averageDegree);
+        CSRGraphBuilder builder = new CSRGraphBuilder(edges);
+        for (int e = 0; e < edges; e++) {
+            int[] pair = endpoints(random, vertices, e);
+            builder.addEdge(pair[0], pair[1], weight(random, weights));
+        }
+        return builder.build(vertices);
+    }
+
+    /**
+     * The same graph as {@link #csr} for the same arguments, as an algs4 graph.
+     */
+    public static EdgeWeightedGraph edgeWeighted(int vertices, int averageDegree, Weights weights, long seed) {
+        CSRGraph csr = csr(vertices, averageDegree, weights, seed);
+        EdgeWeightedGraph graph = new EdgeWeightedGraph(csr.V());
+        for (int e = 0; e < csr.E(); e++) {
+            graph.addEdge(csr.toEdge(e));
+        }
+        return graph;
+    }
+
+    /**
+     * Serializes a dataset of random graphs in the input JSON schema, with vertices named "v0", "v1", ...
+     *
+     * @param graphs number of graphs, with IDs 1..graphs
+     */
+    public static byte[] json(int graphs, int vertices, int averageDegree, Weights weights, long seed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("graphs");
+            for (int id = 1; id <= graphs; id++) {
+                CSRGraph graph = csr(vertices, averageDegree, weights, seed + id);
+                json.writeStartObject();
+                json.writeNumberField("id", id);
+                json.writeArrayFieldStart("nodes");
+                for (int v = 0; v < graph.V(); v++) {
+                    json.writeString("v" + v);
+                }
+                json.writeEndArray();
+                json.writeArrayFieldStart("edges");
+                for (int e = 0; e < graph.E(); e++) {
+                    json.writeStartObject();
+                    json.writeStringField("from", "v" + graph.from(e));
+                    json.writeStringField("to", "v" + graph.to(e));
+                    json.writeNumberField("weight", graph.weight(e));
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    static int edgeCount(int vertices, int averageDegree) {
+        return Math.max((int) Math.min((long) vertices * averageDegree / 2, Integer.MAX_VALUE - 8), vertices - 1);
+    }
+
+    // the first vertices-1 edges form a random spanning tree, the rest are random non-loop pairs
+    private static int[] endpoints(Random random, int vertices, int e) {
+        if (e < vertices - 1) {
+            int v = e + 1;
+            return new int[] {v, random.nextInt(v)};
+        }
+        int v = random.nextInt(vertices);
+        int w = random.nextInt(vertices - 1);
+        if (w >= v) w++;
+        return new int[] {v, w};
+    }
+
+    private static double weight(Random random, Weights weights) {
+        return switch (weights) {
+            case UNIFORM -> random.nextDouble();
+            case INTEGER -> 1 + random.nextInt(100);
+            case EXPONENTIAL -> -Math.log(1.0 - random.nextDouble());
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package hw3.benchmark;
+
+import edu.princeton.cs.algorithms.EdgeWeightedGraph;
+import hw3.algorithms.CSRKruskal;
+import hw3.algorithms.DynamicMST;
+import hw3.algorithms.Kruskal;
+import hw3.graph.CSRGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Break-even between {@link DynamicMST} and recomputing with Kruskal. Each invocation
+ * of {@code dynamicBatch} applies a batch of {@link Updates#batchSize} updates: half of them reweigh a random edge
+ * (up or down), the other half delete a random edge and insert a new one, so the graph
+ * keeps its size. Dividing its score by batchSize gives the cost per update; updates
+ * pay off while that stays below one {@code kruskal} or {@code csrKruskal} recompute.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DynamicMSTBenchmark {
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    @Param({"16"})
+    public int averageDegree;
+
+    private EdgeWeightedGraph graph;
+    private CSRGraph csr;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.edgeWeighted(vertices, averageDegree, BenchmarkGraphs.Weights.UNIFORM, 42L);
+        csr = BenchmarkGraphs.csr(vertices, averageDegree, BenchmarkGraphs.Weights.UNIFORM, 42L);
+    }
+
+    /**
+     * The dynamic MST of the benchmark graph and the next batch of updates for it.
+     */
+    @State(Scope.Benchmark)
+    public static class Updates {
+        @Param({"1", "16", "256", "1024", "4096"})
+        public int batchSize;
+
+        private DynamicMST dynamic;
+        private int[] live;                // ids of the live edges, for picking update targets
+        private SplittableRandom random;
+        private List<DynamicMST.Update> batch;
+
+        @Setup(Level.Trial)
+        public void setUp(DynamicMSTBenchmark benchmark) {
+            dynamic = new DynamicMST(benchmark.csr);
+            live = new int[benchmark.csr.E()];
+            for (int e = 0; e < live.length; e++) {
+                live[e] = e;
+            }
+            random = new SplittableRandom(42L);
+        }
+
+        @Setup(Level.Invocation)
+        public void nextBatch() {
+            batch = new ArrayList<>(batchSize);
+            int V = dynamic.getV();
+            int nextId = dynamic.getE();
+            while (batch.size() < batchSize) {
+                int slot = random.nextInt(live.length);
+                if (batch.size() + 1 == batchSize || random.nextBoolean()) {
+                    batch.add(DynamicMST.Update.changeWeight(live[slot], random.nextDouble()));
+                } else {
+                    batch.add(DynamicMST.Update.delete(live[slot]));
+                    batch.add(DynamicMST.Update.insert(random.nextInt(V), random.nextInt(V), random.nextDouble()));
+                    live[slot] = nextId++;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public double dynamicBatch(Updates updates) {
+        double[] weights = updates.dynamic.applyBatch(updates.batch);
+        return weights[weights.length - 1];
+    }
+
+    @Benchmark
+    public double kruskal() {
+        return new Kruskal(graph).weight();
+    }
+
+    @Benchmark
+    public double csrKruskal() {
+        return new CSRKruskal(csr).weight();
+    }
+}
@@ -0,0 +1,105 @@
+package hw3.benchmark;
+
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.exporter.CSVExporter;
+import hw3.exporter.JSONExporter;
+import hw3.graph.CSRGraph;
+import hw3.graph.NodeLabels;
+import hw3.solver.MSTAlgorithm;
+import hw3.solver.MSTSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV and JSON export of precomputed Prim and Kruskal results into a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExporterBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int vertices;
+
+    @Param({"4", "16"})
+    public int averageDegree;
+
+    @Param({"UNIFORM", "INTEGER"})
+    public BenchmarkGraphs.Weights weights;
+
+    @Param({"10"})
+    public int graphs;
+
+    private Map<MSTAlgorithm, Map<Integer, MinimumSpanningTree>> msts;
+    private Map<Integer, NodeLabels> labels;
+    private Path directory;
+    private String csvFile;
+    private String jsonFile;
+    private final LoaderBenchmark.Quiet quiet = new LoaderBenchmark.Quiet();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        msts = new EnumMap<>(MSTAlgorithm.class);
+        labels = new TreeMap<>();
+        for (MSTAlgorithm algorithm : MSTAlgorithm.DEFAULT) {
+            msts.put(algorithm, new TreeMap<>());
+        }
+        for (int id = 1; id <= graphs; id++) {
+            CSRGraph graph = BenchmarkGraphs.csr(vertices, averageDegree, weights, 42L + id);
+            int graphId = id;
+            new MSTSolver(graph).getResults().forEach((algorithm, mst) -> msts.get(algorithm).put(graphId, mst));
+
+            List<String> names = new ArrayList<>(vertices);
+            for (int v = 0; v < vertices; v++) {
+                names.add("v" + v);
+            }
+            labels.put(id, NodeLabels.of(names));
+        }
+
+        directory = Files.createTempDirectory("mst-export");
+        csvFile = directory.resolve("results.csv").toString();
+        jsonFile = directory.resolve("results.json").toString();
+        quiet.mute();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        quiet.restore();
+        Files.deleteIfExists(Path.of(csvFile));
+        Files.deleteIfExists(Path.of(jsonFile));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void csv() throws IOException {
+        CSVExporter.exportMultiple(msts, csvFile, "benchmark");
+    }
+
+    @Benchmark
+    public void json() {
+        JSONExporter.export(jsonFile, msts, labels);
+    }
+}
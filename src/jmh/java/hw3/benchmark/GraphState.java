@@ -0,0 +1,34 @@
+package hw3.benchmark;
+
+import edu.princeton.cs.algorithms.EdgeWeightedGraph;
+import hw3.graph.CSRGraph;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One random graph per parameter combination, in both algs4 and CSR form.
+ * Density is expressed as the average vertex degree, so E = V * averageDegree / 2.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+
+    @Param({"4", "16", "64"})
+    public int averageDegree;
+
+    @Param({"UNIFORM", "INTEGER", "EXPONENTIAL"})
+    public BenchmarkGraphs.Weights weights;
+
+    public EdgeWeightedGraph graph;
+    public CSRGraph csr;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.edgeWeighted(vertices, averageDegree, weights, 42L);
+        csr = BenchmarkGraphs.csr(vertices, averageDegree, weights, 42L);
+    }
+}
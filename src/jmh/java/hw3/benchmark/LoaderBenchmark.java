@@ -0,0 +1,125 @@
+package hw3.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hw3.dto.GraphData;
+import hw3.dto.MultipleGraphData;
+import hw3.loader.GraphLoader;
+import hw3.loader.LoadedGraph;
+import hw3.loader.StreamingGraphLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON loading. {@link GraphLoader#loadMultipleGraphs} only reads classpath resources,
+ * so it runs on the bundled datasets; the synthetic benchmarks parse generated
+ * datasets held in memory through the same databind and streaming paths.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoaderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Bundled {
+        @Param({"assign_3_input_small.json", "assign_3_input_medium.json", "assign_3_input_large.json"})
+        public String dataset;
+
+        private final Quiet quiet = new Quiet();
+
+        @Setup(Level.Trial)
+        public void setUp() { quiet.mute(); }
+
+        @TearDown(Level.Trial)
+        public void tearDown() { quiet.restore(); }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Synthetic {
+        @Param({"1000", "10000"})
+        public int vertices;
+
+        @Param({"4", "16", "64"})
+        public int averageDegree;
+
+        @Param({"UNIFORM", "INTEGER"})
+        public BenchmarkGraphs.Weights weights;
+
+        @Param({"5"})
+        public int graphs;
+
+        public byte[] json;
+        private final ObjectMapper mapper = new ObjectMapper();
+        private final Quiet quiet = new Quiet();
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            json = BenchmarkGraphs.json(graphs, vertices, averageDegree, weights, 42L);
+            quiet.mute();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() { quiet.restore(); }
+    }
+
+    @Benchmark
+    public Object loadMultipleGraphs(Bundled state) throws IOException {
+        return GraphLoader.loadMultipleGraphs(state.dataset);
+    }
+
+    @Benchmark
+    public Object loadDataset(Bundled state) throws IOException {
+        return GraphLoader.loadDataset(state.dataset);
+    }
+
+    @Benchmark
+    public void databind(Synthetic state, Blackhole blackhole) throws IOException {
+        MultipleGraphData data = state.mapper.readValue(state.json, MultipleGraphData.class);
+        for (GraphData graph : data.graphs) {
+            blackhole.consume(GraphLoader.toLoadedGraph(graph));
+        }
+    }
+
+    @Benchmark
+    public void streaming(Synthetic state, Blackhole blackhole) throws IOException {
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(new ByteArrayInputStream(state.json))) {
+            LoadedGraph graph;
+            while ((graph = loader.next()) != null) {
+                blackhole.consume(graph);
+            }
+        }
+    }
+
+    // the loaders log every graph to stdout, which would dominate the measurement
+    static final class Quiet {
+        private PrintStream saved;
+
+        void mute() {
+            saved = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        void restore() {
+            if (saved != null) System.setOut(saved);
+        }
+    }
+}
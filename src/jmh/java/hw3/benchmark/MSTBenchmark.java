@@ -0,0 +1,46 @@
+package hw3.benchmark;
+
+import hw3.algorithms.CSRKruskal;
+import hw3.algorithms.CSRPrim;
+import hw3.algorithms.Kruskal;
+import hw3.algorithms.Prim;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prim and Kruskal on the algs4 graph the reports use, next to their CSR counterparts.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MSTBenchmark {
+
+    @Benchmark
+    public double prim(GraphState state) {
+        return new Prim(state.graph).weight();
+    }
+
+    @Benchmark
+    public double kruskal(GraphState state) {
+        return new Kruskal(state.graph).weight();
+    }
+
+    @Benchmark
+    public double csrPrim(GraphState state) {
+        return new CSRPrim(state.csr).weight();
+    }
+
+    @Benchmark
+    public double csrKruskal(GraphState state) {
+        return new CSRKruskal(state.csr).weight();
+    }
+}
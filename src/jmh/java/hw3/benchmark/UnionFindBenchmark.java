@@ -0,0 +1,90 @@
+package hw3.benchmark;
+
+import edu.princeton.cs.algorithms.UF;
+import hw3.utils.ConcurrentUnionFind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended unions: the lock-free {@link ConcurrentUnionFind} against algs4's UF
+ * behind a single lock, with every thread merging random pairs of the same sets.
+ * The structures are rebuilt each iteration, so each one starts from singletons.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class UnionFindBenchmark {
+    @Param({"100000", "10000000"})
+    public int elements;
+
+    private int[] pairs;
+    private ConcurrentUnionFind concurrent;
+    private UF locked;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            next = ThreadLocalRandom.current().nextInt(1 << 20) * 2;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42L);
+        pairs = new int[1 << 21];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = random.nextInt(elements);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        concurrent = new ConcurrentUnionFind(elements);
+        locked = new UF(elements);
+    }
+
+    @Benchmark
+    public boolean concurrentUnion(Cursor cursor) {
+        int i = advance(cursor);
+        return concurrent.union(pairs[i], pairs[i + 1]);
+    }
+
+    @Benchmark
+    public boolean lockedUnion(Cursor cursor) {
+        int i = advance(cursor);
+        synchronized (locked) {
+            int p = pairs[i], q = pairs[i + 1];
+            if (locked.connected(p, q)) return false;
+            locked.union(p, q);
+            return true;
+        }
+    }
+
+    private int advance(Cursor cursor) {
+        int i = cursor.next;
+        cursor.next = (i + 2) & (pairs.length - 1);
+        return i;
+    }
+}
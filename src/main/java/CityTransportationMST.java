@@ -1,16 +1,25 @@
-import edu.princeton.cs.algorithms.EdgeWeightedGraph;
-import hw3.algorithms.Kruskal;
-import hw3.algorithms.Prim;
+import hw3.algorithms.MinimumSpanningTree;
 import hw3.exporter.CSVExporter;
-import hw3.exporter.JSONExporter;
-import hw3.loader.GraphLoader;
+import hw3.exporter.CSVResultWriter;
+import hw3.exporter.JSONResultWriter;
 import hw3.printer.ResultsPrinter;
-import hw3.solver.MSTSolver;
+import hw3.server.MSTServer;
+import hw3.solver.DatasetResult;
+import hw3.solver.MSTAlgorithm;
+import hw3.solver.ParallelDatasetRunner;
+import hw3.solver.ResultCache;
+import hw3.solver.ResultStore;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 public class CityTransportationMST {
     private static final String[] DATASETS = {
@@ -18,18 +27,103 @@ public class CityTransportationMST {
             "assign_3_input_medium.json",
             "assign_3_input_large.json"
     };
+    private static final String RESULTS_JSON = "results.json";
 
     public static void main(String[] args) {
-        try {
+        try (ParallelDatasetRunner runner = createRunner(args)) {
+            String port = hasFlag(args, "serve") ? String.valueOf(MSTServer.DEFAULT_PORT) : getOption(args, "serve", null);
+            if (port != null) {
+                serve(runner, Integer.parseInt(port), Long.parseLong(getOption(args, "warm-edges",
+                        String.valueOf(MSTServer.DEFAULT_WARM_EDGES))));
+                return;
+            }
             showWelcomeScreen();
-            String choice = getUserChoice(args);
-            processChoice(choice);
+            String choice = getOption(args, "input", null);
+            if (choice == null) choice = getUserChoice(args);
+            processChoice(choice, runner);
+            printCacheStats(runner.getCache());
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             System.exit(1);
         }
     }
 
+    /**
+     * Builds the dataset runner from optional flags:
+     * --threads=N (default: available cores), --resident=K graphs in flight
+     * (default: 2 * threads), --virtual to use virtual threads instead of a fork-join pool
+     * and --algorithms=a,b to run more algorithms (boruvka, filter-kruskal) next to Prim and Kruskal;
+     * --verify checks every result with the MST verifier. --input=FILE runs one dataset instead of
+     * the menu; FILE may be a path or resource name of a JSON file (optionally gzipped), a binary
+     * graph file (.mstg), or a directory of such files read in parallel as one dataset.
+     * --cache=DIR reuses results of graphs solved before from DIR, keeping at most
+     * --cache-size=MB megabytes of results there (default 256).
+     * --serve[=PORT] starts the solver service on localhost instead (default port 8080), keeping
+     * --warm-edges=N graph edges and result edges in its in-memory caches.
+     */
+    private static ParallelDatasetRunner createRunner(String[] args) throws IOException {
+        int threads = Integer.parseInt(getOption(args, "threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int resident = Integer.parseInt(getOption(args, "resident", String.valueOf(2 * threads)));
+        Set<MSTAlgorithm> algorithms = EnumSet.copyOf(MSTAlgorithm.DEFAULT);
+        algorithms.addAll(MSTAlgorithm.parse(getOption(args, "algorithms", "prim,kruskal")));
+
+        ParallelDatasetRunner runner = hasFlag(args, "virtual")
+                ? ParallelDatasetRunner.withVirtualThreads(resident, algorithms)
+                : new ParallelDatasetRunner(threads, resident, algorithms);
+        runner.setSelfCheck(hasFlag(args, "verify"));
+        String cacheDir = getOption(args, "cache", null);
+        if (cacheDir != null) {
+            long megabytes = Long.parseLong(getOption(args, "cache-size", "256"));
+            runner.setCache(new ResultCache(Path.of(cacheDir), megabytes << 20));
+        }
+        return runner;
+    }
+
+    /**
+     * Runs the solver service until the JVM is shut down, e.g. by Ctrl+C.
+     */
+    private static void serve(ParallelDatasetRunner runner, int port, long warmEdges)
+            throws IOException, InterruptedException {
+        // read once, when the JDK creates its first server: without TCP_NODELAY every keep-alive
+        // response waits ~40 ms for the client's delayed ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        CountDownLatch stopped = new CountDownLatch(1);
+        MSTServer server = new MSTServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), runner, warmEdges);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }));
+        server.start();
+        InetSocketAddress address = server.getAddress();
+        System.out.printf("MST service listening on http://%s:%d (POST /solve, GET /stats)%n",
+                address.getHostString(), address.getPort());
+        stopped.await();
+    }
+
+    private static void printCacheStats(ResultStore store) {
+        if (!(store instanceof ResultCache cache)) return;
+        System.out.printf("%nResult cache: %d hits, %d misses, %d results (%.1f MB) in %s%n",
+                cache.getHits(), cache.getMisses(), cache.size(), cache.sizeInBytes() / 1048576.0, cache.getDirectory());
+    }
+
+    private static String getOption(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return defaultValue;
+    }
+
+    private static boolean hasFlag(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) return true;
+        }
+        return false;
+    }
+
     private static void showWelcomeScreen() {
         System.out.println("""
            Assignment 3 - DAA
@@ -44,7 +138,7 @@ public class CityTransportationMST {
     }
 
     private static String getUserChoice(String[] args) {
-        if (args.length > 0) {
+        if (args.length > 0 && !args[0].startsWith("--")) {
             String arg = args[0].toLowerCase();
             return switch (arg) {
                 case "1", "small" -> DATASETS[0];
@@ -73,63 +167,57 @@ public class CityTransportationMST {
         }
     }
 
-    private static void processChoice(String choice) throws IOException {
+    private static void processChoice(String choice, ParallelDatasetRunner runner) throws IOException {
         if ("ALL".equals(choice)) {
-            processAllDatasets();
+            processAllDatasets(runner);
         } else {
-            processSingleDataset(choice);
+            processSingleDataset(choice, runner);
         }
     }
 
-    private static void processAllDatasets() throws IOException {
+    private static void processAllDatasets(ParallelDatasetRunner runner) throws IOException {
         System.out.println("\nRunning ALL datasets for comparison...");
         System.out.println("=".repeat(80));
 
-        Map<String, Map<Integer, Prim>> allPrim = new HashMap<>();
-        Map<String, Map<Integer, Kruskal>> allKruskal = new HashMap<>();
-        Map<String, Map<Integer, EdgeWeightedGraph>> allGraphs = new HashMap<>();
+        Map<String, Map<Integer, MinimumSpanningTree>> allPrim = new HashMap<>();
+        Map<String, Map<Integer, MinimumSpanningTree>> allKruskal = new HashMap<>();
 
         for (String dataset : DATASETS) {
-            var result = processDataset(dataset);
-            allPrim.put(dataset, result.primMSTs);
-            allKruskal.put(dataset, result.kruskalMSTs);
-            allGraphs.put(dataset, result.graphs);
+            DatasetResult result = runner.run(dataset);
+            System.out.println("\n" + dataset + " " + result.pipeline().summary());
+            allPrim.put(dataset, result.primMSTs());
+            allKruskal.put(dataset, result.kruskalMSTs());
         }
 
         printOverallComparison(allPrim, allKruskal);
         CSVExporter.exportSummary(allPrim,allKruskal,"summary_report.csv");
     }
 
-    private static void processSingleDataset(String filename) throws IOException {
+    private static void processSingleDataset(String filename, ParallelDatasetRunner runner) throws IOException {
         System.out.println("\nProcessing: " + filename);
         System.out.println("=".repeat(80));
 
-        DatasetResult result = processDataset(filename);
-        CSVExporter.exportMultiple(result.primMSTs, result.kruskalMSTs,
-                "results_" + filename.replace(".json", ".csv"), filename);
+        // CSV rows and JSON entries are streamed as graphs are solved, in graph ID order
+        DatasetResult result;
+        try (CSVResultWriter csv = new CSVResultWriter(Path.of(resultsFileName(filename)), filename);
+             JSONResultWriter json = new JSONResultWriter(Path.of(RESULTS_JSON))) {
+            result = runner.run(filename, csv.andThen(json));
+        }
 
-        new ResultsPrinter(result.graphs, result.primMSTs, result.kruskalMSTs).print();
-        JSONExporter.export("results.json", result.primMSTs, result.kruskalMSTs);
+        new ResultsPrinter(result.msts()).print();
+        System.out.println("\nJSON report exported → " + RESULTS_JSON);
+        System.out.println("\n" + result.pipeline().summary());
     }
 
-    private static DatasetResult processDataset(String filename) throws IOException {
-        Map<Integer, EdgeWeightedGraph> graphs = GraphLoader.loadMultipleGraphs(filename);
-
-        Map<Integer, Prim> primMSTs = new HashMap<>();
-        Map<Integer, Kruskal> kruskalMSTs = new HashMap<>();
-
-        for (int graphId : graphs.keySet().stream().sorted().toList()) {
-            EdgeWeightedGraph graph = graphs.get(graphId);
-            MSTSolver solver = new MSTSolver(graph);
-            primMSTs.put(graphId, solver.getPrimMST());
-            kruskalMSTs.put(graphId, solver.getKruskalMST());
-        }
-
-        return new DatasetResult(graphs, primMSTs, kruskalMSTs);
+    // results_<dataset>.csv in the working directory, whatever the input's folder and format
+    private static String resultsFileName(String filename) {
+        String name = Path.of(filename).getFileName().toString();
+        int dot = name.indexOf('.');
+        return "results_" + (dot > 0 ? name.substring(0, dot) : name) + ".csv";
     }
 
-    private static void printOverallComparison(Map<String, Map<Integer, Prim>> allPrim,
-                                               Map<String, Map<Integer, Kruskal>> allKruskal) {
+    private static void printOverallComparison(Map<String, Map<Integer, MinimumSpanningTree>> allPrim,
+                                               Map<String, Map<Integer, MinimumSpanningTree>> allKruskal) {
         System.out.println("\n OVERALL PERFORMANCE COMPARISON");
         System.out.println("=".repeat(80));
         System.out.printf("%-12s%-8s%-10s%-10s%-12s%-12s%n",
@@ -137,15 +225,14 @@ public class CityTransportationMST {
         System.out.println("-".repeat(80));
 
         for (String dataset : DATASETS) {
-            Prim prim = allPrim.get(dataset).values().iterator().next();
-            Kruskal kruskal = allKruskal.get(dataset).values().iterator().next();
+            MinimumSpanningTree prim = allPrim.get(dataset).values().iterator().next();
+            MinimumSpanningTree kruskal = allKruskal.get(dataset).values().iterator().next();
 
             String winner = prim.getMetrics().getExecutionTimeMs() < kruskal.getMetrics().getExecutionTimeMs()
                     ? "Prim" : "Kruskal";
 
-            System.out.printf("%-12s%-8s%-10s%-10.2f%-12.2f%s%n",
+            System.out.printf("%-12s%-8d%-10d%-10.3f%-12.3f%s%n",
                     dataset,
-                    "?", "?",
                     prim.getMetrics().getGraphV(),
                     prim.getMetrics().getGraphE(),
                     prim.getMetrics().getExecutionTimeMs(),
@@ -153,10 +240,4 @@ public class CityTransportationMST {
                     winner);
         }
     }
-
-
-    //helper class
-    private record DatasetResult(Map<Integer, EdgeWeightedGraph> graphs,
-                                 Map<Integer, Prim> primMSTs,
-                                 Map<Integer, Kruskal> kruskalMSTs) {}
 }
@@ -0,0 +1,153 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.graph.CSRGraph;
+import hw3.utils.ConcurrentUnionFind;
+import hw3.utils.Metrics;
+import hw3.utils.Phase;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel Borůvka on a {@link CSRGraph}. Each round scans the remaining edges in
+ * parallel to find every component's cheapest outgoing edge, then links those edges
+ * in parallel through a lock-free {@link ConcurrentUnionFind}, contracts the components
+ * and drops edges that became internal. Ties are broken by edge id, so the chosen edges
+ * never form a cycle; an edge picked by both of its components is linked only once.
+ */
+@Getter
+public class Boruvka implements MinimumSpanningTree {
+    private static final int NONE = -1;
+
+    private Metrics metrics;
+    private double weight;        // weight of MST
+    private int[] mstEdgeIds;     // ids of the edges in the MST
+    private int rounds;           // number of contraction rounds
+
+    /**
+     * Compute a minimum spanning tree (or forest) on the common fork-join pool.
+     * @param G the CSR graph
+     */
+    public Boruvka(CSRGraph G) {
+        this(G, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
+     * @param G    the CSR graph
+     * @param pool pool the parallel edge scans run on
+     */
+    public Boruvka(CSRGraph G, ForkJoinPool pool) {
+        this.metrics = new Metrics("Boruvka", G.V(), G.E());
+
+        int V = G.V();
+        int[] comp = new int[V];          // comp[v] = representative of v's component
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(V);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(V);
+        int[] accepted = new int[Math.max(V - 1, 0)];
+        AtomicInteger size = new AtomicInteger();
+        metrics.start();
+
+        for (int v = 0; v < V; v++) {
+            comp[v] = v;
+        }
+        int[] live = IntStream.range(0, G.E()).filter(e -> G.from(e) != G.to(e)).toArray();
+        metrics.countOperation(G.E()); // collecting edges
+
+        metrics.startPhase(Phase.UNION_FIND);
+        while (live.length > 0 && size.get() < V - 1) {
+            rounds++;
+            int[] edges = live;
+            int before = size.get();
+
+            pool.submit(() -> {
+                IntStream.range(0, V).parallel().forEach(v -> cheapest.set(v, NONE));
+
+                // find each component's cheapest outgoing edge
+                IntStream.range(0, edges.length).parallel().forEach(i -> {
+                    int e = edges[i];
+                    offer(G, cheapest, comp[G.from(e)], e);
+                    offer(G, cheapest, comp[G.to(e)], e);
+                });
+
+                // add the selected edges and merge their components
+                IntStream.range(0, V).parallel().forEach(c -> {
+                    int e = cheapest.get(c);
+                    if (e != NONE && uf.union(G.from(e), G.to(e))) {
+                        accepted[size.getAndIncrement()] = e;
+                    }
+                });
+
+                // contract: relabel every vertex with its component root
+                IntStream.range(0, V).parallel().forEach(v -> comp[v] = uf.find(v));
+            }).join();
+
+            int candidates = 0;
+            for (int c = 0; c < V; c++) {
+                if (cheapest.get(c) != NONE) candidates++;
+            }
+            metrics.countComparison(2L * edges.length);
+            metrics.countOperation(candidates); // candidate edges
+            metrics.countFind(candidates + V);
+            metrics.countUnion(size.get() - before);
+            metrics.countOperation(V);
+
+            // keep only edges between different components
+            live = pool.submit(() -> IntStream.of(edges).parallel()
+                    .filter(e -> comp[G.from(e)] != comp[G.to(e)])
+                    .toArray()).join();
+            metrics.countOperation(edges.length);
+        }
+
+        metrics.stopPhase(Phase.UNION_FIND);
+
+        // parallel linking accepts edges in any order; sort ids for a deterministic result
+        mstEdgeIds = Arrays.copyOf(accepted, size.get());
+        Arrays.sort(mstEdgeIds);
+        weight = 0.0;
+        List<Edge> mstEdgesList = new ArrayList<>(mstEdgeIds.length);
+        for (int e : mstEdgeIds) {
+            mstEdgesList.add(G.toEdge(e));
+            weight += G.weight(e);
+        }
+        metrics.setResults(weight, mstEdgesList);
+    }
+
+    // installs e as the cheapest edge of component c if it beats the current one
+    private static void offer(CSRGraph G, AtomicIntegerArray cheapest, int c, int e) {
+        while (true) {
+            int current = cheapest.get(c);
+            if (current != NONE && !lighter(G, e, current)) return;
+            if (cheapest.compareAndSet(c, current, e)) return;
+        }
+    }
+
+    private static boolean lighter(CSRGraph G, int e, int f) {
+        double we = G.weight(e), wf = G.weight(f);
+        return we < wf || (we == wf && e < f);
+    }
+
+    /**
+     * Returns the edges in a minimum spanning tree (or forest).
+     * @return the edges in a minimum spanning tree (or forest) as
+     *    an iterable of edges
+     */
+    public Iterable<Edge> edges() {
+        return metrics.getMstEdges();
+    }
+
+    /**
+     * Returns the sum of the edge weights in a minimum spanning tree (or forest).
+     * @return the sum of the edge weights in a minimum spanning tree (or forest)
+     */
+    public double weight() {
+        return weight;
+    }
+}
@@ -0,0 +1,230 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import edu.princeton.cs.algorithms.UF;
+import hw3.graph.CSRGraph;
+import hw3.utils.ConcurrentUnionFind;
+import hw3.utils.EdgeSort;
+import hw3.utils.Metrics;
+import hw3.utils.Phase;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Kruskal on a {@link CSRGraph}. Sorts a primitive (weight, edge id) array
+ * instead of boxed Edge objects, so the main loop allocates nothing per edge,
+ * and scans it with a plain array {@link UF}. In {@link Mode#FILTER} mode it runs Filter-Kruskal, which only sorts the
+ * partitions of edges it actually reaches; large partitions are filtered in
+ * parallel against a lock-free {@link ConcurrentUnionFind}.
+ */
+@Getter
+public class CSRKruskal implements MinimumSpanningTree {
+    // partitions at most this large are sorted and scanned directly
+    private static final int FILTER_THRESHOLD = 1024;
+    // partitions at least this large are filtered on the fork-join pool
+    private static final int PARALLEL_FILTER_THRESHOLD = 1 << 16;
+
+    /**
+     * How the edge array is ordered before the greedy scan.
+     */
+    public enum Mode {
+        /** Sort every edge up front, as in textbook Kruskal. */
+        SORT,
+        /**
+         * Quicksort-partition the edges around a pivot, solve the light half first,
+         * then drop heavy edges whose endpoints are already connected before recursing.
+         */
+        FILTER
+    }
+
+    private Metrics metrics;
+    private Mode mode;
+    private double weight;        // weight of MST
+    private int[] mstEdgeIds;     // ids of the edges in the MST
+
+    @Getter(AccessLevel.NONE) private UF uf;                          // SORT mode
+    @Getter(AccessLevel.NONE) private ConcurrentUnionFind sharedUf;   // FILTER mode, shared with the parallel filter
+    @Getter(AccessLevel.NONE) private int size;   // number of accepted edges so far
+
+    /**
+     * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
+     * @param G the CSR graph
+     */
+    public CSRKruskal(CSRGraph G) {
+        this(G, Mode.SORT);
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
+     * @param G    the CSR graph
+     * @param mode whether to sort all edges or to use Filter-Kruskal
+     */
+    public CSRKruskal(CSRGraph G, Mode mode) {
+        this.metrics = new Metrics(mode == Mode.FILTER ? "Filter-Kruskal" : "Kruskal", G.V(), G.E());
+        this.mode = mode;
+
+        // create parallel arrays of weights and edge ids
+        double[] keys = new double[G.E()];
+        int[] order = new int[G.E()];
+        metrics.start();
+        for (int e = 0; e < G.E(); e++) {
+            keys[e] = G.weight(e);
+            order[e] = e;
+            metrics.countOperation(); // collecting edges
+        }
+
+        if (mode == Mode.FILTER) {
+            sharedUf = new ConcurrentUnionFind(G.V());
+        } else {
+            uf = new UF(G.V());
+        }
+        metrics.countOperation();
+        weight = 0.0;
+        mstEdgeIds = new int[Math.max(G.V() - 1, 0)];
+
+        if (mode == Mode.FILTER) {
+            int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(G.E()));
+            filterKruskal(G, keys, order, 0, G.E(), depthLimit);
+        } else {
+            sortAndScan(G, keys, order, 0, G.E());
+        }
+
+        mstEdgeIds = Arrays.copyOf(mstEdgeIds, size);
+        uf = null;
+        sharedUf = null;
+
+        List<Edge> mstEdgesList = new ArrayList<>(size);
+        for (int e : mstEdgeIds) {
+            mstEdgesList.add(G.toEdge(e));
+        }
+        metrics.setResults(weight, mstEdgesList);
+    }
+
+    // Filter-Kruskal on order[lo..hi): light partition first, then filter and recurse into the heavy one
+    private void filterKruskal(CSRGraph G, double[] keys, int[] order, int lo, int hi, int depth) {
+        if (done(G) || lo >= hi) return;
+        if (hi - lo <= FILTER_THRESHOLD || depth == 0) {
+            sortAndScan(G, keys, order, lo, hi);
+            return;
+        }
+
+        metrics.startPhase(Phase.SORT);
+        int split = EdgeSort.partition(keys, order, lo, hi - 1) + 1;
+        metrics.stopPhase(Phase.SORT);
+        metrics.countComparison(hi - lo);
+        metrics.countOperation(); // partition
+
+        filterKruskal(G, keys, order, lo, split, depth - 1);
+        if (done(G)) return;
+        int end = filter(G, keys, order, split, hi);
+        filterKruskal(G, keys, order, split, end, depth - 1);
+    }
+
+    // moves edges of order[lo..hi) that still join two components to the front, returns the new end
+    private int filter(CSRGraph G, double[] keys, int[] order, int lo, int hi) {
+        metrics.countFind(hi - lo);
+        metrics.countOperation(hi - lo); // filter step
+        metrics.startPhase(Phase.UNION_FIND);
+        int end = lo;
+        if (hi - lo >= PARALLEL_FILTER_THRESHOLD) {
+            end = parallelFilter(G, keys, order, lo, hi);
+        } else {
+            for (int i = lo; i < hi; i++) {
+                int e = order[i];
+                if (sharedUf.find(G.from(e)) != sharedUf.find(G.to(e))) {
+                    keys[end] = keys[i];
+                    order[end] = e;
+                    end++;
+                }
+            }
+        }
+        metrics.stopPhase(Phase.UNION_FIND);
+        return end;
+    }
+
+    // no unions run while filtering, so concurrent finds see a fixed partition of the vertices
+    private int parallelFilter(CSRGraph G, double[] keys, int[] order, int lo, int hi) {
+        int[] kept = IntStream.range(lo, hi).parallel()
+                .filter(i -> sharedUf.find(G.from(order[i])) != sharedUf.find(G.to(order[i])))
+                .toArray();
+        // kept is ascending and kept[j] >= lo + j, so copying forward is safe
+        for (int j = 0; j < kept.length; j++) {
+            keys[lo + j] = keys[kept[j]];
+            order[lo + j] = order[kept[j]];
+        }
+        return lo + kept.length;
+    }
+
+    // sorts order[lo..hi) by weight and runs the greedy scan over it
+    private void sortAndScan(CSRGraph G, double[] keys, int[] order, int lo, int hi) {
+        int n = hi - lo;
+        metrics.startPhase(Phase.SORT);
+        EdgeSort.sort(keys, order, lo, hi);
+        metrics.stopPhase(Phase.SORT);
+        metrics.countOperation();
+        if (n > 1) {
+            metrics.countComparison((long) (n * (Math.log(n) / Math.log(2))));
+        }
+
+        // run greedy algorithm
+        metrics.startPhase(Phase.UNION_FIND);
+        for (int i = lo; i < hi && !done(G); i++) {
+            metrics.countOperation(); // loop step
+            int e = order[i];
+            int v = G.from(e);
+            int w = G.to(e);
+            metrics.countOperation(); // check endpoints
+
+            metrics.countFind();
+            // v-w does not create a cycle
+            if (find(v) != find(w)) {
+                metrics.countComparison();
+                metrics.countUnion();
+                metrics.countOperation(); // union decision
+                union(v, w);        // merge v and w components
+                mstEdgeIds[size++] = e;
+                weight += keys[i];
+            }
+        }
+        metrics.stopPhase(Phase.UNION_FIND);
+    }
+
+    // the greedy scan runs in both modes; the lock-free union-find only pays off where the filter reads it in parallel
+    private int find(int v) {
+        return uf != null ? uf.find(v) : sharedUf.find(v);
+    }
+
+    private void union(int v, int w) {
+        if (uf != null) {
+            uf.union(v, w);
+        } else {
+            sharedUf.union(v, w);
+        }
+    }
+
+    private boolean done(CSRGraph G) {
+        return size >= G.V() - 1;
+    }
+
+    /**
+     * Returns the edges in a minimum spanning tree (or forest).
+     * @return the edges in a minimum spanning tree (or forest) as
+     *    an iterable of edges
+     */
+    public Iterable<Edge> edges() {
+        return metrics.getMstEdges();
+    }
+
+    /**
+     * Returns the sum of the edge weights in a minimum spanning tree (or forest).
+     * @return the sum of the edge weights in a minimum spanning tree (or forest)
+     */
+    public double weight() {
+        return weight;
+    }
+}
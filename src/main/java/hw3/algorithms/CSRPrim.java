@@ -0,0 +1,155 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.graph.CSRGraph;
+import hw3.utils.HeapType;
+import hw3.utils.IndexedDoubleHeap;
+import hw3.utils.Metrics;
+import hw3.utils.Phase;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Eager Prim on a {@link CSRGraph}. Scans adjacency slots directly and keeps
+ * keys in a primitive heap, so the main loop allocates nothing per edge.
+ * The heap is chosen through {@link HeapType} so implementations can be compared.
+ */
+@Getter
+public class CSRPrim implements MinimumSpanningTree {
+    private Metrics metrics;
+    private int[] edgeTo;         // edgeTo[v] = id of shortest edge from tree vertex to v, -1 if none
+    private double[] distTo;      // distTo[v] = weight of shortest such edge
+    private boolean[] marked;     // marked[v] = true if v on tree, false otherwise
+    private HeapType heapType;
+    private IndexedDoubleHeap pq;
+    private double weight;
+
+    /**
+     * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
+     * @param G the CSR graph
+     */
+    public CSRPrim(CSRGraph G) {
+        this(G, HeapType.BINARY);
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
+     * @param G    the CSR graph
+     * @param heap priority queue implementation to use
+     */
+    public CSRPrim(CSRGraph G, HeapType heap) {
+        this.metrics = new Metrics(algorithmName(heap), G.V(), G.E());
+        this.heapType = heap;
+
+        edgeTo = new int[G.V()];
+        distTo = new double[G.V()];
+        marked = new boolean[G.V()];
+        pq = heap.create(G.V());
+        metrics.start();
+
+        Arrays.fill(edgeTo, -1);
+        for (int v = 0; v < G.V(); v++) {
+            distTo[v] = Double.POSITIVE_INFINITY;
+            metrics.countOperation(); // initialization
+        }
+        metrics.startPhase(Phase.PQ_LOOP);
+        for (int v = 0; v < G.V(); v++)      // run from each vertex to find
+            if (!marked[v]) {                // minimum spanning forest
+                metrics.countOperation(); // component check
+                prim(G, v);
+            }
+        metrics.stopPhase(Phase.PQ_LOOP);
+
+        // only the V-1 tree edges are materialized for reporting
+        List<Edge> mstEdges = new ArrayList<>();
+        weight = 0.0;
+        for (int v = 0; v < edgeTo.length; v++) {
+            int e = edgeTo[v];
+            if (e != -1) {
+                mstEdges.add(G.toEdge(e));
+                weight += G.weight(e);
+            }
+        }
+        metrics.setResults(weight, mstEdges);
+    }
+
+    // run Prim's algorithm in graph G, starting from vertex s
+    private void prim(CSRGraph G, int s) {
+        metrics.countOperation(); // prim call
+        distTo[s] = 0.0;
+        pq.insert(s, distTo[s]);
+        metrics.countOperation(); // insert operation
+
+        while (!pq.isEmpty()) {
+            metrics.countOperation(); // pq check
+            int v = pq.delMin();
+            metrics.countOperation(); // delete min
+            scan(G, v);
+        }
+    }
+
+    // scan vertex v
+    private void scan(CSRGraph G, int v) {
+        metrics.countOperation(); // scan call
+        marked[v] = true;
+
+        for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+            metrics.countOperation(); // edge iteration
+            int w = G.target(i);
+            metrics.countOperation(); // other call
+
+            if (marked[w]) {
+                metrics.countOperation(); // marked check
+                metrics.countComparison();
+                continue;
+            }
+
+            metrics.countOperation(); // weight comparison
+            double cost = G.slotWeight(i);
+            if (cost < distTo[w]) {
+                metrics.countComparison();
+                distTo[w] = cost;
+                edgeTo[w] = G.slotEdge(i);
+                metrics.countOperation(); // assignment
+
+                if (pq.contains(w)) {
+                    metrics.countOperation(); // contains check
+                    pq.decreaseKey(w, cost);
+                    metrics.countOperation(); // decreaseKey
+                } else {
+                    pq.insert(w, cost);
+                    metrics.countOperation(); // insert
+                }
+            }
+        }
+    }
+
+    // the binary heap keeps the plain name so existing reports are unchanged
+    static String algorithmName(HeapType heap) {
+        return switch (heap) {
+            case BINARY -> "Prim";
+            case DARY -> "Prim (4-ary heap)";
+            case PAIRING -> "Prim (pairing heap)";
+        };
+    }
+
+    /**
+     * Returns the edges in a minimum spanning tree (or forest).
+     * @return the edges in a minimum spanning tree (or forest) as
+     *    an iterable of edges
+     */
+    public Iterable<Edge> edges() {
+        return metrics.getMstEdges();
+    }
+
+    /**
+     * Returns the sum of the edge weights in a minimum spanning tree (or forest).
+     * @return the sum of the edge weights in a minimum spanning tree (or forest)
+     */
+    public double weight() {
+        return weight;
+    }
+}
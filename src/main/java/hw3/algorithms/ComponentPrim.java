@@ -0,0 +1,177 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.graph.CSRGraph;
+import hw3.graph.ComponentSplit;
+import hw3.utils.ComponentStats;
+import hw3.utils.HeapType;
+import hw3.utils.IndexedDoubleHeap;
+import hw3.utils.Metrics;
+import hw3.utils.Phase;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Eager Prim on a {@link CSRGraph} that grows the trees of independent components in
+ * parallel. A {@link ComponentSplit} pre-pass labels the connected components; each
+ * component is then grown from its smallest vertex by a task of its own, with a heap
+ * indexed by the vertex's number inside the component, so the graph is never copied and
+ * a heap is only as large as its component. Small components share a task. Every
+ * component starts where sequential Prim would, so the forest matches {@link CSRPrim}.
+ * Weight, size and time of each component are recorded in {@link Metrics#getComponents()}.
+ */
+@Getter
+public class ComponentPrim implements MinimumSpanningTree {
+    private static final int MIN_TASK_EDGES = 1 << 12;
+
+    private Metrics metrics;
+    private int[] edgeTo;         // edgeTo[v] = id of shortest edge from tree vertex to v, -1 if none
+    private double[] distTo;      // distTo[v] = weight of shortest such edge
+    private boolean[] marked;     // marked[v] = true if v on tree, false otherwise
+    private HeapType heapType;
+    private int componentCount;   // connected components, isolated vertices included
+    private double weight;
+
+    /**
+     * Compute a minimum spanning forest on the common fork-join pool.
+     * @param G the CSR graph
+     */
+    public ComponentPrim(CSRGraph G) {
+        this(G, HeapType.BINARY, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute a minimum spanning forest of an edge-weighted graph.
+     * @param G    the CSR graph
+     * @param heap priority queue implementation to use
+     * @param pool pool the components are grown on
+     */
+    public ComponentPrim(CSRGraph G, HeapType heap, ForkJoinPool pool) {
+        this.metrics = new Metrics(CSRPrim.algorithmName(heap) + " (components)", G.V(), G.E());
+        this.heapType = heap;
+        int V = G.V();
+        edgeTo = new int[V];
+        distTo = new double[V];
+        marked = new boolean[V];
+        metrics.start();
+
+        metrics.startPhase(Phase.COMPONENTS);
+        ComponentSplit split = new ComponentSplit(G, pool);
+        componentCount = split.count();
+        metrics.countUnion(G.E());
+        metrics.countFind(V);
+        metrics.stopPhase(Phase.COMPONENTS);
+
+        Arrays.fill(edgeTo, -1);
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        metrics.countOperation(V); // initialization
+
+        // one task per large component, small ones packed together up to the same size
+        int[] grown = IntStream.range(0, componentCount).filter(c -> split.vertexCount(c) > 1).toArray();
+        int grain = Math.max(MIN_TASK_EDGES, G.E() / (4 * pool.getParallelism()));
+        List<int[]> tasks = new ArrayList<>();
+        int from = 0, taskEdges = 0;
+        for (int i = 0; i < grown.length; i++) {
+            taskEdges += split.edgeCount(grown[i]);
+            if (taskEdges >= grain || i == grown.length - 1) {
+                tasks.add(Arrays.copyOfRange(grown, from, i + 1));
+                from = i + 1;
+                taskEdges = 0;
+            }
+        }
+
+        // components own disjoint vertices, so tasks never touch the same array entries
+        long[] nanos = new long[componentCount];
+        metrics.startPhase(Phase.PQ_LOOP);
+        pool.submit(() -> tasks.parallelStream().forEach(task -> {
+            int largest = 0;
+            for (int c : task) largest = Math.max(largest, split.vertexCount(c));
+            IndexedDoubleHeap pq = heap.create(largest);
+            for (int c : task) {
+                long start = System.nanoTime();
+                prim(G, split, c, pq);
+                nanos[c] = System.nanoTime() - start;
+            }
+        })).join();
+        metrics.stopPhase(Phase.PQ_LOOP);
+
+        List<Edge> mstEdges = new ArrayList<>();
+        weight = 0.0;
+        for (int v = 0; v < V; v++) {
+            int e = edgeTo[v];
+            if (e != -1) {
+                mstEdges.add(G.toEdge(e));
+                weight += G.weight(e);
+            }
+        }
+        List<ComponentStats> stats = new ArrayList<>(grown.length);
+        for (int c : grown) {
+            int n = split.vertexCount(c);
+            double componentWeight = 0.0;
+            for (int i = 1; i < n; i++) {
+                componentWeight += G.weight(edgeTo[split.vertex(c, i)]);
+            }
+            stats.add(new ComponentStats(n, split.edgeCount(c), n - 1, componentWeight, nanos[c]));
+        }
+        metrics.setComponents(stats);
+        metrics.setResults(weight, mstEdges);
+    }
+
+    // grow the tree of component c from its smallest vertex; the heap holds local vertex numbers
+    private void prim(CSRGraph G, ComponentSplit split, int c, IndexedDoubleHeap pq) {
+        metrics.countOperation(); // prim call
+        int s = split.vertex(c, 0);
+        distTo[s] = 0.0;
+        pq.insert(0, 0.0);
+
+        while (!pq.isEmpty()) {
+            int v = split.vertex(c, pq.delMin());
+            metrics.countOperation(); // delete min
+            marked[v] = true;
+
+            for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+                metrics.countOperation(); // edge iteration
+                int w = G.target(i);
+                if (marked[w]) {
+                    metrics.countComparison();
+                    continue;
+                }
+                double cost = G.slotWeight(i);
+                if (cost < distTo[w]) {
+                    metrics.countComparison();
+                    distTo[w] = cost;
+                    edgeTo[w] = G.slotEdge(i);
+                    int lw = split.local(w);
+                    if (pq.contains(lw)) {
+                        pq.decreaseKey(lw, cost);
+                    } else {
+                        pq.insert(lw, cost);
+                    }
+                    metrics.countOperation(); // heap update
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the edges in a minimum spanning tree (or forest).
+     * @return the edges in a minimum spanning tree (or forest) as
+     *    an iterable of edges
+     */
+    public Iterable<Edge> edges() {
+        return metrics.getMstEdges();
+    }
+
+    /**
+     * Returns the sum of the edge weights in a minimum spanning tree (or forest).
+     * @return the sum of the edge weights in a minimum spanning tree (or forest)
+     */
+    public double weight() {
+        return weight;
+    }
+}
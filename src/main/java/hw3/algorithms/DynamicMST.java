@@ -0,0 +1,537 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import edu.princeton.cs.algorithms.EdgeWeightedGraph;
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import hw3.utils.EdgeSort;
+import hw3.utils.Metrics;
+import hw3.utils.Phase;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimum spanning forest under edge insertions, deletions and arbitrary weight changes,
+ * applied in batches (Eppstein's offline reduction). For a batch touching k edges:
+ * <ol>
+ *   <li>contraction: Kruskal with the touched edges forced in first; the untouched edges it
+ *       still takes are in the MST whatever the batch does to the touched ones,</li>
+ *   <li>reduction: Kruskal over the untouched edges with those contracted and the touched
+ *       edges removed; an untouched edge it rejects can never enter the MST,</li>
+ *   <li>the O(k) edges left, plus the touched ones, form a small graph on which every
+ *       update is replayed with its own Kruskal run.</li>
+ * </ol>
+ * A batch costs O(E α(V) + k² log k), since all edges are kept in one sorted order that is
+ * repaired by merging rather than resorting. With k around sqrt(E) that is sublinear
+ * amortized time per update, so {@link #applyBatch} cuts long batches into chunks of that
+ * size; a batch of one is as slow as recomputing.
+ */
+@Getter
+public class DynamicMST implements MinimumSpanningTree {
+    private static final int MIN_CHUNK = 64;   // below this the small-graph replay is never the bottleneck
+
+    private final int V;
+    private int E;                // number of edge ids handed out, including deleted edges
+    private double weight;        // weight of the current MST
+
+    @Getter(AccessLevel.NONE) private final Metrics metrics;
+    @Getter(AccessLevel.NONE) private int[] from;
+    @Getter(AccessLevel.NONE) private int[] to;
+    @Getter(AccessLevel.NONE) private double[] weights;
+    @Getter(AccessLevel.NONE) private boolean[] alive;
+    @Getter(AccessLevel.NONE) private boolean[] inTree;
+    @Getter(AccessLevel.NONE) private int[] order;                // live edges sorted by (weight, id)
+    @Getter(AccessLevel.NONE) private int orderSize;
+    @Getter(AccessLevel.NONE) private int treeSize;               // number of tree edges
+    @Getter(AccessLevel.NONE) private int[] local;                // local index of a touched edge in the running batch, else -1
+    @Getter(AccessLevel.NONE) private final int[] contracted;     // union-find over the forced edges
+    @Getter(AccessLevel.NONE) private final int[] reduced;        // union-find over forced plus surviving edges
+    @Getter(AccessLevel.NONE) private final int[] component;      // small-graph vertex of a contracted component, else -1
+    @Getter(AccessLevel.NONE) private boolean solved;             // inTree holds an MST
+    @Getter(AccessLevel.NONE) private boolean stale = true;       // metrics results need refreshing
+
+    /**
+     * One change to the graph. Edges inserted by a batch get the next free ids in the
+     * order they appear, so later updates in the same batch may refer to them.
+     * @param type   what to do
+     * @param edge   the edge to delete or reweigh; ignored for inserts
+     * @param v      one endpoint of an inserted edge
+     * @param w      the other endpoint of an inserted edge
+     * @param weight weight of an inserted or reweighed edge
+     */
+    public record Update(Type type, int edge, int v, int w, double weight) {
+        public static Update insert(int v, int w, double weight) {
+            return new Update(Type.INSERT, -1, v, w, weight);
+        }
+
+        public static Update delete(int edge) {
+            return new Update(Type.DELETE, edge, -1, -1, Double.NaN);
+        }
+
+        public static Update changeWeight(int edge, double weight) {
+            return new Update(Type.CHANGE_WEIGHT, edge, -1, -1, weight);
+        }
+    }
+
+    public enum Type { INSERT, DELETE, CHANGE_WEIGHT }
+
+    /**
+     * Computes the MST of G. Edge e of G keeps id e.
+     * @param G the CSR graph
+     */
+    public DynamicMST(CSRGraph G) {
+        this.V = G.V();
+        this.metrics = new Metrics("Dynamic MST", G.V(), G.E());
+        int capacity = Math.max(G.E(), 1);
+        from = new int[capacity];
+        to = new int[capacity];
+        weights = new double[capacity];
+        alive = new boolean[capacity];
+        inTree = new boolean[capacity];
+        local = new int[capacity];
+        Arrays.fill(local, -1);
+        contracted = new int[V];
+        reduced = new int[V];
+        component = new int[V];
+        Arrays.fill(component, -1);
+        metrics.start();
+
+        metrics.startPhase(Phase.SORT);
+        order = new int[capacity];
+        double[] keys = new double[G.E()];
+        for (int e = 0; e < G.E(); e++) {
+            from[e] = G.from(e);
+            to[e] = G.to(e);
+            weights[e] = G.weight(e);
+            alive[e] = true;
+            order[e] = e;
+            keys[e] = weights[e];
+        }
+        EdgeSort.sort(keys, order, 0, G.E());
+        metrics.stopPhase(Phase.SORT);
+        E = orderSize = G.E();
+
+        applyChunk(List.of()); // an empty chunk contracts every edge Kruskal takes
+        metrics.stop();
+    }
+
+    /**
+     * Computes the MST of G. Edges are numbered in the order of {@code G.edges()}.
+     * @param G the edge-weighted graph
+     */
+    public DynamicMST(EdgeWeightedGraph G) {
+        this(CSRGraph.of(G));
+    }
+
+    /**
+     * Applies the updates in order and leaves the MST of the final graph. Long batches are
+     * processed in chunks of about sqrt(E) updates, where the cost per update is lowest.
+     * @param updates the batch; nothing is changed if any update is invalid
+     * @return the MST weight after each update
+     * @throws IllegalArgumentException if an update names a missing or deleted edge,
+     *         a vertex outside the graph, or a NaN weight
+     */
+    public double[] applyBatch(List<Update> updates) {
+        validate(updates);
+        int k = updates.size();
+        if (k == 0) return new double[0];
+        double[] result = new double[k];
+        int chunk = Math.max(MIN_CHUNK, (int) Math.sqrt(orderSize));
+        for (int lo = 0; lo < k; lo += chunk) {
+            int hi = Math.min(k, lo + chunk);
+            System.arraycopy(applyChunk(updates.subList(lo, hi)), 0, result, lo, hi - lo);
+        }
+        return result;
+    }
+
+    // checks the updates against the evolving graph without changing anything
+    private void validate(List<Update> updates) {
+        Map<Integer, Boolean> changed = new HashMap<>(); // liveness of edges the batch already touched
+        int next = E;
+        for (Update u : updates) {
+            if (u.type() != Type.DELETE && Double.isNaN(u.weight())) {
+                throw new IllegalArgumentException("Weight is NaN");
+            }
+            if (u.type() == Type.INSERT) {
+                validateVertex(u.v());
+                validateVertex(u.w());
+                changed.put(next++, true);
+                continue;
+            }
+            int e = u.edge();
+            if (e < 0 || e >= next) {
+                throw new IllegalArgumentException("edge " + e + " is not between 0 and " + (next - 1));
+            }
+            Boolean live = changed.get(e);
+            if (live == null ? !alive[e] : !live) {
+                throw new IllegalArgumentException("edge " + e + " has been deleted");
+            }
+            if (u.type() == Type.DELETE) changed.put(e, false);
+        }
+    }
+
+    // the reduction and replay for one chunk of valid updates
+    private double[] applyChunk(List<Update> updates) {
+        int k = updates.size();
+        int[] ids = new int[k];           // edge of each update
+        int[] touched = new int[k];       // touched edges by local index
+        boolean[] touchedAlive = new boolean[k];
+        double[] touchedWeight = new double[k];
+        int t = 0;
+
+        // give every touched edge a local index; inserted edges take the next free ids
+        int inserts = 0;
+        for (Update u : updates) {
+            if (u.type() == Type.INSERT) inserts++;
+        }
+        ensureCapacity(E + inserts);
+        int next = E;
+        for (int i = 0; i < k; i++) {
+            Update u = updates.get(i);
+            int e = u.type() == Type.INSERT ? next++ : u.edge();
+            if (u.type() == Type.INSERT) {
+                from[e] = u.v();
+                to[e] = u.w();
+                weights[e] = u.weight();
+                alive[e] = false;     // not there until its update is replayed
+                inTree[e] = false;
+            }
+            if (local[e] < 0) {
+                local[e] = t;
+                touched[t++] = e;
+            }
+            ids[i] = e;
+        }
+        E = next;
+        metrics.countOperation(k);
+
+        // state of the touched edges before the batch
+        for (int l = 0; l < t; l++) {
+            touchedAlive[l] = alive[touched[l]];
+            touchedWeight[l] = weights[touched[l]];
+        }
+
+        metrics.startPhase(Phase.UNION_FIND);
+        // how many unions the whole graph allows: the old forest (all edges before the first batch)
+        // plus every touched edge spans it
+        resetSets(contracted);
+        int spanning = 0;
+        for (int e = 0; e < E; e++) {
+            if ((solved ? inTree[e] : alive[e]) && local[e] < 0 && union(contracted, from[e], to[e])) spanning++;
+        }
+        for (int l = 0; l < t; l++) {
+            if (union(contracted, from[touched[l]], to[touched[l]])) spanning++;
+        }
+
+        // contraction: touched edges first (as if weighted -inf), then Kruskal over the rest
+        resetSets(contracted);
+        int touchedUnions = 0;
+        for (int l = 0; l < t; l++) {
+            if (union(contracted, from[touched[l]], to[touched[l]])) touchedUnions++;
+        }
+        int[] forced = new int[spanning - touchedUnions];
+        int forcedSize = 0;
+        double forcedWeight = 0.0;
+        int scanned = 0;
+        for (; scanned < orderSize && forcedSize < forced.length; scanned++) {
+            int e = order[scanned];
+            if (local[e] < 0 && union(contracted, from[e], to[e])) {
+                forced[forcedSize++] = e;
+                forcedWeight += weights[e];
+            }
+        }
+
+        // reduction: with forced edges contracted and touched ones gone, keep what Kruskal still takes;
+        // those edges can at most redo the unions the touched edges made
+        resetSets(contracted);
+        for (int i = 0; i < forcedSize; i++) {
+            union(contracted, from[forced[i]], to[forced[i]]);
+        }
+        System.arraycopy(contracted, 0, reduced, 0, V);
+        int[] kept = new int[touchedUnions];
+        int keptSize = 0;
+        for (int i = 0; i < orderSize && keptSize < kept.length; i++, scanned++) {
+            int e = order[i];
+            if (local[e] < 0 && union(reduced, from[e], to[e])) {
+                kept[keptSize++] = e;
+            }
+        }
+        metrics.countFind(2L * (scanned + forcedSize + E));
+        metrics.stopPhase(Phase.UNION_FIND);
+
+        // the small graph: one vertex per contracted component an edge touches
+        int n = 0;
+        int[] smallFrom = new int[keptSize + t];
+        int[] smallTo = new int[keptSize + t];
+        int[] reps = new int[2 * (keptSize + t)];
+        for (int i = 0; i < keptSize + t; i++) {
+            int e = i < keptSize ? kept[i] : touched[i - keptSize];
+            int a = find(contracted, from[e]), b = find(contracted, to[e]);
+            if (component[a] < 0) reps[component[a] = n++] = a;
+            if (component[b] < 0) reps[component[b] = n++] = b;
+            smallFrom[i] = component[a];
+            smallTo[i] = component[b];
+        }
+        for (int i = 0; i < n; i++) component[reps[i]] = -1;
+
+        // replay the updates on the small graph
+        double[] result = new double[k];
+        int[] sets = new int[n];
+        int[] byWeight = new int[t];
+        double[] keys = new double[t];
+        boolean[] chosen = new boolean[keptSize + t];
+        for (int i = 0; i < k; i++) {
+            Update u = updates.get(i);
+            int l = local[ids[i]];
+            if (u.type() == Type.DELETE) {
+                touchedAlive[l] = false;
+            } else {
+                touchedAlive[l] = true;
+                touchedWeight[l] = u.weight();
+            }
+            result[i] = forcedWeight + smallKruskal(kept, keptSize, touched, touchedAlive, touchedWeight, t,
+                    smallFrom, smallTo, sets, byWeight, keys, i == k - 1 ? chosen : null);
+        }
+        if (k == 0) {
+            smallKruskal(kept, keptSize, touched, touchedAlive, touchedWeight, t, smallFrom, smallTo, sets, byWeight, keys, chosen);
+        }
+
+        // commit the final state of the touched edges and the new tree
+        for (int l = 0; l < t; l++) {
+            int e = touched[l];
+            alive[e] = touchedAlive[l];
+            weights[e] = touchedWeight[l];
+        }
+        weight = 0.0;
+        treeSize = 0;
+        Arrays.fill(inTree, 0, E, false);
+        for (int i = 0; i < forcedSize; i++) {
+            inTree[forced[i]] = true;
+        }
+        for (int i = 0; i < keptSize + t; i++) {
+            if (chosen[i]) inTree[i < keptSize ? kept[i] : touched[i - keptSize]] = true;
+        }
+        for (int e = 0; e < E; e++) {
+            if (inTree[e]) {
+                weight += weights[e];
+                treeSize++;
+            }
+        }
+        solved = true;
+        repairOrder(touched, t, keys, byWeight);
+        for (int l = 0; l < t; l++) local[touched[l]] = -1;
+        stale = true;
+        return result;
+    }
+
+    /**
+     * Inserts the edge v-w as a batch of one.
+     * @return the id of the new edge
+     */
+    public int insertEdge(int v, int w, double weight) {
+        applyBatch(List.of(Update.insert(v, w, weight)));
+        return E - 1;
+    }
+
+    /**
+     * Deletes edge e as a batch of one.
+     */
+    public void deleteEdge(int e) {
+        applyBatch(List.of(Update.delete(e)));
+    }
+
+    /**
+     * Sets the weight of edge e as a batch of one.
+     */
+    public void changeWeight(int e, double weight) {
+        applyBatch(List.of(Update.changeWeight(e, weight)));
+    }
+
+    // Kruskal over the kept edges (already sorted) merged with the live touched edges
+    private double smallKruskal(int[] kept, int keptSize, int[] touched, boolean[] touchedAlive,
+                                double[] touchedWeight, int t, int[] smallFrom, int[] smallTo, int[] sets,
+                                int[] byWeight, double[] keys, boolean[] chosen) {
+        int live = 0;
+        for (int l = 0; l < t; l++) {
+            if (touchedAlive[l]) {
+                keys[live] = touchedWeight[l];
+                byWeight[live++] = l;
+            }
+        }
+        EdgeSort.sort(keys, byWeight, 0, live);
+        resetSets(sets);
+
+        double total = 0.0;
+        int i = 0, j = 0;
+        while (i < keptSize || j < live) {
+            int s;
+            double w;
+            if (j == live || (i < keptSize && (weights[kept[i]] < keys[j]
+                    || (weights[kept[i]] == keys[j] && kept[i] < touched[byWeight[j]])))) {
+                s = i;
+                w = weights[kept[i++]];
+            } else {
+                s = keptSize + byWeight[j];
+                w = keys[j++];
+            }
+            if (union(sets, smallFrom[s], smallTo[s])) {
+                total += w;
+                if (chosen != null) chosen[s] = true;
+            }
+        }
+        metrics.countFind(2L * (keptSize + live));
+        metrics.countComparison(keptSize + live);
+        return total;
+    }
+
+    // removes the touched edges from the sorted order and merges the live ones back in at their new weights
+    private void repairOrder(int[] touched, int t, double[] keys, int[] ids) {
+        metrics.startPhase(Phase.SORT);
+        int live = 0;
+        for (int l = 0; l < t; l++) {
+            int e = touched[l];
+            if (alive[e]) {
+                keys[live] = weights[e];
+                ids[live++] = e;
+            }
+        }
+        EdgeSort.sort(keys, ids, 0, live);
+
+        int kept = 0;
+        for (int i = 0; i < orderSize; i++) {
+            if (local[order[i]] < 0) order[kept++] = order[i];
+        }
+        int[] merged = new int[Math.max(order.length, kept + live)];
+        int i = 0, j = 0, m = 0;
+        while (i < kept || j < live) {
+            if (j == live || (i < kept && !before(ids[j], order[i]))) merged[m++] = order[i++];
+            else merged[m++] = ids[j++];
+        }
+        order = merged;
+        orderSize = m;
+        metrics.stopPhase(Phase.SORT);
+    }
+
+    // (weight, id) order, the same tie-break EdgeSort uses
+    private boolean before(int a, int b) {
+        return weights[a] < weights[b] || (weights[a] == weights[b] && a < b);
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= from.length) return;
+        int capacity = Math.max(n, from.length + (from.length >> 1));
+        int old = from.length;
+        from = Arrays.copyOf(from, capacity);
+        to = Arrays.copyOf(to, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        inTree = Arrays.copyOf(inTree, capacity);
+        local = Arrays.copyOf(local, capacity);
+        Arrays.fill(local, old, capacity, -1);
+    }
+
+    private static void resetSets(int[] parent) {
+        for (int v = 0; v < parent.length; v++) parent[v] = v;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]]; // path halving
+            v = parent[v];
+        }
+        return v;
+    }
+
+    // joins the sets of v and w, returning false if they were already one set
+    private static boolean union(int[] parent, int v, int w) {
+        int a = find(parent, v), b = find(parent, w);
+        if (a == b) return false;
+        parent[a] = b;
+        return true;
+    }
+
+    /**
+     * @return true if edge e is currently in the MST
+     */
+    public boolean inTree(int e) {
+        validateEdge(e);
+        return inTree[e];
+    }
+
+    /**
+     * @return true if edge e has not been deleted
+     */
+    public boolean isAlive(int e) {
+        validateEdge(e);
+        return alive[e];
+    }
+
+    /**
+     * @return current weight of edge e
+     */
+    public double weight(int e) {
+        validateEdge(e);
+        return weights[e];
+    }
+
+    /**
+     * Returns the metrics, with the MST edges and weight of the current tree.
+     */
+    public Metrics getMetrics() {
+        if (stale) {
+            metrics.setResults(weight, treeEdges());
+            stale = false;
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the edges in the current minimum spanning tree (or forest).
+     * @return the edges in a minimum spanning tree (or forest) as
+     *    an iterable of edges
+     */
+    public Iterable<Edge> edges() {
+        return treeEdges();
+    }
+
+    /**
+     * Returns the sum of the edge weights in the current minimum spanning tree (or forest).
+     * @return the sum of the edge weights in a minimum spanning tree (or forest)
+     */
+    public double weight() {
+        return weight;
+    }
+
+    /**
+     * @return the live edges of the current graph as a CSR graph, ids renumbered densely
+     */
+    public CSRGraph toGraph() {
+        CSRGraphBuilder builder = new CSRGraphBuilder(orderSize);
+        for (int e = 0; e < E; e++) {
+            if (alive[e]) builder.addEdge(from[e], to[e], weights[e]);
+        }
+        return builder.build(V);
+    }
+
+    private List<Edge> treeEdges() {
+        List<Edge> edges = new ArrayList<>(treeSize);
+        for (int e = 0; e < E; e++) {
+            if (inTree[e]) edges.add(new Edge(from[e], to[e], weights[e]));
+        }
+        return edges;
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= V) throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    private void validateEdge(int e) {
+        if (e < 0 || e >= E) throw new IllegalArgumentException("edge " + e + " is not between 0 and " + (E - 1));
+    }
+}
@@ -0,0 +1,322 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import edu.princeton.cs.algorithms.UF;
+import hw3.graph.CSRGraph;
+import hw3.utils.EdgeSort;
+import hw3.utils.HeapType;
+import hw3.utils.IndexedDoubleHeap;
+import hw3.utils.Metrics;
+import hw3.utils.Phase;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Out-of-core Kruskal. The edges are read in runs of at most {@code runEdges}, each run is
+ * sorted by weight and spilled to a temp file as 16-byte (weight, from, to) records, and the
+ * runs are k-way merged through buffered {@link FileChannel}s straight into the union-find.
+ * Besides one run buffer only O(V) state is resident: the union-find, the tree edges and one
+ * read buffer per merged run. More than {@code fanIn} runs are first merged into longer runs,
+ * one extra pass each time; the last pass stops reading as soon as V - 1 edges are accepted.
+ * A graph that fits in one run is sorted in memory and nothing is spilled. Combined with a
+ * memory-mapped graph from {@link hw3.loader.BinaryGraphLoader} the edge set never has to fit
+ * in the heap. Spilled bytes and merge passes are recorded in {@link Metrics}.
+ */
+@Getter
+public class ExternalKruskal implements MinimumSpanningTree {
+    /** Edges sorted in memory at a time by default; their keys and ids take 48 MB. */
+    public static final int DEFAULT_RUN_EDGES = 1 << 22;
+    /** Runs merged at once by default. */
+    public static final int DEFAULT_FAN_IN = 64;
+    private static final int RECORD_BYTES = 16;           // weight, from, to
+    private static final int BUFFER_BYTES = 1 << 16;      // per open run
+
+    private Metrics metrics;
+    private int runEdges;
+    private int fanIn;
+    private int runCount;         // sorted runs spilled, 0 if the graph fit in one run
+    private double weight;        // weight of MST
+
+    @Getter(AccessLevel.NONE) private final List<Edge> mst = new ArrayList<>();
+    @Getter(AccessLevel.NONE) private UF uf;
+    @Getter(AccessLevel.NONE) private int V;
+
+    /**
+     * Compute a minimum spanning tree (or forest), spilling to the default temp directory.
+     * @param G the CSR graph
+     */
+    public ExternalKruskal(CSRGraph G) {
+        this(G, DEFAULT_RUN_EDGES, DEFAULT_FAN_IN, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
+     * @param G        the CSR graph
+     * @param runEdges edges sorted in memory per run
+     * @param fanIn    runs merged at once, at least 2
+     * @param tempDir  directory the runs are spilled to; removed again when done
+     * @throws UncheckedIOException if the runs cannot be written or read
+     */
+    public ExternalKruskal(CSRGraph G, int runEdges, int fanIn, Path tempDir) {
+        if (runEdges < 1) throw new IllegalArgumentException("runEdges must be positive");
+        if (fanIn < 2) throw new IllegalArgumentException("fanIn must be at least 2");
+        this.metrics = new Metrics("External Kruskal", G.V(), G.E());
+        this.runEdges = runEdges;
+        this.fanIn = fanIn;
+        this.V = G.V();
+
+        uf = new UF(V);
+        metrics.start();
+        metrics.countOperation();
+        weight = 0.0;
+
+        if (G.E() <= runEdges) {
+            sortInMemory(G);
+        } else {
+            Path dir = null;
+            try {
+                dir = Files.createTempDirectory(tempDir, "mst-kruskal-");
+                spillAndMerge(G, dir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("External Kruskal failed in " + (dir == null ? tempDir : dir), e);
+            } finally {
+                if (dir != null) deleteRecursively(dir);
+            }
+        }
+        uf = null;
+        metrics.setResults(weight, mst);
+    }
+
+    // the whole edge set is one run: sort it and scan it like CSRKruskal
+    private void sortInMemory(CSRGraph G) {
+        double[] keys = new double[G.E()];
+        int[] order = new int[G.E()];
+        metrics.startPhase(Phase.SORT);
+        int n = collect(G, 0, G.E(), keys, order);
+        metrics.stopPhase(Phase.SORT);
+
+        metrics.startPhase(Phase.UNION_FIND);
+        for (int i = 0; i < n && !done(); i++) {
+            int e = order[i];
+            accept(G.from(e), G.to(e), keys[i]);
+        }
+        metrics.stopPhase(Phase.UNION_FIND);
+    }
+
+    private void spillAndMerge(CSRGraph G, Path dir) throws IOException {
+        long spilled = 0;
+        int passes = 0;
+
+        // spill sorted runs; the key and id buffers are reused for every run
+        metrics.startPhase(Phase.SORT);
+        double[] keys = new double[runEdges];
+        int[] order = new int[runEdges];
+        List<Path> runs = new ArrayList<>();
+        for (int lo = 0; lo < G.E(); lo += runEdges) {
+            int n = collect(G, lo, Math.min(G.E(), lo + runEdges), keys, order);
+            Path run = dir.resolve("run-" + runs.size());
+            try (RunWriter writer = new RunWriter(run)) {
+                for (int i = 0; i < n; i++) {
+                    int e = order[i];
+                    writer.write(keys[i], G.from(e), G.to(e));
+                }
+                spilled += writer.bytes();
+            }
+            runs.add(run);
+        }
+        runCount = runs.size();
+        keys = null;
+        order = null;
+
+        // merge groups of fanIn runs until one pass can merge what is left
+        while (runs.size() > fanIn) {
+            List<Path> merged = new ArrayList<>();
+            for (int from = 0; from < runs.size(); from += fanIn) {
+                List<Path> group = runs.subList(from, Math.min(runs.size(), from + fanIn));
+                Path run = dir.resolve("pass-" + passes + "-" + merged.size());
+                try (RunWriter writer = new RunWriter(run)) {
+                    merge(group, writer);
+                    spilled += writer.bytes();
+                }
+                for (Path input : group) Files.delete(input);
+                merged.add(run);
+            }
+            runs = merged;
+            passes++;
+        }
+        metrics.stopPhase(Phase.SORT);
+
+        metrics.startPhase(Phase.UNION_FIND);
+        merge(runs, null);
+        passes++;
+        metrics.stopPhase(Phase.UNION_FIND);
+        metrics.setSpill(spilled, passes);
+    }
+
+    // copies edges [lo, hi) into keys/order and sorts them by weight, returns the count
+    private int collect(CSRGraph G, int lo, int hi, double[] keys, int[] order) {
+        int n = hi - lo;
+        for (int e = lo; e < hi; e++) {
+            keys[e - lo] = G.weight(e);
+            order[e - lo] = e;
+        }
+        metrics.countOperation(n); // collecting edges
+        EdgeSort.sort(keys, order, 0, n);
+        metrics.countOperation();
+        if (n > 1) {
+            metrics.countComparison((long) (n * (Math.log(n) / Math.log(2))));
+        }
+        return n;
+    }
+
+    // k-way merge of sorted runs into writer, or into the union-find when writer is null
+    private void merge(List<Path> runs, RunWriter writer) throws IOException {
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            IndexedDoubleHeap pq = HeapType.BINARY.create(runs.size());
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) pq.insert(readers.size() - 1, reader.weight);
+            }
+            long comparisons = (32 - Integer.numberOfLeadingZeros(runs.size()));
+            while (!pq.isEmpty() && (writer != null || !done())) {
+                int i = pq.delMin();
+                RunReader reader = readers.get(i);
+                metrics.countOperation(); // merge step
+                metrics.countComparison(comparisons);
+                if (writer != null) {
+                    writer.write(reader.weight, reader.from, reader.to);
+                } else {
+                    accept(reader.from, reader.to, reader.weight);
+                }
+                if (reader.advance()) pq.insert(i, reader.weight);
+            }
+        } finally {
+            for (RunReader reader : readers) reader.close();
+        }
+    }
+
+    // greedy step: keep v-w if it joins two components
+    private void accept(int v, int w, double cost) {
+        metrics.countFind();
+        if (uf.find(v) != uf.find(w)) {
+            metrics.countComparison();
+            metrics.countUnion();
+            metrics.countOperation(); // union decision
+            uf.union(v, w);
+            mst.add(new Edge(v, w, cost));
+            weight += cost;
+        }
+    }
+
+    private boolean done() {
+        return mst.size() >= V - 1;
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete spill directory " + dir + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the edges in a minimum spanning tree (or forest).
+     * @return the edges in a minimum spanning tree (or forest) as
+     *    an iterable of edges
+     */
+    public Iterable<Edge> edges() {
+        return metrics.getMstEdges();
+    }
+
+    /**
+     * Returns the sum of the edge weights in a minimum spanning tree (or forest).
+     * @return the sum of the edge weights in a minimum spanning tree (or forest)
+     */
+    public double weight() {
+        return weight;
+    }
+
+    // sequential writer of (weight, from, to) records; temp files use the native byte order
+    private static final class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.nativeOrder());
+        private long bytes;
+
+        RunWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        void write(double weight, int from, int to) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) flush();
+            buffer.putDouble(weight).putInt(from).putInt(to);
+            bytes += RECORD_BYTES;
+        }
+
+        long bytes() { return bytes; }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // sequential reader of a run; advance() loads the next record into the fields
+    private static final class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.nativeOrder());
+        double weight;
+        int from, to;
+
+        RunReader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.limit(0);
+        }
+
+        boolean advance() throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                buffer.compact();
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    // fill the buffer
+                }
+                buffer.flip();
+                if (buffer.remaining() < RECORD_BYTES) return false;
+            }
+            weight = buffer.getDouble();
+            from = buffer.getInt();
+            to = buffer.getInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import edu.princeton.cs.algorithms.EdgeWeightedGraph;
+import hw3.graph.CSRGraph;
+import hw3.utils.LinkCutTree;
+import hw3.utils.Metrics;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimum spanning forest that follows edge insertions and weight decreases without
+ * recomputing. The forest lives in a {@link LinkCutTree} in which every edge is a node
+ * between its two endpoints, valued by its weight. A new or cheaper edge u-w either links
+ * two trees, or closes a cycle: then the heaviest edge on the tree path u-w is found in
+ * amortized O(log V) and swapped out if it is heavier (cycle property).
+ */
+@Getter
+public class IncrementalMST implements MinimumSpanningTree {
+    private final int V;
+    private int E;                // number of edges, tree and non-tree
+    private double weight;        // weight of the current MST
+
+    @Getter(AccessLevel.NONE) private final Metrics metrics;
+    @Getter(AccessLevel.NONE) private final LinkCutTree forest;   // nodes 0..V-1 are vertices, V+e is edge e
+    @Getter(AccessLevel.NONE) private int[] from;
+    @Getter(AccessLevel.NONE) private int[] to;
+    @Getter(AccessLevel.NONE) private double[] weights;
+    @Getter(AccessLevel.NONE) private boolean[] inTree;
+    @Getter(AccessLevel.NONE) private int treeSize;               // number of tree edges
+    @Getter(AccessLevel.NONE) private boolean stale = true;       // metrics results need refreshing
+
+    /**
+     * Starts from a computed MST of G. Edge e of G keeps id e.
+     * @param G   the CSR graph
+     * @param mst a minimum spanning tree (or forest) of G
+     * @throws IllegalArgumentException if an MST edge is not in G or the edges contain a cycle
+     */
+    public IncrementalMST(CSRGraph G, MinimumSpanningTree mst) {
+        this.V = G.V();
+        this.metrics = new Metrics("Incremental MST", G.V(), G.E());
+        from = new int[Math.max(G.E(), 1)];
+        to = new int[from.length];
+        weights = new double[from.length];
+        inTree = new boolean[from.length];
+        this.forest = new LinkCutTree(V + from.length);
+        metrics.start();
+        for (int e = 0; e < G.E(); e++) {
+            from[e] = G.from(e);
+            to[e] = G.to(e);
+            weights[e] = G.weight(e);
+        }
+        E = G.E();
+
+        for (Edge edge : mst.edges()) {
+            int v = edge.either(), w = edge.other(v);
+            int e = findEdge(G, v, w, edge.weight());
+            if (e < 0 || inTree[e]) {
+                throw new IllegalArgumentException("Edge " + edge + " is not in the graph");
+            }
+            if (forest.connected(v, w)) {
+                throw new IllegalArgumentException("MST edges contain a cycle at " + edge);
+            }
+            link(e);
+        }
+        metrics.stop();
+    }
+
+    /**
+     * Starts from a computed MST of G. Edges are numbered in the order of {@code G.edges()}.
+     * @param G   the edge-weighted graph
+     * @param mst a minimum spanning tree (or forest) of G
+     */
+    public IncrementalMST(EdgeWeightedGraph G, MinimumSpanningTree mst) {
+        this(CSRGraph.of(G), mst);
+    }
+
+    // id of an unused v-w edge with this weight, scanning the endpoint of lower degree
+    private int findEdge(CSRGraph G, int v, int w, double weight) {
+        if (G.degree(w) < G.degree(v)) {
+            int swap = v;
+            v = w;
+            w = swap;
+        }
+        for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+            int e = G.slotEdge(i);
+            if (G.target(i) == w && G.slotWeight(i) == weight && !inTree[e]) return e;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the edge v-w and updates the MST.
+     * @return the id of the new edge
+     */
+    public int insertEdge(int v, int w, double weight) {
+        validateVertex(v);
+        validateVertex(w);
+        if (Double.isNaN(weight)) throw new IllegalArgumentException("Weight is NaN");
+        int e = E++;
+        ensureCapacity(E);
+        from[e] = v;
+        to[e] = w;
+        weights[e] = weight;
+        metrics.countOperation(); // insert
+        offer(e);
+        return e;
+    }
+
+    /**
+     * Lowers the weight of edge e and updates the MST.
+     * @throws IllegalArgumentException if the new weight is larger than the current one
+     */
+    public void decreaseWeight(int e, double weight) {
+        validateEdge(e);
+        if (!(weight <= weights[e])) {
+            throw new IllegalArgumentException("New weight " + weight + " is not below " + weights[e]);
+        }
+        metrics.countOperation(); // decrease
+        if (inTree[e]) {
+            // a lighter tree edge only makes the tree cheaper; it stays minimal
+            this.weight -= weights[e] - weight;
+            weights[e] = weight;
+            forest.setValue(V + e, weight);
+            stale = true;
+        } else {
+            weights[e] = weight;
+            offer(e);
+        }
+    }
+
+    // adds non-tree edge e to the forest if it links two trees or beats the heaviest edge on its cycle
+    private void offer(int e) {
+        int v = from[e], w = to[e];
+        if (v == w) return;                  // self-loops never join a spanning forest
+        metrics.countFind();
+        if (!forest.connected(v, w)) {
+            link(e);
+            return;
+        }
+        int heaviest = forest.pathMax(v, w) - V;
+        metrics.countComparison();
+        if (weights[heaviest] > weights[e]) {
+            cut(heaviest);
+            link(e);
+        }
+    }
+
+    private void link(int e) {
+        int node = V + e;
+        forest.setValue(node, weights[e]);
+        forest.link(from[e], node);
+        forest.link(node, to[e]);
+        inTree[e] = true;
+        treeSize++;
+        weight += weights[e];
+        stale = true;
+        metrics.countUnion();
+    }
+
+    private void cut(int e) {
+        int node = V + e;
+        forest.cut(from[e], node);
+        forest.cut(node, to[e]);
+        inTree[e] = false;
+        treeSize--;
+        weight -= weights[e];
+        stale = true;
+        metrics.countOperation(); // cut
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= from.length) return;
+        int capacity = Math.max(n, from.length + (from.length >> 1));
+        from = Arrays.copyOf(from, capacity);
+        to = Arrays.copyOf(to, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        inTree = Arrays.copyOf(inTree, capacity);
+        forest.grow(V + capacity);
+    }
+
+    /**
+     * @return true if edge e is currently in the MST
+     */
+    public boolean inTree(int e) {
+        validateEdge(e);
+        return inTree[e];
+    }
+
+    /**
+     * @return current weight of edge e
+     */
+    public double weight(int e) {
+        validateEdge(e);
+        return weights[e];
+    }
+
+    /**
+     * Returns the metrics, with the MST edges and weight of the current tree.
+     */
+    public Metrics getMetrics() {
+        if (stale) {
+            metrics.setResults(weight, treeEdges());
+            stale = false;
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the edges in the current minimum spanning tree (or forest).
+     * @return the edges in a minimum spanning tree (or forest) as
+     *    an iterable of edges
+     */
+    public Iterable<Edge> edges() {
+        return treeEdges();
+    }
+
+    /**
+     * Returns the sum of the edge weights in the current minimum spanning tree (or forest).
+     * @return the sum of the edge weights in a minimum spanning tree (or forest)
+     */
+    public double weight() {
+        return weight;
+    }
+
+    private List<Edge> treeEdges() {
+        List<Edge> edges = new ArrayList<>(treeSize);
+        for (int e = 0; e < E; e++) {
+            if (inTree[e]) edges.add(new Edge(from[e], to[e], weights[e]));
+        }
+        return edges;
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= V) throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    private void validateEdge(int e) {
+        if (e < 0 || e >= E) throw new IllegalArgumentException("edge " + e + " is not between 0 and " + (E - 1));
+    }
+}
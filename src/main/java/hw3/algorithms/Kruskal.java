@@ -5,6 +5,7 @@ import edu.princeton.cs.algorithms.EdgeWeightedGraph;
 import edu.princeton.cs.algorithms.Queue;
 import edu.princeton.cs.algorithms.UF;
 import hw3.utils.Metrics;
+import hw3.utils.Phase;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -12,9 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 
 @Getter
-public class Kruskal {
-    private static final double FLOATING_POINT_EPSILON = 1.0E-12;
-
+public class Kruskal implements MinimumSpanningTree {
     private Metrics metrics;
     private double weight;                        // weight of MST
     private Queue<Edge> mst = new Queue<Edge>();  // edges in MST
@@ -30,12 +29,15 @@ public class Kruskal {
 
         // create array of edges, sorted by weight
         Edge[] edges = new Edge[G.E()];
+        metrics.start();
         int t = 0;
         for (Edge e: G.edges()) {
             edges[t++] = e;
             metrics.countOperation(); // collecting edges
         }
+        metrics.startPhase(Phase.SORT);
         Arrays.sort(edges);
+        metrics.stopPhase(Phase.SORT);
         metrics.countOperation();
         metrics.countComparison((long) (G.E() * (Math.log(G.E()) / Math.log(2))));
 
@@ -44,6 +46,7 @@ public class Kruskal {
         metrics.countOperation();
         weight = 0.0;
 
+        metrics.startPhase(Phase.UNION_FIND);
         for (int i = 0; i < G.E() && mst.size() < G.V() - 1; i++) {
             metrics.countOperation(); // loop step
             Edge e = edges[i];
@@ -63,11 +66,12 @@ public class Kruskal {
                 weight += e.weight();
             }
         }
+        metrics.stopPhase(Phase.UNION_FIND);
 
         metrics.setResults(weight, mstEdgesList);
 
         // check optimality conditions
-        assert check(G);
+        assert timedCheck(G);
     }
 
     /**
@@ -87,62 +91,21 @@ public class Kruskal {
         return metrics.getMstWeight();
     }
 
-    // check optimality conditions (takes time proportional to E V lg* V)
-    private boolean check(EdgeWeightedGraph G) {
+    // runs check(G) as the VERIFY phase; only called when assertions are enabled
+    private boolean timedCheck(EdgeWeightedGraph G) {
+        metrics.startPhase(Phase.VERIFY);
+        boolean valid = check(G);
+        metrics.stopPhase(Phase.VERIFY);
+        return valid;
+    }
 
-        // check total weight
-        double total = 0.0;
-        for (Edge e : edges()) {
-            total += e.weight();
-        }
-        if (Math.abs(total - weight()) > FLOATING_POINT_EPSILON) {
-            System.err.printf("Weight of edges does not equal weight(): %f vs. %f\n", total, weight());
+    // check optimality conditions (takes time proportional to (V + E) log V)
+    private boolean check(EdgeWeightedGraph G) {
+        String violation = MSTVerifier.findViolation(G, this);
+        if (violation != null) {
+            System.err.println(violation);
             return false;
         }
-
-        // check that it is acyclic
-        UF uf = new UF(G.V());
-        for (Edge e : edges()) {
-            int v = e.either(), w = e.other(v);
-            if (uf.find(v) == uf.find(w)) {
-                System.err.println("Not a forest");
-                return false;
-            }
-            uf.union(v, w);
-        }
-
-        // check that it is a spanning forest
-        for (Edge e : G.edges()) {
-            int v = e.either(), w = e.other(v);
-            if (uf.find(v) != uf.find(w)) {
-                System.err.println("Not a spanning forest");
-                return false;
-            }
-        }
-
-        // check that it is a minimal spanning forest (cut optimality conditions)
-        for (Edge e : edges()) {
-
-            // all edges in MST except e
-            uf = new UF(G.V());
-            for (Edge f : mst) {
-                int x = f.either(), y = f.other(x);
-                if (f != e) uf.union(x, y);
-            }
-
-            // check that e is min weight edge in crossing cut
-            for (Edge f : G.edges()) {
-                int x = f.either(), y = f.other(x);
-                if (uf.find(x) != uf.find(y)) {
-                    if (f.weight() < e.weight()) {
-                        System.err.println("Edge " + f + " violates cut optimality conditions");
-                        return false;
-                    }
-                }
-            }
-
-        }
-
         return true;
     }
 }
@@ -0,0 +1,224 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import edu.princeton.cs.algorithms.EdgeWeightedGraph;
+import edu.princeton.cs.algorithms.UF;
+import hw3.graph.CSRGraph;
+
+import java.util.Arrays;
+
+/**
+ * Certificate check for a minimum spanning forest in O((V + E) log V) time.
+ * The forest is rooted and a binary-lifting table stores, for every vertex and
+ * every power of two, the ancestor that far up and the heaviest tree edge on the
+ * way. The forest is minimal iff no graph edge is lighter than the heaviest tree
+ * edge on the tree path between its endpoints (cycle optimality), so each graph
+ * edge costs one path-maximum query.
+ */
+public final class MSTVerifier {
+    // relative tolerance for the total weight, which algorithms sum in different orders
+    private static final double WEIGHT_TOLERANCE = 1.0E-9;
+
+    private MSTVerifier() {
+    }
+
+    /**
+     * @return null if mst is a minimum spanning forest of G, otherwise a description of the first violation
+     */
+    public static String findViolation(EdgeWeightedGraph G, MinimumSpanningTree mst) {
+        return findViolation(CSRGraph.of(G), mst);
+    }
+
+    /**
+     * @return null if mst is a minimum spanning forest of G, otherwise a description of the first violation
+     */
+    public static String findViolation(CSRGraph G, MinimumSpanningTree mst) {
+        int V = G.V();
+
+        // check total weight
+        double total = 0.0;
+        int treeEdges = 0;
+        for (Edge e : mst.edges()) {
+            total += e.weight();
+            treeEdges++;
+        }
+        if (Math.abs(total - mst.weight()) > WEIGHT_TOLERANCE * Math.max(1.0, Math.abs(total))) {
+            return String.format("Weight of edges does not equal weight(): %f vs. %f", total, mst.weight());
+        }
+
+        // check that it is a forest of graph edges
+        int[] from = new int[treeEdges];
+        int[] to = new int[treeEdges];
+        double[] weight = new double[treeEdges];
+        UF uf = new UF(V);
+        int t = 0;
+        for (Edge e : mst.edges()) {
+            int v = e.either(), w = e.other(v);
+            if (v < 0 || v >= V || w < 0 || w >= V) {
+                return "Edge " + e + " has an endpoint outside the graph";
+            }
+            if (!inGraph(G, v, w, e.weight())) {
+                return "Edge " + e + " is not in the graph";
+            }
+            if (uf.find(v) == uf.find(w)) {
+                return "Not a forest";
+            }
+            uf.union(v, w);
+            from[t] = v;
+            to[t] = w;
+            weight[t] = e.weight();
+            t++;
+        }
+
+        // check that it is a spanning forest
+        for (int e = 0; e < G.E(); e++) {
+            if (uf.find(G.from(e)) != uf.find(G.to(e))) {
+                return "Not a spanning forest";
+            }
+        }
+
+        // check that it is a minimal spanning forest (cycle optimality conditions)
+        PathMax paths = new PathMax(V, from, to, weight);
+        for (int e = 0; e < G.E(); e++) {
+            int v = G.from(e), w = G.to(e);
+            if (v == w) continue;
+            double max = paths.query(v, w);
+            if (G.weight(e) < max) {
+                return "Edge " + G.toEdge(e) + " is lighter than a tree edge of weight "
+                        + max + " on its cycle";
+            }
+        }
+
+        return null;
+    }
+
+    // scans the adjacency of the lower-degree endpoint for a v-w edge of this weight
+    private static boolean inGraph(CSRGraph G, int v, int w, double weight) {
+        if (G.degree(w) < G.degree(v)) {
+            int swap = v;
+            v = w;
+            w = swap;
+        }
+        for (int i = G.begin(v), end = G.end(v); i < end; i++) {
+            if (G.target(i) == w && G.slotWeight(i) == weight) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Binary-lifting table over a rooted forest answering heaviest-edge-on-path queries.
+     */
+    private static final class PathMax {
+        private final int[] depth;
+        private final int[] root;            // root[v] = root of v's tree
+        private final double[] upWeight;     // upWeight[v] = weight of the edge to v's parent, -inf at roots
+        private final int[][] up;            // up[k][v] = 2^k-th ancestor of v (roots point to themselves)
+        private final int[][] heaviest;      // heaviest[k][v] = vertex whose parent edge is heaviest on that climb
+
+        PathMax(int V, int[] from, int[] to, double[] weight) {
+            // adjacency of the forest in CSR form
+            int[] offsets = new int[V + 1];
+            for (int e = 0; e < from.length; e++) {
+                offsets[from[e] + 1]++;
+                offsets[to[e] + 1]++;
+            }
+            for (int v = 0; v < V; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] next = Arrays.copyOf(offsets, V);
+            int[] adj = new int[2 * from.length];
+            for (int e = 0; e < from.length; e++) {
+                adj[next[from[e]]++] = e;
+                adj[next[to[e]]++] = e;
+            }
+
+            // root every tree with an iterative BFS
+            depth = new int[V];
+            root = new int[V];
+            upWeight = new double[V];
+            int[] parent = new int[V];
+            boolean[] seen = new boolean[V];
+            int[] queue = new int[V];
+            int maxDepth = 0;
+            for (int s = 0; s < V; s++) {
+                if (seen[s]) continue;
+                seen[s] = true;
+                parent[s] = s;
+                root[s] = s;
+                upWeight[s] = Double.NEGATIVE_INFINITY;
+                int head = 0, tail = 0;
+                queue[tail++] = s;
+                while (head < tail) {
+                    int v = queue[head++];
+                    for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                        int e = adj[i];
+                        int w = from[e] == v ? to[e] : from[e];
+                        if (seen[w]) continue;
+                        seen[w] = true;
+                        parent[w] = v;
+                        root[w] = s;
+                        depth[w] = depth[v] + 1;
+                        upWeight[w] = weight[e];
+                        maxDepth = Math.max(maxDepth, depth[w]);
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            // only as many levels as the deepest tree needs
+            int levels = 32 - Integer.numberOfLeadingZeros(Math.max(maxDepth, 1));
+            up = new int[levels][];
+            heaviest = new int[levels][];
+            up[0] = parent;
+            heaviest[0] = new int[V];
+            for (int v = 0; v < V; v++) {
+                heaviest[0][v] = v;
+            }
+            for (int k = 1; k < levels; k++) {
+                int[] prevUp = up[k - 1], prevHeaviest = heaviest[k - 1];
+                up[k] = new int[V];
+                heaviest[k] = new int[V];
+                for (int v = 0; v < V; v++) {
+                    int mid = prevUp[v];
+                    up[k][v] = prevUp[mid];
+                    heaviest[k][v] = heavier(prevHeaviest[v], prevHeaviest[mid]);
+                }
+            }
+        }
+
+        // weight of the heaviest tree edge on the path v-w, or +inf if they are in different trees
+        double query(int v, int w) {
+            if (root[v] != root[w]) return Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            if (depth[v] < depth[w]) {
+                int swap = v;
+                v = w;
+                w = swap;
+            }
+
+            // lift v to the depth of w
+            int diff = depth[v] - depth[w];
+            for (int k = 0; diff > 0; k++, diff >>= 1) {
+                if ((diff & 1) != 0) {
+                    max = Math.max(max, upWeight[heaviest[k][v]]);
+                    v = up[k][v];
+                }
+            }
+            if (v == w) return max;
+
+            // lift both to just below their lowest common ancestor
+            for (int k = up.length - 1; k >= 0; k--) {
+                if (up[k][v] != up[k][w]) {
+                    max = Math.max(max, Math.max(upWeight[heaviest[k][v]], upWeight[heaviest[k][w]]));
+                    v = up[k][v];
+                    w = up[k][w];
+                }
+            }
+            return Math.max(max, Math.max(upWeight[v], upWeight[w]));
+        }
+
+        private int heavier(int a, int b) {
+            return upWeight[a] >= upWeight[b] ? a : b;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.utils.Metrics;
+
+/**
+ * Common view of a computed minimum spanning tree (or forest), independent of
+ * the algorithm and graph representation that produced it.
+ */
+public interface MinimumSpanningTree {
+    /**
+     * @return metrics collected while the tree was computed
+     */
+    Metrics getMetrics();
+
+    /**
+     * Returns the edges in a minimum spanning tree (or forest).
+     * @return the edges in a minimum spanning tree (or forest) as
+     *    an iterable of edges
+     */
+    Iterable<Edge> edges();
+
+    /**
+     * Returns the sum of the edge weights in a minimum spanning tree (or forest).
+     * @return the sum of the edge weights in a minimum spanning tree (or forest)
+     */
+    double weight();
+}
@@ -1,43 +1,56 @@
 package hw3.algorithms;
 
 import edu.princeton.cs.algorithms.*;
+import hw3.utils.HeapType;
+import hw3.utils.IndexedDoubleHeap;
 import hw3.utils.Metrics;
+import hw3.utils.Phase;
 import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Getter
-public class Prim {
-    private static final double FLOATING_POINT_EPSILON = 1.0E-12;
-
+public class Prim implements MinimumSpanningTree {
     private Metrics metrics;
     private Edge[] edgeTo;        // edgeTo[v] = shortest edge from tree vertex to non-tree vertex
     private double[] distTo;      // distTo[v] = weight of shortest such edge
     private boolean[] marked;     // marked[v] = true if v on tree, false otherwise
-    private IndexMinPQ<Double> pq;
+    private IndexedDoubleHeap pq;
 
     /**
      * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
      * @param G the edge-weighted graph
      */
     public Prim(EdgeWeightedGraph G) {
-        this.metrics = new Metrics("Prim", G);
+        this(G, HeapType.BINARY);
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
+     * @param G    the edge-weighted graph
+     * @param heap priority queue implementation to use
+     */
+    public Prim(EdgeWeightedGraph G, HeapType heap) {
+        this.metrics = new Metrics(CSRPrim.algorithmName(heap), G);
 
         edgeTo = new Edge[G.V()];
         distTo = new double[G.V()];
         marked = new boolean[G.V()];
-        pq = new IndexMinPQ<Double>(G.V());
+        pq = heap.create(G.V());
+        metrics.start();
 
         for (int v = 0; v < G.V(); v++) {
             distTo[v] = Double.POSITIVE_INFINITY;
             metrics.countOperation(); // initialization
         }
+        metrics.startPhase(Phase.PQ_LOOP);
         for (int v = 0; v < G.V(); v++)      // run from each vertex to find
             if (!marked[v]){      // minimum spanning forest
                 metrics.countOperation(); // component check
                 prim(G, v);
         }
+        metrics.stopPhase(Phase.PQ_LOOP);
 
         // Calculate final weight and edges for metrics
         double weight = 0.0;
@@ -52,7 +65,7 @@ public class Prim {
         metrics.setResults(weight, mstEdges);
 
         // check optimality conditions
-        assert check(G);
+        assert timedCheck(G);
     }
 
     // run Prim's algorithm in graph G, starting from vertex s
@@ -134,62 +147,21 @@ public class Prim {
     }
 
 
-    // check optimality conditions (takes time proportional to E V lg* V)
-    private boolean check(EdgeWeightedGraph G) {
+    // runs check(G) as the VERIFY phase; only called when assertions are enabled
+    private boolean timedCheck(EdgeWeightedGraph G) {
+        metrics.startPhase(Phase.VERIFY);
+        boolean valid = check(G);
+        metrics.stopPhase(Phase.VERIFY);
+        return valid;
+    }
 
-        // check weight
-        double totalWeight = 0.0;
-        for (Edge e : edges()) {
-            totalWeight += e.weight();
-        }
-        if (Math.abs(totalWeight - weight()) > FLOATING_POINT_EPSILON) {
-            System.err.printf("Weight of edges does not equal weight(): %f vs. %f\n", totalWeight, weight());
+    // check optimality conditions (takes time proportional to (V + E) log V)
+    private boolean check(EdgeWeightedGraph G) {
+        String violation = MSTVerifier.findViolation(G, this);
+        if (violation != null) {
+            System.err.println(violation);
             return false;
         }
-
-        // check that it is acyclic
-        UF uf = new UF(G.V());
-        for (Edge e : edges()) {
-            int v = e.either(), w = e.other(v);
-            if (uf.find(v) == uf.find(w)) {
-                System.err.println("Not a forest");
-                return false;
-            }
-            uf.union(v, w);
-        }
-
-        // check that it is a spanning forest
-        for (Edge e : G.edges()) {
-            int v = e.either(), w = e.other(v);
-            if (uf.find(v) != uf.find(w)) {
-                System.err.println("Not a spanning forest");
-                return false;
-            }
-        }
-
-        // check that it is a minimal spanning forest (cut optimality conditions)
-        for (Edge e : edges()) {
-
-            // all edges in MST except e
-            uf = new UF(G.V());
-            for (Edge f : edges()) {
-                int x = f.either(), y = f.other(x);
-                if (f != e) uf.union(x, y);
-            }
-
-            // check that e is min weight edge in crossing cut
-            for (Edge f : G.edges()) {
-                int x = f.either(), y = f.other(x);
-                if (uf.find(x) != uf.find(y)) {
-                    if (f.weight() < e.weight()) {
-                        System.err.println("Edge " + f + " violates cut optimality conditions");
-                        return false;
-                    }
-                }
-            }
-
-        }
-
         return true;
     }
 
@@ -4,9 +4,12 @@ import java.util.List;
 
 /**
  * Represents a single graph with nodes and edges loaded from JSON.
+ * A graph may give {@code coordinates} instead of edges, one [x, y] pair per node;
+ * it is then loaded as the Euclidean graph of those points.
  */
 public class GraphData {
     public int id;
     public List<String> nodes;
     public List<EdgeData> edges;
+    public List<double[]> coordinates;
 }
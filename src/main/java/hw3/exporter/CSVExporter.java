@@ -1,12 +1,14 @@
 package hw3.exporter;
 
-import hw3.algorithms.Kruskal;
-import hw3.algorithms.Prim;
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.solver.MSTAlgorithm;
 import hw3.utils.Metrics;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -15,38 +17,40 @@ import java.util.Map;
 public class CSVExporter {
 
     /**
-     *  Export results for MULTIPLE graphs in ONE dataset (NEW)
+     *  Export results for MULTIPLE graphs in ONE dataset, one row per graph and algorithm,
+     *  through a single {@link CSVResultWriter}
      */
-    public static void exportMultiple(Map<Integer, Prim> primMSTs,
-                                      Map<Integer, Kruskal> kruskalMSTs,
+    public static void exportMultiple(Map<MSTAlgorithm, ? extends Map<Integer, ? extends MinimumSpanningTree>> msts,
                                       String filename, String datasetName) throws IOException {
 
-        createCSVHeader(filename);
-
-        for (int graphId : primMSTs.keySet().stream().sorted().toList()) {
-            Metrics primMetrics = primMSTs.get(graphId).getMetrics();
-            Metrics kruskalMetrics = kruskalMSTs.get(graphId).getMetrics();
-
-            // Добавляем информацию о датасете и графе
-            primMetrics.exportToCSVWithGraph(filename, datasetName, graphId);
-            kruskalMetrics.exportToCSVWithGraph(filename, datasetName, graphId);
+        try (CSVResultWriter writer = new CSVResultWriter(Path.of(filename), datasetName)) {
+            for (int graphId : graphIds(msts)) {
+                for (Map<Integer, ? extends MinimumSpanningTree> results : msts.values()) {
+                    // Добавляем информацию о датасете и графе
+                    writer.write(graphId, results.get(graphId).getMetrics());
+                }
+            }
         }
     }
 
+    static List<Integer> graphIds(Map<MSTAlgorithm, ? extends Map<Integer, ? extends MinimumSpanningTree>> msts) {
+        return msts.values().iterator().next().keySet().stream().sorted().toList();
+    }
+
     /**
      * create  CSV header
      */
     public static void createCSVHeader(String filename) throws IOException {
         try (PrintWriter writer = new PrintWriter(new FileWriter(filename, false))) {
-            writer.println("timestamp,algorithm,graph_id,dataset,vertices,edges,comparisons,finds,unions,operations,time_ms,mst_weight");
+            writer.println(Metrics.CSV_HEADER);
         }
     }
 
     /**
      * Summary report - comprasion Prim vs Kruskal
      */
-    public static void exportSummary(Map<String, Map<Integer, Prim>> allPrim,
-                                     Map<String, Map<Integer, Kruskal>> allKruskal,
+    public static void exportSummary(Map<String, Map<Integer, MinimumSpanningTree>> allPrim,
+                                     Map<String, Map<Integer, MinimumSpanningTree>> allKruskal,
                                      String filename) throws IOException {
 
         try (PrintWriter writer = new PrintWriter(new FileWriter(filename, false))) {
@@ -54,10 +58,10 @@ public class CSVExporter {
                     "prim_time_ms,kruskal_time_ms,prim_ops,kruskal_ops," +
                     "prim_cost,kruskal_cost,winner");
 
-            for (Map.Entry<String, Map<Integer, Prim>> datasetEntry : allPrim.entrySet()) {
+            for (Map.Entry<String, Map<Integer, MinimumSpanningTree>> datasetEntry : allPrim.entrySet()) {
                 String dataset = datasetEntry.getKey();
-                Map<Integer, Prim> primGraphs = datasetEntry.getValue();
-                Map<Integer, Kruskal> kruskalGraphs = allKruskal.get(dataset);
+                Map<Integer, MinimumSpanningTree> primGraphs = datasetEntry.getValue();
+                Map<Integer, MinimumSpanningTree> kruskalGraphs = allKruskal.get(dataset);
 
                 for (int graphId : primGraphs.keySet()) {
                     Metrics prim = primGraphs.get(graphId).getMetrics();
@@ -66,7 +70,7 @@ public class CSVExporter {
                     String winner = prim.getExecutionTimeMs() < kruskal.getExecutionTimeMs()
                             ? "Prim" : "Kruskal";
 
-                    writer.printf("%s,%d,%d,%d,%.2f,%.2f,%d,%d,%.2f,%.2f,%s%n",
+                    writer.printf("%s,%d,%d,%d,%.3f,%.3f,%d,%d,%.2f,%.2f,%s%n",
                             dataset, graphId,
                             prim.getGraphV(), prim.getGraphE(),
                             prim.getExecutionTimeMs(), kruskal.getExecutionTimeMs(),
@@ -0,0 +1,142 @@
+package hw3.exporter;
+
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.NodeLabels;
+import hw3.solver.MSTAlgorithm;
+import hw3.solver.ResultListener;
+import hw3.utils.Metrics;
+import hw3.utils.Phase;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Streams result rows ({@link Metrics#CSV_HEADER} columns) into one open file through a
+ * large buffer. Rows are assembled in a reused StringBuilder, and the timestamp is
+ * formatted at most once per second, so a row costs no syscall and almost no garbage.
+ * As a {@link ResultListener} it writes each graph as soon as the runner solves it.
+ */
+public class CSVResultWriter implements ResultListener, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Phase[] PHASES = Phase.values();
+
+    private final Writer out;
+    private final String datasetName;
+    private final StringBuilder row = new StringBuilder(256);
+    private long timestampSecond = Long.MIN_VALUE;
+    private String timestamp;
+    private long rows;
+
+    /**
+     * Creates or replaces the file and writes the header.
+     *
+     * @param path        Output file.
+     * @param datasetName Value of the dataset column.
+     * @throws IOException If the file cannot be created.
+     */
+    public CSVResultWriter(Path path, String datasetName) throws IOException {
+        this(new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8),
+                BUFFER_SIZE), datasetName);
+    }
+
+    /**
+     * Writes the header to an already opened writer; the writer is closed with this object.
+     */
+    public CSVResultWriter(Writer out, String datasetName) throws IOException {
+        this.out = out;
+        this.datasetName = datasetName;
+        out.write(Metrics.CSV_HEADER);
+        out.write('\n');
+    }
+
+    /**
+     * Writes one row per algorithm, in {@link MSTAlgorithm} order.
+     */
+    @Override
+    public void accept(int graphId, NodeLabels labels, Map<MSTAlgorithm, MinimumSpanningTree> results)
+            throws IOException {
+        for (MinimumSpanningTree mst : results.values()) {
+            write(graphId, mst.getMetrics());
+        }
+    }
+
+    /**
+     * Writes one row.
+     *
+     * @param graphId Graph ID.
+     * @param m       Metrics of one algorithm run on that graph.
+     */
+    public void write(int graphId, Metrics m) throws IOException {
+        row.setLength(0);
+        row.append(timestamp()).append(',')
+                .append(m.getAlgorithmName()).append(',')
+                .append(graphId).append(',')
+                .append(datasetName).append(',')
+                .append(m.getGraphV()).append(',')
+                .append(m.getGraphE()).append(',')
+                .append(m.getComparisons()).append(',')
+                .append(m.getFinds()).append(',')
+                .append(m.getUnions()).append(',')
+                .append(m.getOperationCount()).append(',');
+        appendFixed(m.getExecutionTimeMs(), 3);
+        row.append(',');
+        appendFixed(m.getMstWeight(), 2);
+        row.append(',').append(m.getExecutionTimeNanos());
+        for (Phase phase : PHASES) {
+            row.append(',').append(m.getPhaseNanos(phase));
+        }
+        row.append(',').append(m.getComponents().size());
+        row.append(',').append(m.isCached());
+        row.append(',').append(m.getSpillBytes());
+        row.append(',').append(m.getMergePasses()).append('\n');
+        out.append(row);
+        rows++;
+    }
+
+    /**
+     * @return number of rows written, not counting the header
+     */
+    public long rows() {
+        return rows;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // the wall clock only changes the column once a second
+    private String timestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        if (second != timestampSecond) {
+            timestampSecond = second;
+            timestamp = LocalDateTime.now().format(TIMESTAMP);
+        }
+        return timestamp;
+    }
+
+    // same digits as %.Nf (half-up on the shortest decimal form), but always with a '.' separator
+    private void appendFixed(double value, int decimals) {
+        if (!Double.isFinite(value)) {
+            row.append(value);
+            return;
+        }
+        row.append(BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+    }
+}
@@ -0,0 +1,152 @@
+package hw3.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import edu.princeton.cs.algorithms.Edge;
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.NodeLabels;
+import hw3.solver.MSTAlgorithm;
+import hw3.solver.ResultListener;
+import hw3.utils.ComponentStats;
+import hw3.utils.Metrics;
+import hw3.utils.Phase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Streams the results.json report with Jackson's {@link JsonGenerator}: each graph is
+ * written as soon as it is handed over and nothing is kept afterwards, so memory does not
+ * grow with the number of graphs or MST edges. The schema is the one {@link JSONExporter}
+ * has always produced: {"results": [{"graph_id", "input_stats", "&lt;algorithm&gt;": {...}}]}.
+ */
+public class JSONResultWriter implements ResultListener, Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final JsonGenerator json;
+    private long graphs;
+
+    /**
+     * Creates or replaces the file and opens the results array.
+     *
+     * @param path Output file.
+     * @throws IOException If the file cannot be created.
+     */
+    public JSONResultWriter(Path path) throws IOException {
+        this(Files.newOutputStream(path));
+    }
+
+    /**
+     * @param out Output; closed together with this writer.
+     */
+    public JSONResultWriter(OutputStream out) throws IOException {
+        this.json = JSON_FACTORY.createGenerator(out).useDefaultPrettyPrinter();
+        json.writeStartObject();
+        json.writeArrayFieldStart("results");
+    }
+
+    /**
+     * Writes the entry of one graph, with one object per algorithm in {@link MSTAlgorithm} order.
+     */
+    @Override
+    public void accept(int graphId, NodeLabels labels, Map<MSTAlgorithm, MinimumSpanningTree> results)
+            throws IOException {
+        if (results.isEmpty()) return;
+        Metrics first = results.values().iterator().next().getMetrics();
+
+        json.writeStartObject();
+        json.writeNumberField("graph_id", graphId);
+        json.writeObjectFieldStart("input_stats");
+        json.writeNumberField("vertices", first.getGraphV());
+        json.writeNumberField("edges", first.getGraphE());
+        json.writeEndObject();
+
+        for (Map.Entry<MSTAlgorithm, MinimumSpanningTree> entry : results.entrySet()) {
+            json.writeObjectFieldStart(entry.getKey().getKey());
+            writeResult(graphId, entry.getValue().getMetrics(), labels);
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+        graphs++;
+    }
+
+    /**
+     * @return number of graphs written
+     */
+    public long graphs() {
+        return graphs;
+    }
+
+    /**
+     * Closes the results array and the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            json.writeEndArray();
+            json.writeEndObject();
+        } finally {
+            json.close();
+        }
+    }
+
+    private void writeResult(int graphId, Metrics m, NodeLabels labels) throws IOException {
+        json.writeNumberField("total_cost", m.getMstWeight());
+        json.writeNumberField("operations_count", m.getOperationCount());
+        json.writeNumberField("execution_time_ms", m.getExecutionTimeMs());
+        json.writeNumberField("execution_time_ns", m.getExecutionTimeNanos());
+        json.writeBooleanField("cached", m.isCached());
+
+        json.writeObjectFieldStart("phases_ns");
+        for (Phase phase : PHASES) {
+            json.writeNumberField(phase.getKey(), m.getPhaseNanos(phase));
+        }
+        json.writeEndObject();
+
+        if (!m.getComponents().isEmpty()) {
+            json.writeArrayFieldStart("components");
+            for (ComponentStats c : m.getComponents()) {
+                json.writeStartObject();
+                json.writeNumberField("vertices", c.vertices());
+                json.writeNumberField("edges", c.edges());
+                json.writeNumberField("tree_edges", c.treeEdges());
+                json.writeNumberField("total_cost", c.weight());
+                json.writeNumberField("execution_time_ns", c.nanos());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+
+        if (m.getMergePasses() > 0) {
+            json.writeNumberField("spill_bytes", m.getSpillBytes());
+            json.writeNumberField("merge_passes", m.getMergePasses());
+        }
+
+        json.writeArrayFieldStart("mst_edges");
+        if (labels == null) {
+            System.err.println("Warning: No indexToNode mapping for graphId " + graphId);
+        } else {
+            for (Edge e : m.getMstEdges()) {
+                int v = e.either();
+                int w = e.other(v);
+                String from = labels.label(v);
+                String to = labels.label(w);
+                if (from == null || to == null) {
+                    System.err.println("Warning: No mapping for vertex index " + v + " or " + w + " in graphId " + graphId);
+                    continue;
+                }
+                json.writeStartObject();
+                json.writeStringField("from", from);
+                json.writeStringField("to", to);
+                json.writeNumberField("weight", e.weight());
+                json.writeEndObject();
+            }
+        }
+        json.writeEndArray();
+    }
+}
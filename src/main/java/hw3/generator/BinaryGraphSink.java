@@ -0,0 +1,146 @@
+package hw3.generator;
+
+import hw3.graph.NodeLabels;
+import hw3.loader.BinaryGraphWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes graphs in the binary format of {@link BinaryGraphWriter}. That format stores each
+ * vertex's adjacency contiguously, so a graph can only be laid out once all its edges are
+ * known: edges are spooled to a temp file as 16-byte records and placed when the graph ends.
+ * The heap holds O(V) offsets, never the edges. Vertex v is named "v" + v, as in
+ * {@link JsonGraphSink}.
+ */
+public class BinaryGraphSink implements GraphSink {
+    private static final int RECORD_BYTES = 16;           // weight, v, w
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BinaryGraphWriter writer;
+    private final Path tempDir;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private FileChannel spool;     // edges of the current graph
+    private int id;
+    private int vertices;
+    private int edges;
+
+    /**
+     * @param path Output file; replaced if it exists.
+     */
+    public BinaryGraphSink(Path path) throws IOException {
+        this(path, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param path    Output file; replaced if it exists.
+     * @param tempDir Directory for the edge spool of the graph being written.
+     */
+    public BinaryGraphSink(Path path, Path tempDir) throws IOException {
+        this.writer = new BinaryGraphWriter(path);
+        this.tempDir = tempDir;
+    }
+
+    @Override
+    public void beginGraph(int id, int vertices) throws IOException {
+        if (spool != null) {
+            throw new IllegalStateException("Graph #" + this.id + " is not finished");
+        }
+        this.id = id;
+        this.vertices = vertices;
+        this.edges = 0;
+        spool = FileChannel.open(Files.createTempFile(tempDir, "mst-sink-", ".edges"), StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    @Override
+    public void edge(int v, int w, double weight) throws IOException {
+        if (edges == Integer.MAX_VALUE) {
+            throw new IOException("Graph #" + id + " has more than " + Integer.MAX_VALUE + " edges");
+        }
+        if (buffer.remaining() < RECORD_BYTES) flush();
+        buffer.putDouble(weight).putInt(v).putInt(w);
+        edges++;
+    }
+
+    @Override
+    public void endGraph() throws IOException {
+        flush();
+        try {
+            writer.write(id, vertices, new SpooledEdges(), new GeneratedLabels(vertices));
+        } finally {
+            spool.close();
+            spool = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (spool != null) spool.close();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            spool.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // reads the spool back through the same buffer
+    private final class SpooledEdges implements BinaryGraphWriter.EdgeList {
+        @Override
+        public int size() {
+            return edges;
+        }
+
+        @Override
+        public void forEach(BinaryGraphWriter.EdgeVisitor visitor) throws IOException {
+            long position = 0, end = (long) edges * RECORD_BYTES;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                while (buffer.hasRemaining()) {
+                    if (spool.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("Edge spool of graph #" + id + " ended early");
+                    }
+                }
+                position += buffer.position();
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    double weight = buffer.getDouble();
+                    visitor.edge(buffer.getInt(), buffer.getInt(), weight);
+                }
+            }
+            buffer.clear();
+        }
+    }
+
+    // "v" + v for every vertex, without storing the strings
+    private record GeneratedLabels(int size) implements NodeLabels {
+        @Override
+        public String label(int index) {
+            return index >= 0 && index < size ? JsonGraphSink.label(index) : null;
+        }
+
+        @Override
+        public int indexOf(String label) {
+            if (!label.startsWith("v") || label.length() < 2) return -1;
+            try {
+                int index = Integer.parseInt(label, 1, label.length(), 10);
+                return index < size && JsonGraphSink.label(index).equals(label) ? index : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package hw3.generator;
+
+import hw3.loader.BinaryGraphLoader;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of large test graphs. Edges are handed to a {@link GraphSink}
+ * as they are produced, so memory stays O(1) for sparse, dense and grid graphs
+ * and O(V) (the point coordinates) for geometric ones, whatever the edge count.
+ * The same kind, sizes and seed always produce the same graph.
+ */
+public class GraphGenerator {
+    private static final int MAX_WEIGHT = 1000;
+
+    /**
+     * Graph families.
+     */
+    public enum Kind {
+        /** Random spanning tree plus uniformly random extra edges; integer weights. */
+        SPARSE,
+        /** Near-complete graph: every vertex pair is kept with the same probability; integer weights. */
+        DENSE,
+        /** Road-like 2D grid: each vertex joins its right and lower neighbour; block lengths as weights. */
+        GRID,
+        /** Random points in the unit square joined when closer than a radius; Euclidean weights. */
+        GEOMETRIC
+    }
+
+    private final Kind kind;
+    private final int vertices;
+    private final long edges;
+
+    /**
+     * Picks the vertex count from the edge count: average degree 8 for sparse and
+     * geometric graphs, the smallest complete graph for dense ones, a square grid otherwise.
+     *
+     * @param kind  graph family
+     * @param edges target number of edges; exact for sparse graphs, expected for the others
+     */
+    public GraphGenerator(Kind kind, long edges) {
+        this(kind, defaultVertices(kind, edges), edges);
+    }
+
+    /**
+     * @param kind     graph family
+     * @param vertices number of vertices; for grids rounded to a square
+     * @param edges    target number of edges; exact for sparse graphs, expected for the others
+     */
+    public GraphGenerator(Kind kind, int vertices, long edges) {
+        if (vertices < 2) {
+            throw new IllegalArgumentException("At least 2 vertices are required");
+        }
+        if (edges < 1) {
+            throw new IllegalArgumentException("At least 1 edge is required");
+        }
+        if (kind == Kind.SPARSE && edges < vertices - 1) {
+            throw new IllegalArgumentException("A connected sparse graph on " + vertices
+                    + " vertices needs at least " + (vertices - 1) + " edges");
+        }
+        this.kind = kind;
+        this.vertices = kind == Kind.GRID ? gridSide(vertices) * gridSide(vertices) : vertices;
+        this.edges = edges;
+    }
+
+    private static int defaultVertices(Kind kind, long edges) {
+        return switch (kind) {
+            case SPARSE, GEOMETRIC -> (int) Math.min(Math.max(edges / 4, 2), Integer.MAX_VALUE - 8);
+            case DENSE -> (int) Math.max(Math.ceil((1 + Math.sqrt(1 + 8.0 * edges)) / 2), 2);
+            case GRID -> {
+                long side = Math.max(Math.round(Math.sqrt(edges / 2.0)), 2);    // 2 * side^2 edges
+                yield (int) Math.min(side * side, Integer.MAX_VALUE - 8);
+            }
+        };
+    }
+
+    private static int gridSide(int vertices) {
+        return Math.max((int) Math.round(Math.sqrt(vertices)), 2);
+    }
+
+    public Kind getKind() { return kind; }
+    public int getVertices() { return vertices; }
+
+    /**
+     * Streams one graph into the sink.
+     *
+     * @param id   graph ID written to the sink
+     * @param seed random seed
+     * @return number of edges written
+     */
+    public long generate(int id, long seed, GraphSink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        sink.beginGraph(id, vertices);
+        long written = switch (kind) {
+            case SPARSE -> sparse(random, sink);
+            case DENSE -> dense(random, sink);
+            case GRID -> grid(random, sink);
+            case GEOMETRIC -> geometric(random, sink);
+        };
+        sink.endGraph();
+        return written;
+    }
+
+    // vertex v > 0 first links to a random earlier vertex, which makes a random spanning tree
+    private long sparse(SplittableRandom random, GraphSink sink) throws IOException {
+        for (int v = 1; v < vertices; v++) {
+            sink.edge(random.nextInt(v), v, weight(random));
+        }
+        for (long e = vertices - 1; e < edges; e++) {
+            int v = random.nextInt(vertices);
+            int w = random.nextInt(vertices - 1);
+            if (w >= v) w++;               // no self-loops
+            sink.edge(v, w, weight(random));
+        }
+        return edges;
+    }
+
+    // the path 0-1-...-(V-1) is always kept so the graph is connected
+    private long dense(SplittableRandom random, GraphSink sink) throws IOException {
+        double pairs = (double) vertices * (vertices - 1) / 2;
+        double keep = Math.min(1.0, edges / pairs);
+        long written = 0;
+        for (int v = 0; v < vertices; v++) {
+            for (int w = v + 1; w < vertices; w++) {
+                if (w == v + 1 || random.nextDouble() < keep) {
+                    sink.edge(v, w, weight(random));
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    // city blocks of 50..150 units, so parallel streets have similar but unequal costs
+    private long grid(SplittableRandom random, GraphSink sink) throws IOException {
+        int side = gridSide(vertices);
+        long written = 0;
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int v = row * side + col;
+                if (col + 1 < side) {
+                    sink.edge(v, v + 1, 50 + random.nextInt(101));
+                    written++;
+                }
+                if (row + 1 < side) {
+                    sink.edge(v, v + side, 50 + random.nextInt(101));
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    // points are bucketed into cells no smaller than the radius, so only neighbouring cells are compared
+    private long geometric(SplittableRandom random, GraphSink sink) throws IOException {
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int v = 0; v < vertices; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
+
+        // choose r so the expected number of pairs within distance r is the edge target
+        double pairs = (double) vertices * (vertices - 1) / 2;
+        double radius = Math.sqrt(Math.min(1.0, edges / pairs) / Math.PI);
+        int side = (int) Math.max(1, Math.min(Math.floor(1 / radius), Math.ceil(Math.sqrt(vertices))));
+
+        // counting sort of the points by cell
+        int[] cellStart = new int[side * side + 1];
+        int[] cellOf = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            cellOf[v] = cell(x[v], side) * side + cell(y[v], side);
+            cellStart[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < side * side; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] order = new int[vertices];
+        int[] next = cellStart.clone();
+        for (int v = 0; v < vertices; v++) {
+            order[next[cellOf[v]]++] = v;
+        }
+
+        long written = 0;
+        double r2 = radius * radius;
+        for (int v = 0; v < vertices; v++) {
+            int cx = cellOf[v] / side, cy = cellOf[v] % side;
+            for (int nx = Math.max(cx - 1, 0); nx <= Math.min(cx + 1, side - 1); nx++) {
+                for (int ny = Math.max(cy - 1, 0); ny <= Math.min(cy + 1, side - 1); ny++) {
+                    int c = nx * side + ny;
+                    for (int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+                        int w = order[i];
+                        if (w <= v) continue;      // each pair once
+                        double dx = x[v] - x[w], dy = y[v] - y[w];
+                        double d2 = dx * dx + dy * dy;
+                        if (d2 <= r2) {
+                            sink.edge(v, w, Math.sqrt(d2));
+                            written++;
+                        }
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    private static int cell(double coordinate, int side) {
+        return Math.min((int) (coordinate * side), side - 1);
+    }
+
+    private static double weight(SplittableRandom random) {
+        return 1 + random.nextInt(MAX_WEIGHT);
+    }
+
+    /**
+     * Writes a dataset of generated graphs with IDs 1..graphs, graph i seeded with seed + i,
+     * as JSON or, if the output ends in .mstg, in the binary format.
+     * Usage: --kind=sparse|dense|grid|geometric --edges=N --out=file.json|file.mstg
+     * [--vertices=V] [--graphs=G] [--seed=S]
+     */
+    public static void main(String[] args) throws IOException {
+        Kind kind = Kind.valueOf(getOption(args, "kind", "sparse").toUpperCase(Locale.ROOT));
+        long edges = Long.parseLong(getOption(args, "edges", "1000"));
+        String vertices = getOption(args, "vertices", null);
+        int graphs = Integer.parseInt(getOption(args, "graphs", "1"));
+        long seed = Long.parseLong(getOption(args, "seed", "42"));
+        String out = getOption(args, "out", "generated_" + kind.name().toLowerCase(Locale.ROOT) + ".json");
+
+        GraphGenerator generator = vertices == null
+                ? new GraphGenerator(kind, edges)
+                : new GraphGenerator(kind, Integer.parseInt(vertices), edges);
+
+        try (GraphSink sink = open(out)) {
+            for (int id = 1; id <= graphs; id++) {
+                long written = generator.generate(id, seed + id, sink);
+                System.out.printf("Generated graph #%d: %d vertices, %d edges%n", id, generator.getVertices(), written);
+            }
+        }
+        System.out.println("Dataset written → " + out);
+    }
+
+    private static GraphSink open(String out) throws IOException {
+        if (out.endsWith(BinaryGraphLoader.EXTENSION)) {
+            return new BinaryGraphSink(Path.of(out));
+        }
+        OutputStream output = new BufferedOutputStream(new FileOutputStream(out), 1 << 16);
+        try {
+            return new JsonGraphSink(output);
+        } catch (IOException e) {
+            output.close();
+            throw e;
+        }
+    }
+
+    private static String getOption(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return defaultValue;
+    }
+}
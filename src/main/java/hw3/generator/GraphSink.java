@@ -0,0 +1,25 @@
+package hw3.generator;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives generated graphs edge by edge, so a writer can stream them out
+ * without the generator ever holding a whole graph.
+ */
+public interface GraphSink extends Closeable {
+    /**
+     * Starts a graph whose vertices are 0..vertices-1.
+     */
+    void beginGraph(int id, int vertices) throws IOException;
+
+    /**
+     * Adds an undirected edge v-w to the current graph.
+     */
+    void edge(int v, int w, double weight) throws IOException;
+
+    /**
+     * Finishes the current graph.
+     */
+    void endGraph() throws IOException;
+}
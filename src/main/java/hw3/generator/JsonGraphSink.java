@@ -0,0 +1,64 @@
+package hw3.generator;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes graphs in the input schema ({"graphs": [{"id", "nodes", "edges"}]})
+ * with Jackson's streaming generator. Vertex v is named "v" + v.
+ */
+public class JsonGraphSink implements GraphSink {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator json;
+
+    /**
+     * @param outputStream JSON output; closed together with this sink.
+     */
+    public JsonGraphSink(OutputStream outputStream) throws IOException {
+        this.json = JSON_FACTORY.createGenerator(outputStream);
+        json.writeStartObject();
+        json.writeArrayFieldStart("graphs");
+    }
+
+    @Override
+    public void beginGraph(int id, int vertices) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", id);
+        json.writeArrayFieldStart("nodes");
+        for (int v = 0; v < vertices; v++) {
+            json.writeString(label(v));
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("edges");
+    }
+
+    @Override
+    public void edge(int v, int w, double weight) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("from", label(v));
+        json.writeStringField("to", label(w));
+        json.writeNumberField("weight", weight);
+        json.writeEndObject();
+    }
+
+    @Override
+    public void endGraph() throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.close();
+    }
+
+    static String label(int v) {
+        return "v" + v;
+    }
+}
@@ -0,0 +1,70 @@
+package hw3.graph;
+
+import edu.princeton.cs.algorithms.Edge;
+
+/**
+ * {@link CSRGraph} held in heap arrays, as built by {@link CSRGraphBuilder}.
+ */
+public final class ArrayCSRGraph implements CSRGraph {
+    private final int V;
+    private final int E;
+    private final int[] offsets;       // offsets[v] = first adjacency slot of v, offsets[V] = 2E
+    private final int[] targets;       // targets[i] = neighbour stored in slot i
+    private final double[] weights;    // weights[i] = weight of the edge stored in slot i
+    private final int[] edgeIds;       // edgeIds[i] = id of the edge stored in slot i
+    private final int[] edgeFrom;      // edgeFrom[e], edgeTo[e] = endpoints of edge e
+    private final int[] edgeTo;
+    private final double[] edgeWeight; // edgeWeight[e] = weight of edge e
+
+    ArrayCSRGraph(int V, int[] offsets, int[] targets, double[] weights, int[] edgeIds,
+                  int[] edgeFrom, int[] edgeTo, double[] edgeWeight) {
+        this.V = V;
+        this.E = edgeFrom.length;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+    }
+
+    @Override public int V() { return V; }
+    @Override public int E() { return E; }
+
+    @Override public int begin(int v) { return offsets[v]; }
+    @Override public int end(int v) { return offsets[v + 1]; }
+    @Override public int degree(int v) { return offsets[v + 1] - offsets[v]; }
+
+    @Override public int target(int slot) { return targets[slot]; }
+    @Override public double slotWeight(int slot) { return weights[slot]; }
+    @Override public int slotEdge(int slot) { return edgeIds[slot]; }
+
+    @Override public int from(int e) { return edgeFrom[e]; }
+    @Override public int to(int e) { return edgeTo[e]; }
+    @Override public double weight(int e) { return edgeWeight[e]; }
+
+    @Override
+    public int other(int e, int v) {
+        return edgeFrom[e] == v ? edgeTo[e] : edgeFrom[e];
+    }
+
+    @Override
+    public Edge toEdge(int e) {
+        return new Edge(edgeFrom[e], edgeTo[e], edgeWeight[e]);
+    }
+
+    /**
+     * Approximate heap footprint of the graph arrays in bytes.
+     */
+    @Override
+    public long sizeInBytes() {
+        return 4L * (offsets.length + targets.length + edgeIds.length + edgeFrom.length + edgeTo.length)
+                + 8L * (weights.length + edgeWeight.length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CSRGraph(V=%d, E=%d)", V, E);
+    }
+}
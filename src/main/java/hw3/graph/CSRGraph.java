@@ -0,0 +1,58 @@
+package hw3.graph;
+
+import edu.princeton.cs.algorithms.Edge;
+import edu.princeton.cs.algorithms.EdgeWeightedGraph;
+
+/**
+ * Read-only edge-weighted undirected graph in compressed sparse row (CSR) form.
+ * The adjacency of vertex v occupies slots [begin(v), end(v)); every undirected
+ * edge appears in two slots, one per endpoint, and keeps a stable edge id.
+ * Implemented by {@link ArrayCSRGraph} on the heap and {@link MappedCSRGraph}
+ * over a memory-mapped file.
+ */
+public interface CSRGraph {
+    /**
+     * Converts an algs4 graph into CSR form, keeping the order of G.edges() as edge ids.
+     *
+     * @param G the edge-weighted graph
+     * @return the equivalent CSR graph
+     */
+    static CSRGraph of(EdgeWeightedGraph G) {
+        CSRGraphBuilder builder = new CSRGraphBuilder(G.E());
+        for (Edge e : G.edges()) {
+            int v = e.either();
+            builder.addEdge(v, e.other(v), e.weight());
+        }
+        return builder.build(G.V());
+    }
+
+    int V();
+    int E();
+
+    int begin(int v);
+    int end(int v);
+    int degree(int v);
+
+    int target(int slot);
+    double slotWeight(int slot);
+    int slotEdge(int slot);
+
+    int from(int e);
+    int to(int e);
+    double weight(int e);
+
+    /**
+     * Returns the endpoint of edge e that is not v.
+     */
+    int other(int e, int v);
+
+    /**
+     * Materializes edge e as an algs4 Edge, e.g. for reporting MST results.
+     */
+    Edge toEdge(int e);
+
+    /**
+     * Approximate heap footprint of the graph in bytes.
+     */
+    long sizeInBytes();
+}
@@ -0,0 +1,95 @@
+package hw3.graph;
+
+import java.util.Arrays;
+
+/**
+ * Collects edges into primitive arrays and packs them into a {@link CSRGraph}.
+ * The vertex count is only needed at build time, so edges may be added
+ * before all vertices are known.
+ */
+public class CSRGraphBuilder {
+    private int[] from;
+    private int[] to;
+    private double[] weight;
+    private int size;
+
+    public CSRGraphBuilder() {
+        this(16);
+    }
+
+    /**
+     * @param expectedEdges initial edge capacity; the builder grows as needed.
+     */
+    public CSRGraphBuilder(int expectedEdges) {
+        int capacity = Math.max(expectedEdges, 1);
+        from = new int[capacity];
+        to = new int[capacity];
+        weight = new double[capacity];
+    }
+
+    /**
+     * Adds an undirected edge v-w.
+     *
+     * @return the id of the new edge
+     */
+    public int addEdge(int v, int w, double cost) {
+        if (v < 0 || w < 0) {
+            throw new IllegalArgumentException("Negative vertex index: " + v + "-" + w);
+        }
+        if (size == from.length) {
+            int capacity = from.length + (from.length >> 1) + 1;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+        from[size] = v;
+        to[size] = w;
+        weight[size] = cost;
+        return size++;
+    }
+
+    public int edgeCount() { return size; }
+
+    /**
+     * Packs the collected edges into CSR form using a counting sort by endpoint.
+     *
+     * @param V number of vertices; every edge endpoint must be below V.
+     * @return the built graph
+     */
+    public CSRGraph build(int V) {
+        int[] edgeFrom = Arrays.copyOf(from, size);
+        int[] edgeTo = Arrays.copyOf(to, size);
+        double[] edgeWeight = Arrays.copyOf(weight, size);
+
+        int[] offsets = new int[V + 1];
+        for (int e = 0; e < size; e++) {
+            if (edgeFrom[e] >= V || edgeTo[e] >= V) {
+                throw new IllegalArgumentException("Edge " + edgeFrom[e] + "-" + edgeTo[e]
+                        + " references a vertex outside 0.." + (V - 1));
+            }
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < V; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] targets = new int[2 * size];
+        double[] weights = new double[2 * size];
+        int[] edgeIds = new int[2 * size];
+        int[] next = Arrays.copyOf(offsets, V);
+        for (int e = 0; e < size; e++) {
+            int v = edgeFrom[e], w = edgeTo[e];
+            int i = next[v]++;
+            targets[i] = w;
+            weights[i] = edgeWeight[e];
+            edgeIds[i] = e;
+            int j = next[w]++;
+            targets[j] = v;
+            weights[j] = edgeWeight[e];
+            edgeIds[j] = e;
+        }
+
+        return new ArrayCSRGraph(V, offsets, targets, weights, edgeIds, edgeFrom, edgeTo, edgeWeight);
+    }
+}
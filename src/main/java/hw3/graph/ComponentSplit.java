@@ -0,0 +1,84 @@
+package hw3.graph;
+
+import hw3.utils.ConcurrentUnionFind;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Connected components of a {@link CSRGraph}, labelled by a parallel union-find pass over
+ * the edges and numbered in order of their smallest vertex. Vertices are grouped by
+ * component in increasing order and numbered locally, so per-component work can index
+ * arrays sized to the component instead of to the whole graph.
+ */
+public class ComponentSplit {
+    private final int count;
+    private final int[] vertexStart;   // vertices of component c at [vertexStart[c], vertexStart[c + 1])
+    private final int[] vertices;      // vertex ids grouped by component
+    private final int[] localVertex;   // localVertex[v] = index of v within its component
+    private final int[] edgeCount;     // edgeCount[c] = edges inside component c
+
+    /**
+     * Labels the components of a graph.
+     *
+     * @param G    the graph
+     * @param pool pool the union-find pass runs on
+     */
+    public ComponentSplit(CSRGraph G, ForkJoinPool pool) {
+        int V = G.V(), E = G.E();
+
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(V);
+        int[] root = new int[V];
+        pool.submit(() -> {
+            IntStream.range(0, E).parallel().forEach(e -> uf.union(G.from(e), G.to(e)));
+            IntStream.range(0, V).parallel().forEach(v -> root[v] = uf.find(v));
+        }).join();
+
+        // dense ids in order of first vertex; root[] is reused as the component of each vertex
+        int[] idOfRoot = new int[V];
+        Arrays.fill(idOfRoot, -1);
+        int n = 0;
+        for (int v = 0; v < V; v++) {
+            int r = root[v];
+            if (idOfRoot[r] < 0) idOfRoot[r] = n++;
+            root[v] = idOfRoot[r];
+        }
+        int[] componentOf = root;
+        this.count = n;
+
+        // counting sort of vertices by component
+        vertexStart = new int[n + 1];
+        edgeCount = new int[n];
+        for (int v = 0; v < V; v++) vertexStart[componentOf[v] + 1]++;
+        for (int e = 0; e < E; e++) edgeCount[componentOf[G.from(e)]]++;
+        for (int c = 0; c < n; c++) vertexStart[c + 1] += vertexStart[c];
+        vertices = new int[V];
+        localVertex = new int[V];
+        int[] next = Arrays.copyOf(vertexStart, n);
+        for (int v = 0; v < V; v++) {
+            int c = componentOf[v];
+            int i = next[c]++;
+            vertices[i] = v;
+            localVertex[v] = i - vertexStart[c];
+        }
+    }
+
+    /**
+     * @return number of components, isolated vertices included
+     */
+    public int count() { return count; }
+
+    public int vertexCount(int c) { return vertexStart[c + 1] - vertexStart[c]; }
+    public int edgeCount(int c) { return edgeCount[c]; }
+
+    /**
+     * @return the vertex that is number {@code local} of component c; number 0 is its smallest vertex
+     */
+    public int vertex(int c, int local) { return vertices[vertexStart[c] + local]; }
+
+    /**
+     * @return the number of v within its component
+     */
+    public int local(int v) { return localVertex[v]; }
+}
@@ -0,0 +1,503 @@
+package hw3.graph;
+
+import hw3.utils.EdgeSort;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Delaunay triangulation of points in the plane by radial sweep: points are added in
+ * order of distance from a seed triangle, each one is joined to the convex-hull edges
+ * it can see, and new triangles are made locally Delaunay by edge flips. A hash of the
+ * hull by angle finds the visible edges in amortized constant time, so the whole
+ * triangulation takes O(n log n), dominated by the initial sort.
+ * <p>
+ * Triangles are stored as halfedges: halfedge e runs from {@code triangles[e]} to the
+ * start of the next halfedge of its triangle, and {@code halfedges[e]} is the opposite
+ * halfedge of the neighbouring triangle, or -1 on the hull. Points closer than
+ * {@link #EPSILON} to the previously inserted point are not inserted; callers that need
+ * every point, like {@link EuclideanGraph}, connect those separately.
+ * <p>
+ * The orientation and in-circle predicates are exact: the floating-point result is used
+ * when it is larger than its error bound, and only the close calls left, such as nearly
+ * collinear points far from the origin, are recomputed in exact arithmetic. With exact
+ * predicates the sweep can still meet a point that lies on the hull or just inside it, as in
+ * long collinear rows; such a point is located by walking the triangulation and splits the
+ * triangle or edge it falls on.
+ */
+public final class DelaunayTriangulation {
+    /** Points this close to the previous point in sweep order are treated as duplicates. */
+    public static final double EPSILON = Math.ulp(1.0);
+    private static final int[] NO_TRIANGLES = new int[0];
+    // error bounds of the floating-point predicates (Shewchuk, "Adaptive Precision Floating-Point
+    // Arithmetic and Fast Robust Geometric Predicates"); closer calls are decided exactly
+    private static final double HALF_ULP = 0x1p-53;
+    private static final double ORIENT_BOUND = (3 + 16 * HALF_ULP) * HALF_ULP;
+    private static final double IN_CIRCLE_BOUND = (10 + 96 * HALF_ULP) * HALF_ULP;
+
+    private final double[] coords;
+    private int[] triangles;
+    private int[] halfedges;
+    private int trianglesLen;
+    private final boolean[] inserted;
+
+    // hull as a doubly linked list of points, plus an angular hash of its vertices
+    private int[] hullPrev;
+    private int[] hullNext;
+    private int[] hullTri;       // hullTri[i] = halfedge of the hull edge starting at i
+    private int[] hullHash;
+    private int hullStart;
+    private int hashSize;
+    private double cx, cy;       // sweep centre
+    private final int[] edgeStack = new int[512];
+
+    /**
+     * Triangulates a point set.
+     *
+     * @param coords x and y of every point, interleaved: point i is (coords[2i], coords[2i+1])
+     */
+    public DelaunayTriangulation(double[] coords) {
+        if (coords.length % 2 != 0) {
+            throw new IllegalArgumentException("coords must hold x, y pairs");
+        }
+        this.coords = coords;
+        int n = coords.length / 2;
+        this.inserted = new boolean[n];
+        this.triangles = NO_TRIANGLES;
+        this.halfedges = NO_TRIANGLES;
+        if (n >= 3) {
+            triangulate(n);
+        }
+    }
+
+    /**
+     * @return point indices of the triangles, three per triangle in counter-clockwise order
+     */
+    public int[] triangles() {
+        return Arrays.copyOf(triangles, trianglesLen);
+    }
+
+    /**
+     * @return opposite halfedge of every halfedge, -1 for hull edges
+     */
+    public int[] halfedges() {
+        return Arrays.copyOf(halfedges, trianglesLen);
+    }
+
+    public int halfedgeCount() { return trianglesLen; }
+    public int start(int e) { return triangles[e]; }
+    public int end(int e) { return triangles[e % 3 == 2 ? e - 2 : e + 1]; }
+    public int opposite(int e) { return halfedges[e]; }
+
+    /**
+     * @return true if point i is a vertex of some triangle; false for duplicates, for
+     *         every point when all points are collinear, and when there are fewer than three
+     */
+    public boolean isInserted(int i) { return inserted[i]; }
+
+    private void triangulate(int n) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            double x = coords[2 * i], y = coords[2 * i + 1];
+            if (!Double.isFinite(x) || !Double.isFinite(y)) {
+                throw new IllegalArgumentException("Point " + i + " has a non-finite coordinate");
+            }
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            ids[i] = i;
+        }
+        double mx = (minX + maxX) / 2, my = (minY + maxY) / 2;
+
+        // seed triangle: the point nearest the centre, its nearest neighbour, and the
+        // point that makes the smallest circumcircle with them
+        int i0 = 0, i1 = -1, i2 = -1;
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double d = dist(mx, my, x(i), y(i));
+            if (d < best) {
+                i0 = i;
+                best = d;
+            }
+        }
+        best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            if (i == i0) continue;
+            double d = dist(x(i0), y(i0), x(i), y(i));
+            if (d < best && d > 0) {
+                i1 = i;
+                best = d;
+            }
+        }
+        double minRadius = Double.POSITIVE_INFINITY;
+        if (i1 >= 0) {
+            for (int i = 0; i < n; i++) {
+                if (i == i0 || i == i1) continue;
+                double r = circumradius(x(i0), y(i0), x(i1), y(i1), x(i), y(i));
+                if (r < minRadius) {
+                    i2 = i;
+                    minRadius = r;
+                }
+            }
+        }
+        if (i2 < 0 || minRadius == Double.POSITIVE_INFINITY) {
+            return;     // all points coincide or are collinear: no triangles
+        }
+        if (orient(x(i0), y(i0), x(i1), y(i1), x(i2), y(i2)) < 0) {
+            int t = i1;
+            i1 = i2;
+            i2 = t;
+        }
+        cx = circumX(x(i0), y(i0), x(i1), y(i1), x(i2), y(i2));
+        cy = circumY(x(i0), y(i0), x(i1), y(i1), x(i2), y(i2));
+
+        double[] dists = new double[n];
+        for (int i = 0; i < n; i++) {
+            dists[i] = dist(x(i), y(i), cx, cy);
+        }
+        EdgeSort.sort(dists, ids);
+
+        int maxTriangles = Math.max(2 * n - 5, 0);
+        triangles = new int[maxTriangles * 3];
+        halfedges = new int[maxTriangles * 3];
+        hashSize = (int) Math.ceil(Math.sqrt(n));
+        hullPrev = new int[n];
+        hullNext = new int[n];
+        hullTri = new int[n];
+        hullHash = new int[hashSize];
+        Arrays.fill(hullHash, -1);
+
+        hullStart = i0;
+        hullNext[i0] = hullPrev[i2] = i1;
+        hullNext[i1] = hullPrev[i0] = i2;
+        hullNext[i2] = hullPrev[i1] = i0;
+        hullTri[i0] = 0;
+        hullTri[i1] = 1;
+        hullTri[i2] = 2;
+        hullHash[hashKey(x(i0), y(i0))] = i0;
+        hullHash[hashKey(x(i1), y(i1))] = i1;
+        hullHash[hashKey(x(i2), y(i2))] = i2;
+        addTriangle(i0, i1, i2, -1, -1, -1);
+        inserted[i0] = inserted[i1] = inserted[i2] = true;
+
+        double xp = 0, yp = 0;
+        for (int k = 0; k < n; k++) {
+            int i = ids[k];
+            double x = x(i), y = y(i);
+            if (k > 0 && Math.abs(x - xp) <= EPSILON && Math.abs(y - yp) <= EPSILON) continue;
+            xp = x;
+            yp = y;
+            if (i == i0 || i == i1 || i == i2) continue;
+
+            // find a visible hull edge, starting from the hull vertex nearest in angle
+            int start = 0;
+            int key = hashKey(x, y);
+            for (int j = 0; j < hashSize; j++) {
+                start = hullHash[(key + j) % hashSize];
+                if (start != -1 && start != hullNext[start]) break;
+            }
+            start = hullPrev[start];
+            int e = start, q;
+            while (orient(x, y, x(e), y(e), x(q = hullNext[e]), y(q)) >= 0) {
+                e = q;
+                if (e == start) {
+                    e = -1;
+                    break;
+                }
+            }
+            if (e == -1) {
+                // no hull edge is visible: the point is inside the hull, on it, or a duplicate
+                if (insertInside(i, hullTri[start])) inserted[i] = true;
+                continue;
+            }
+
+            int t = addTriangle(e, i, hullNext[e], -1, -1, hullTri[e]);
+            hullTri[i] = legalize(t + 2);
+            hullTri[e] = t;
+            inserted[i] = true;
+
+            // walk forward along the hull, adding triangles and flipping
+            int nxt = hullNext[e];
+            while (orient(x, y, x(nxt), y(nxt), x(q = hullNext[nxt]), y(q)) < 0) {
+                t = addTriangle(nxt, i, q, hullTri[i], -1, hullTri[nxt]);
+                hullTri[i] = legalize(t + 2);
+                hullNext[nxt] = nxt;    // removed from the hull
+                nxt = q;
+            }
+            // walk backward from the other side
+            if (e == start) {
+                while (orient(x, y, x(q = hullPrev[e]), y(q), x(e), y(e)) < 0) {
+                    t = addTriangle(q, i, e, -1, hullTri[e], hullTri[q]);
+                    legalize(t + 2);
+                    hullTri[q] = t;
+                    hullNext[e] = e;
+                    e = q;
+                }
+            }
+
+            hullStart = hullPrev[i] = e;
+            hullNext[e] = hullPrev[nxt] = i;
+            hullNext[i] = nxt;
+            hullHash[hashKey(x, y)] = i;
+            hullHash[hashKey(x(e), y(e))] = e;
+        }
+    }
+
+    // inserts point i that the sweep met inside the hull or on its boundary, which only near-degenerate
+    // input such as long collinear rows causes. The containing triangle is found by walking from
+    // halfedge from towards the point. False if i coincides with a vertex.
+    private boolean insertInside(int i, int from) {
+        double x = x(i), y = y(i);
+        int t = from - from % 3;
+        for (int steps = 0; steps <= trianglesLen / 3; steps++) {
+            int zeros = 0, onEdge = -1, across = -1;
+            for (int e = t; e < t + 3 && across == -1; e++) {
+                double side = orient(x, y, x(start(e)), y(start(e)), x(end(e)), y(end(e)));
+                if (side < 0) {
+                    across = e;
+                } else if (side == 0) {
+                    zeros++;
+                    onEdge = e;
+                }
+            }
+            if (across != -1) {
+                if (halfedges[across] == -1) return false;  // outside after all
+                t = halfedges[across] - halfedges[across] % 3;
+                continue;
+            }
+            if (zeros == 0) {
+                splitTriangle(t, i);
+            } else if (zeros == 1 && halfedges[onEdge] == -1) {
+                splitHullEdge(onEdge, i);
+            } else if (zeros == 1) {
+                splitEdge(onEdge, i);
+            } else {
+                return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // triangle a, b, c becomes a, b, i + b, c, i + c, a, i
+    private void splitTriangle(int t, int i) {
+        int b = triangles[t + 1], c = triangles[t + 2];
+        int bc = halfedges[t + 1], ca = halfedges[t + 2];
+        triangles[t + 2] = i;
+        int t1 = addTriangle(b, c, i, bc, -1, t + 1);
+        int t2 = addTriangle(c, triangles[t], i, ca, t + 2, t1 + 1);
+        if (bc == -1) hullTri[b] = t1;
+        if (ca == -1) hullTri[c] = t2;
+        legalize(t);
+        legalize(t1);
+        legalize(t2);
+    }
+
+    // i lies on interior halfedge h (a->b of triangle a, b, c; its twin b->a is in b, a, d):
+    // the two triangles become a, i, c + i, b, c + b, i, d + i, a, d
+    private void splitEdge(int h, int i) {
+        int g = halfedges[h];
+        int hn = next(h), hp = prev(h), gn = next(g), gp = prev(g);
+        int a = triangles[h], b = triangles[g], c = triangles[hp], d = triangles[gp];
+        int bc = halfedges[hn], ad = halfedges[gn];
+        triangles[hn] = i;
+        triangles[gn] = i;
+        int t1 = addTriangle(i, b, c, g, bc, hn);
+        int t2 = addTriangle(i, a, d, h, ad, gn);
+        if (bc == -1) hullTri[b] = t1 + 1;
+        if (ad == -1) hullTri[a] = t2 + 1;
+        legalize(hp);
+        legalize(t1 + 1);
+        legalize(gp);
+        legalize(t2 + 1);
+    }
+
+    // i lies on hull halfedge h (e->q of triangle e, q, r): it becomes e, i, r + i, q, r
+    private void splitHullEdge(int h, int i) {
+        int hn = next(h), hp = prev(h);
+        int e = triangles[h], q = triangles[hn], r = triangles[hp];
+        int qr = halfedges[hn];
+        triangles[hn] = i;
+        int t = addTriangle(i, q, r, -1, qr, hn);
+        if (qr == -1) hullTri[q] = t + 1;
+
+        hullNext[e] = hullPrev[q] = i;
+        hullPrev[i] = e;
+        hullNext[i] = q;
+        hullTri[i] = t;
+        hullHash[hashKey(x(i), y(i))] = i;
+        legalize(hp);
+        hullTri[i] = legalize(t + 1);     // flips move the hull edge i->q, as on the sweep path
+    }
+
+    private static int next(int e) { return e % 3 == 2 ? e - 2 : e + 1; }
+    private static int prev(int e) { return e % 3 == 0 ? e + 2 : e - 1; }
+
+    // flips edges until the triangles around halfedge a are locally Delaunay
+    private int legalize(int a) {
+        int i = 0;
+        int ar;
+        while (true) {
+            int b = halfedges[a];
+            int a0 = a - a % 3;
+            ar = a0 + (a + 2) % 3;
+            if (b == -1) {
+                if (i == 0) break;
+                a = edgeStack[--i];
+                continue;
+            }
+            int b0 = b - b % 3;
+            int al = a0 + (a + 1) % 3;
+            int bl = b0 + (b + 2) % 3;
+            int p0 = triangles[ar], pr = triangles[a], pl = triangles[al], p1 = triangles[bl];
+
+            if (inCircle(x(p0), y(p0), x(pr), y(pr), x(pl), y(pl), x(p1), y(p1))) {
+                triangles[a] = p1;
+                triangles[b] = p0;
+                int hbl = halfedges[bl];
+                if (hbl == -1) {
+                    // the flipped edge was on the hull; repoint the hull at its new halfedge
+                    int e = hullStart;
+                    do {
+                        if (hullTri[e] == bl) {
+                            hullTri[e] = a;
+                            break;
+                        }
+                        e = hullPrev[e];
+                    } while (e != hullStart);
+                }
+                link(a, hbl);
+                link(b, halfedges[ar]);
+                link(ar, bl);
+                int br = b0 + (b + 1) % 3;
+                if (i < edgeStack.length) edgeStack[i++] = br;
+            } else {
+                if (i == 0) break;
+                a = edgeStack[--i];
+            }
+        }
+        return ar;
+    }
+
+    private int addTriangle(int i0, int i1, int i2, int a, int b, int c) {
+        int t = trianglesLen;
+        triangles[t] = i0;
+        triangles[t + 1] = i1;
+        triangles[t + 2] = i2;
+        link(t, a);
+        link(t + 1, b);
+        link(t + 2, c);
+        trianglesLen += 3;
+        return t;
+    }
+
+    private void link(int a, int b) {
+        halfedges[a] = b;
+        if (b != -1) halfedges[b] = a;
+    }
+
+    private int hashKey(double x, double y) {
+        return (int) Math.floor(pseudoAngle(x - cx, y - cy) * hashSize) % hashSize;
+    }
+
+    private double x(int i) { return coords[2 * i]; }
+    private double y(int i) { return coords[2 * i + 1]; }
+
+    // monotone in the angle of (dx, dy), in [0, 1)
+    private static double pseudoAngle(double dx, double dy) {
+        double p = dx / (Math.abs(dx) + Math.abs(dy));
+        return (dy > 0 ? 3 - p : 1 + p) / 4;
+    }
+
+    private static double dist(double ax, double ay, double bx, double by) {
+        double dx = ax - bx, dy = ay - by;
+        return dx * dx + dy * dy;
+    }
+
+    // > 0 if r lies to the left of p->q (counter-clockwise turn p, q, r); the sign is exact
+    private static double orient(double rx, double ry, double px, double py, double qx, double qy) {
+        double a = qx - px, b = ry - py, c = qy - py, d = rx - px;
+        double left = a * b;
+        double right = c * d;
+        double det = left - right;
+        if (Math.abs(det) > ORIENT_BOUND * (Math.abs(left) + Math.abs(right))) {
+            return det;
+        }
+        // collinear points with small integer coordinates end here: nothing was rounded
+        if (exact(qx, px, a) && exact(ry, py, b) && exact(qy, py, c) && exact(rx, px, d)
+                && Math.fma(a, b, -left) == 0 && Math.fma(c, d, -right) == 0) {
+            return left > right ? 1 : left < right ? -1 : 0;
+        }
+        return exact(qx, px).multiply(exact(ry, py)).subtract(exact(qy, py).multiply(exact(rx, px))).signum();
+    }
+
+    // true if p lies inside the circumcircle of the counter-clockwise triangle a, b, c; exact
+    private static boolean inCircle(double ax, double ay, double bx, double by, double cx, double cy,
+                                    double px, double py) {
+        double dx = ax - px, dy = ay - py;
+        double ex = bx - px, ey = by - py;
+        double fx = cx - px, fy = cy - py;
+        double ap = dx * dx + dy * dy;
+        double bp = ex * ex + ey * ey;
+        double cp = fx * fx + fy * fy;
+        double eyfx = ey * fx, exfy = ex * fy;
+        double dyfx = dy * fx, dxfy = dx * fy;
+        double dyex = dy * ex, dxey = dx * ey;
+        double det = ap * (exfy - eyfx) + bp * (dyfx - dxfy) + cp * (dxey - dyex);
+        double permanent = ap * (Math.abs(exfy) + Math.abs(eyfx))
+                + bp * (Math.abs(dyfx) + Math.abs(dxfy))
+                + cp * (Math.abs(dxey) + Math.abs(dyex));
+        if (Math.abs(det) > IN_CIRCLE_BOUND * permanent) {
+            return det > 0;
+        }
+
+        BigDecimal adx = exact(ax, px), ady = exact(ay, py);
+        BigDecimal bdx = exact(bx, px), bdy = exact(by, py);
+        BigDecimal cdx = exact(cx, px), cdy = exact(cy, py);
+        BigDecimal alift = adx.multiply(adx).add(ady.multiply(ady));
+        BigDecimal blift = bdx.multiply(bdx).add(bdy.multiply(bdy));
+        BigDecimal clift = cdx.multiply(cdx).add(cdy.multiply(cdy));
+        return alift.multiply(bdx.multiply(cdy).subtract(bdy.multiply(cdx)))
+                .add(blift.multiply(cdx.multiply(ady).subtract(cdy.multiply(adx))))
+                .add(clift.multiply(adx.multiply(bdy).subtract(ady.multiply(bdx))))
+                .signum() > 0;
+    }
+
+    // true if difference = x - y was computed without rounding (Knuth's two-sum error term is 0)
+    private static boolean exact(double x, double y, double difference) {
+        double yVirtual = x - difference;
+        return (x - (difference + yVirtual)) + (yVirtual - y) == 0;
+    }
+
+    // a - b without rounding: doubles are dyadic rationals, so BigDecimal holds them exactly
+    private static BigDecimal exact(double a, double b) {
+        return new BigDecimal(a).subtract(new BigDecimal(b));
+    }
+
+    private static double circumradius(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay;
+        double ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy, cl = ex * ex + ey * ey;
+        double d = 0.5 / (dx * ey - dy * ex);
+        double x = (ey * bl - dy * cl) * d;
+        double y = (dx * cl - ex * bl) * d;
+        return x * x + y * y;
+    }
+
+    private static double circumX(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay;
+        double ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy, cl = ex * ex + ey * ey;
+        return ax + (ey * bl - dy * cl) * 0.5 / (dx * ey - dy * ex);
+    }
+
+    private static double circumY(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay;
+        double ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy, cl = ex * ex + ey * ey;
+        return ay + (dx * cl - ex * bl) * 0.5 / (dx * ey - dy * ex);
+    }
+}
@@ -0,0 +1,107 @@
+package hw3.graph;
+
+import hw3.utils.EdgeSort;
+
+/**
+ * Builds sparse candidate graphs for Euclidean minimum spanning trees. A Euclidean MST
+ * only uses edges of the Delaunay triangulation, so instead of all V(V-1)/2 pairs the
+ * graph gets the at most 3V - 6 triangulation edges, weighted by their length, and any
+ * MST algorithm run on it returns a Euclidean MST of the points in O(n log n) overall.
+ */
+public final class EuclideanGraph {
+    private EuclideanGraph() {
+    }
+
+    /**
+     * Builds the Delaunay graph of a point set. Points that the triangulation skips are
+     * still connected: a point at the same position as another gets a zero-length edge
+     * to it, and when all points are collinear they are joined in order along the line.
+     *
+     * @param coords x and y of every point, interleaved: vertex i is (coords[2i], coords[2i+1])
+     * @return graph with one vertex per point and an edge per Delaunay edge
+     */
+    public static CSRGraph delaunay(double[] coords) {
+        int n = coords.length / 2;
+        DelaunayTriangulation triangulation = new DelaunayTriangulation(coords);
+        CSRGraphBuilder builder = new CSRGraphBuilder(3 * n);
+
+        // every interior edge appears as two opposite halfedges; hull edges as one
+        for (int e = 0; e < triangulation.halfedgeCount(); e++) {
+            if (triangulation.opposite(e) < e) {
+                int v = triangulation.start(e), w = triangulation.end(e);
+                builder.addEdge(v, w, distance(coords, v, w));
+            }
+        }
+
+        boolean triangulated = triangulation.halfedgeCount() > 0;
+        int skipped = 0;
+        for (int v = 0; v < n; v++) {
+            if (!triangulation.isInserted(v)) skipped++;
+        }
+        if (skipped == 0) {
+            return builder.build(n);
+        }
+
+        // in (x, y) order equal points are adjacent and collinear points follow their line
+        int[] order = lexicographicOrder(coords);
+        int previous = -1;                 // representative of the previous run of equal points
+        if (triangulated) {
+            for (int k = 0; k < n && previous < 0; k++) {
+                if (triangulation.isInserted(order[k])) previous = order[k];
+            }
+        }
+        for (int k = 0; k < n; ) {
+            int end = k + 1;
+            while (end < n && samePoint(coords, order[k], order[end])) end++;
+            int representative = order[k];
+            for (int j = k; j < end; j++) {
+                if (triangulation.isInserted(order[j])) representative = order[j];
+            }
+            for (int j = k; j < end; j++) {
+                if (order[j] != representative) builder.addEdge(representative, order[j], 0.0);
+            }
+            // collinear input has no triangles; a point closer than EPSILON to another was not inserted
+            if (previous >= 0 && previous != representative
+                    && (!triangulated || !triangulation.isInserted(representative))) {
+                builder.addEdge(previous, representative, distance(coords, previous, representative));
+            }
+            if (!triangulated || triangulation.isInserted(representative)) previous = representative;
+            k = end;
+        }
+        return builder.build(n);
+    }
+
+    private static boolean samePoint(double[] coords, int v, int w) {
+        return coords[2 * v] == coords[2 * w] && coords[2 * v + 1] == coords[2 * w + 1];
+    }
+
+    // sorts by y, then by x with the y rank as tie-breaker, so the result is ordered by (x, y)
+    private static int[] lexicographicOrder(double[] coords) {
+        int n = coords.length / 2;
+        double[] keys = new double[n];
+        int[] byY = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = coords[2 * i + 1];
+            byY[i] = i;
+        }
+        EdgeSort.sort(keys, byY);
+
+        int[] ranks = new int[n];
+        for (int r = 0; r < n; r++) {
+            keys[r] = coords[2 * byY[r]];
+            ranks[r] = r;
+        }
+        EdgeSort.sort(keys, ranks);
+        int[] order = new int[n];
+        for (int k = 0; k < n; k++) {
+            order[k] = byY[ranks[k]];
+        }
+        return order;
+    }
+
+    private static double distance(double[] coords, int v, int w) {
+        double dx = coords[2 * v] - coords[2 * w];
+        double dy = coords[2 * v + 1] - coords[2 * w + 1];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,175 @@
+package hw3.graph;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable {@link NodeLabels} filled while a graph is loaded. Labels are kept
+ * in a String[] and looked up through an open-addressing int hash table, so no
+ * boxed entries are created per vertex. Each loaded graph owns its own instance; interning is not synchronized,
+ * but lookups are safe from any thread once loading has finished.
+ */
+public final class HashNodeLabels implements NodeLabels {
+    private static final int EMPTY = -1;
+
+    private String[] labels;
+    private int[] hashes;      // hashes[i] = hash of labels[i]
+    private int[] table;       // slot -> vertex index, EMPTY if free
+    private int size;
+
+    public HashNodeLabels() {
+        this(16);
+    }
+
+    public HashNodeLabels(int expectedSize) {
+        int capacity = Math.max(expectedSize, 4);
+        labels = new String[capacity];
+        hashes = new int[capacity];
+        table = newTable(tableSizeFor(capacity));
+    }
+
+    /**
+     * Creates a dictionary that indexes the labels in the given order.
+     *
+     * @throws IllegalArgumentException if a label appears twice.
+     */
+    public static HashNodeLabels of(List<String> nodes) {
+        HashNodeLabels labels = new HashNodeLabels(nodes.size());
+        for (String node : nodes) {
+            int before = labels.size;
+            if (labels.intern(node) != before) {
+                throw new IllegalArgumentException("Duplicate node label: " + node);
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Returns the index of the label, assigning the next free index if it is new.
+     */
+    public int intern(String label) {
+        int h = hash(label);
+        int mask = table.length - 1;
+        for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot];
+            if (index == EMPTY) {
+                return add(label, h, slot);
+            }
+            if (hashes[index] == h && labels[index].equals(label)) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #intern(String)} for a label held in a char buffer; a String
+     * is only allocated the first time the label is seen.
+     */
+    public int intern(char[] buffer, int offset, int length) {
+        int h = hash(buffer, offset, length);
+        int mask = table.length - 1;
+        for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot];
+            if (index == EMPTY) {
+                return add(new String(buffer, offset, length), h, slot);
+            }
+            if (hashes[index] == h && matches(labels[index], buffer, offset, length)) {
+                return index;
+            }
+        }
+    }
+
+    @Override
+    public int indexOf(String label) {
+        int h = hash(label);
+        int mask = table.length - 1;
+        for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot];
+            if (index == EMPTY) return -1;
+            if (hashes[index] == h && labels[index].equals(label)) return index;
+        }
+    }
+
+    /**
+     * Same as {@link #indexOf(String)} for a label held in a char buffer; nothing is allocated.
+     *
+     * @return the index of the label, or -1 if it is unknown.
+     */
+    public int indexOf(char[] buffer, int offset, int length) {
+        int h = hash(buffer, offset, length);
+        int mask = table.length - 1;
+        for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot];
+            if (index == EMPTY) return -1;
+            if (hashes[index] == h && matches(labels[index], buffer, offset, length)) return index;
+        }
+    }
+
+    @Override
+    public String label(int index) {
+        return index >= 0 && index < size ? labels[index] : null;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    private int add(String label, int h, int slot) {
+        if (size == labels.length) {
+            int capacity = labels.length * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+        int index = size++;
+        labels[index] = label;
+        hashes[index] = h;
+        table[slot] = index;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        table = newTable(capacity);
+        int mask = capacity - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = hashes[index] & mask;
+            while (table[slot] != EMPTY) slot = (slot + 1) & mask;
+            table[slot] = index;
+        }
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] t = new int[capacity];
+        Arrays.fill(t, EMPTY);
+        return t;
+    }
+
+    private static int tableSizeFor(int expected) {
+        return Integer.highestOneBit(Math.max(expected * 2 - 1, 7)) << 1;
+    }
+
+    // String.hashCode() with extra mixing, so both intern paths agree
+    private static int hash(String s) {
+        return mix(s.hashCode());
+    }
+
+    private static int hash(char[] buffer, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) h = 31 * h + buffer[i];
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String label, char[] buffer, int offset, int length) {
+        if (label.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (label.charAt(i) != buffer[offset + i]) return false;
+        }
+        return true;
+    }
+}
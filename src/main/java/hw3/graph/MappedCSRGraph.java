@@ -0,0 +1,91 @@
+package hw3.graph;
+
+import edu.princeton.cs.algorithms.Edge;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * A {@link CSRGraph} whose sections are views of a memory-mapped file rather than
+ * heap arrays, so opening it costs no heap and pages are read in as they are touched.
+ * Created by {@link hw3.loader.BinaryGraphLoader}; the buffers must not be modified.
+ */
+public final class MappedCSRGraph implements CSRGraph {
+    private final int V;
+    private final int E;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private final IntBuffer edgeIds;
+    private final IntBuffer edgeFrom;
+    private final IntBuffer edgeTo;
+    private final DoubleBuffer edgeWeight;
+
+    /**
+     * Wraps the sections of one graph; the array layout is the same as in {@link ArrayCSRGraph}.
+     */
+    public MappedCSRGraph(int V, int E, IntBuffer offsets, IntBuffer targets, DoubleBuffer weights, IntBuffer edgeIds,
+                          IntBuffer edgeFrom, IntBuffer edgeTo, DoubleBuffer edgeWeight) {
+        if (offsets.limit() != V + 1 || targets.limit() != 2 * E || weights.limit() != 2 * E
+                || edgeIds.limit() != 2 * E || edgeFrom.limit() != E || edgeTo.limit() != E
+                || edgeWeight.limit() != E) {
+            throw new IllegalArgumentException("Section sizes do not match V=" + V + ", E=" + E);
+        }
+        this.V = V;
+        this.E = E;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+    }
+
+    @Override public int V() { return V; }
+    @Override public int E() { return E; }
+
+    @Override public int begin(int v) { return offsets.get(v); }
+    @Override public int end(int v) { return offsets.get(v + 1); }
+    @Override public int degree(int v) { return offsets.get(v + 1) - offsets.get(v); }
+
+    @Override public int target(int slot) { return targets.get(slot); }
+    @Override public double slotWeight(int slot) { return weights.get(slot); }
+    @Override public int slotEdge(int slot) { return edgeIds.get(slot); }
+
+    @Override public int from(int e) { return edgeFrom.get(e); }
+    @Override public int to(int e) { return edgeTo.get(e); }
+    @Override public double weight(int e) { return edgeWeight.get(e); }
+
+    @Override
+    public int other(int e, int v) {
+        int from = edgeFrom.get(e);
+        return from == v ? edgeTo.get(e) : from;
+    }
+
+    @Override
+    public Edge toEdge(int e) {
+        return new Edge(edgeFrom.get(e), edgeTo.get(e), edgeWeight.get(e));
+    }
+
+    /**
+     * The sections live in the page cache, not on the heap.
+     */
+    @Override
+    public long sizeInBytes() {
+        return 0;
+    }
+
+    /**
+     * @return bytes of the mapped sections
+     */
+    public long mappedBytes() {
+        return 4L * (offsets.limit() + targets.limit() + edgeIds.limit() + edgeFrom.limit() + edgeTo.limit())
+                + 8L * (weights.limit() + edgeWeight.limit());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MappedCSRGraph(V=%d, E=%d)", V, E);
+    }
+}
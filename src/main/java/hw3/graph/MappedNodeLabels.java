@@ -0,0 +1,60 @@
+package hw3.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only {@link NodeLabels} over a memory-mapped label dictionary: an int[V + 1]
+ * section of byte offsets and a UTF-8 blob. A label is decoded only when asked for,
+ * so reporting an MST touches V - 1 labels instead of all of them; the hash table
+ * for {@link #indexOf} is built on first use.
+ */
+public final class MappedNodeLabels implements NodeLabels {
+    private final int size;
+    private final ByteBuffer offsets;
+    private final ByteBuffer blob;
+    private HashNodeLabels index;       // built by the first indexOf call
+
+    /**
+     * @param size    number of labels
+     * @param offsets size + 1 little-endian ints; label i spans bytes [offsets[i], offsets[i + 1]) of blob
+     * @param blob    UTF-8 bytes of all labels
+     */
+    public MappedNodeLabels(int size, ByteBuffer offsets, ByteBuffer blob) {
+        if (offsets.limit() != 4 * (size + 1)) {
+            throw new IllegalArgumentException("Expected " + (size + 1) + " label offsets");
+        }
+        this.size = size;
+        this.offsets = offsets;
+        this.blob = blob;
+    }
+
+    @Override
+    public String label(int index) {
+        if (index < 0 || index >= size) return null;
+        int from = offsets.getInt(4 * index), to = offsets.getInt(4 * index + 4);
+        if (from < 0 || to < from || to > blob.limit()) {
+            throw new IllegalStateException("Corrupt label offsets at vertex " + index);
+        }
+        byte[] bytes = new byte[to - from];
+        blob.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized int indexOf(String label) {
+        if (index == null) {
+            HashNodeLabels labels = new HashNodeLabels(size);
+            for (int v = 0; v < size; v++) {
+                labels.intern(label(v));
+            }
+            index = labels;
+        }
+        return index.indexOf(label);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
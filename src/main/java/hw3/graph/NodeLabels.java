@@ -0,0 +1,32 @@
+package hw3.graph;
+
+import java.util.List;
+
+/**
+ * Read-only dictionary between node labels and dense vertex indices 0..size()-1.
+ * Implemented by {@link HashNodeLabels}, filled while a graph is loaded, and
+ * {@link MappedNodeLabels} over a memory-mapped label section. Lookups are safe
+ * from any thread once loading has finished.
+ */
+public interface NodeLabels {
+    /**
+     * Creates a dictionary that indexes the labels in the given order.
+     *
+     * @throws IllegalArgumentException if a label appears twice.
+     */
+    static NodeLabels of(List<String> nodes) {
+        return HashNodeLabels.of(nodes);
+    }
+
+    /**
+     * @return the label of vertex index, or null if the index is out of range.
+     */
+    String label(int index);
+
+    /**
+     * @return the index of the label, or -1 if it is unknown.
+     */
+    int indexOf(String label);
+
+    int size();
+}
@@ -0,0 +1,188 @@
+package hw3.loader;
+
+import hw3.graph.MappedCSRGraph;
+import hw3.graph.MappedNodeLabels;
+import hw3.graph.NodeLabels;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opens graphs stored in the binary format written by {@link BinaryGraphWriter}. Every
+ * section is mapped with {@link FileChannel#map}, so a graph is ready as soon as its
+ * header is read: the CSR arrays and the label dictionary stay in the page cache, and
+ * labels are decoded one by one when reported. All values are little-endian and every
+ * section starts 8-byte aligned.
+ * <pre>
+ * file header    magic "MSTG", int version, int graph count, int reserved
+ * per graph      int id, int V, int E, int reserved, long label bytes, long block bytes
+ *                int[V + 1] label offsets into the UTF-8 label blob, then the blob
+ *                int[V + 1] offsets, int[2E] targets, int[2E] edge ids, int[E] from, int[E] to
+ *                double[2E] slot weights, double[E] edge weights
+ * </pre>
+ * A single section cannot exceed 2 GB, the limit of one mapping, which allows about
+ * 130 million edges per graph.
+ */
+public class BinaryGraphLoader implements GraphSource {
+    /** File name extension that selects this loader. */
+    public static final String EXTENSION = ".mstg";
+    static final int MAGIC = 0x4754534D;           // "MSTG" read as a little-endian int
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 16;
+    static final int GRAPH_HEADER_BYTES = 32;
+
+    private final FileChannel channel;
+    private final Path path;
+    private final int graphCount;
+    private int graphsRead;
+    private long position = FILE_HEADER_BYTES;
+
+    /**
+     * @param path Binary graph file; the channel is closed together with this loader,
+     *             while graphs already returned stay mapped.
+     * @throws IOException If the file cannot be read or is not in the binary format.
+     */
+    public BinaryGraphLoader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, FILE_HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a binary graph file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + " in " + path);
+            }
+            graphCount = header.getInt();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a file on disk, or a classpath resource that is a plain file (resources inside
+     * a jar cannot be mapped).
+     *
+     * @param filename Path or resource name of the binary file.
+     * @return Loader positioned before the first graph.
+     * @throws IOException If the file cannot be found or opened.
+     */
+    public static BinaryGraphLoader open(String filename) throws IOException {
+        Path path = Path.of(filename);
+        if (Files.isRegularFile(path)) {
+            return new BinaryGraphLoader(path);
+        }
+        URL resource = GraphLoader.class.getClassLoader().getResource(filename);
+        if (resource == null) {
+            throw new IOException("File not found: " + filename);
+        }
+        if (!"file".equals(resource.getProtocol())) {
+            throw new IOException("Binary graph " + filename + " must be a file on disk, not " + resource);
+        }
+        try {
+            return new BinaryGraphLoader(Path.of(resource.toURI()));
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid resource location " + resource, e);
+        }
+    }
+
+    /**
+     * @return number of graphs in the file
+     */
+    public int graphCount() {
+        return graphCount;
+    }
+
+    /**
+     * Maps the next graph.
+     *
+     * @return the next graph, or null when the file is exhausted.
+     * @throws IOException If the file is truncated or inconsistent.
+     */
+    @Override
+    public LoadedGraph next() throws IOException {
+        if (graphsRead == graphCount) return null;
+        long start = System.nanoTime();
+
+        ByteBuffer header = read(position, GRAPH_HEADER_BYTES);
+        int id = header.getInt();
+        int V = header.getInt();
+        int E = header.getInt();
+        header.getInt(); // reserved
+        long labelBytes = header.getLong();
+        long blockBytes = header.getLong();
+        if (V < 0 || E < 0 || labelBytes < 0 || position + blockBytes > channel.size()) {
+            throw new IOException("Corrupt header of graph #" + id + " in " + path);
+        }
+
+        long at = position + GRAPH_HEADER_BYTES;
+        ByteBuffer labelOffsets = map(at, 4L * (V + 1));
+        at = align(at + 4L * (V + 1));
+        ByteBuffer labelBlob = map(at, labelBytes);
+        at = align(at + labelBytes);
+        ByteBuffer offsets = map(at, 4L * (V + 1));
+        at = align(at + 4L * (V + 1));
+        ByteBuffer targets = map(at, 8L * E);
+        at += 8L * E;
+        ByteBuffer edgeIds = map(at, 8L * E);
+        at += 8L * E;
+        ByteBuffer edgeFrom = map(at, 4L * E);
+        at += 4L * E;
+        ByteBuffer edgeTo = map(at, 4L * E);
+        at = align(at + 4L * E);
+        ByteBuffer weights = map(at, 16L * E);
+        at += 16L * E;
+        ByteBuffer edgeWeight = map(at, 8L * E);
+        at += 8L * E;
+        if (at != position + blockBytes) {
+            throw new IOException("Graph #" + id + " in " + path + " has inconsistent section sizes");
+        }
+
+        MappedCSRGraph graph = new MappedCSRGraph(V, E,
+                offsets.asIntBuffer(), targets.asIntBuffer(), weights.asDoubleBuffer(), edgeIds.asIntBuffer(),
+                edgeFrom.asIntBuffer(), edgeTo.asIntBuffer(), edgeWeight.asDoubleBuffer());
+        NodeLabels labels = new MappedNodeLabels(V, labelOffsets, labelBlob);
+
+        position += blockBytes;
+        graphsRead++;
+        System.out.printf("Loaded graph #%d: %d vertices, %d edges%n", id, graph.V(), graph.E());
+        return new LoadedGraph(id, graph, labels, System.nanoTime() - start, 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer map(long offset, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Section of " + size + " bytes in " + path + " exceeds the 2 GB mapping limit");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private ByteBuffer read(long offset, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + path);
+            }
+        }
+        return buffer.flip();
+    }
+
+    static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
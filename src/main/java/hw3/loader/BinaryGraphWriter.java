@@ -0,0 +1,302 @@
+package hw3.loader;
+
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import hw3.graph.NodeLabels;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes graphs in the binary format read by {@link BinaryGraphLoader}, through one
+ * reusable direct buffer. The graph count in the file header is filled in on close.
+ * A graph that is not in memory can be written from an {@link EdgeList}; its adjacency
+ * sections are then filled through writable mappings of the output file.
+ * Running the class converts a JSON dataset:
+ * <pre>
+ * java hw3.loader.BinaryGraphWriter assign_3_input_large.json large.mstg
+ * </pre>
+ */
+public class BinaryGraphWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long written;          // bytes handed to the buffer so far, i.e. the file position
+    private int graphCount;
+    private long blockBytes;       // size of the graph being written
+
+    /**
+     * @param path Output file; replaced if it exists.
+     * @throws IOException If the file cannot be created.
+     */
+    public BinaryGraphWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        putInt(BinaryGraphLoader.MAGIC);
+        putInt(BinaryGraphLoader.VERSION);
+        putInt(0); // graph count, patched on close
+        putInt(0); // reserved
+    }
+
+    /**
+     * Converts a JSON dataset (a file path or classpath resource, optionally gzipped) into a binary file.
+     *
+     * @return number of graphs written
+     * @throws IOException If reading or writing fails.
+     */
+    public static int convert(String jsonFile, Path output) throws IOException {
+        try (InputStream in = GraphFiles.open(jsonFile);
+             StreamingGraphLoader loader = new StreamingGraphLoader(in);
+             BinaryGraphWriter writer = new BinaryGraphWriter(output)) {
+            LoadedGraph graph;
+            while ((graph = loader.next()) != null) {
+                writer.write(graph);
+            }
+            return writer.graphCount;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BinaryGraphWriter <input.json> <output" + BinaryGraphLoader.EXTENSION + ">");
+            System.exit(2);
+        }
+        int graphs = convert(args[0], Path.of(args[1]));
+        System.out.printf("Wrote %d graphs to %s (%d bytes)%n", graphs, args[1], Files.size(Path.of(args[1])));
+    }
+
+    public void write(LoadedGraph graph) throws IOException {
+        write(graph.id(), graph.graph(), graph.labels());
+    }
+
+    /**
+     * Appends one graph.
+     *
+     * @param id     Graph ID.
+     * @param graph  The graph; written with its edge ids and adjacency order unchanged.
+     * @param labels Labels of vertices 0..V-1.
+     * @throws IllegalArgumentException if labels and graph disagree on the vertex count
+     */
+    public void write(int id, CSRGraph graph, NodeLabels labels) throws IOException {
+        int V = graph.V(), E = graph.E();
+        long start = writeHeader(id, V, E, labels);
+
+        // CSR sections
+        for (int v = 0; v < V; v++) {
+            putInt(graph.begin(v));
+        }
+        putInt(2 * E);
+        pad();
+        for (int i = 0; i < 2 * E; i++) putInt(graph.target(i));
+        for (int i = 0; i < 2 * E; i++) putInt(graph.slotEdge(i));
+        for (int e = 0; e < E; e++) putInt(graph.from(e));
+        for (int e = 0; e < E; e++) putInt(graph.to(e));
+        pad();
+        for (int i = 0; i < 2 * E; i++) putDouble(graph.slotWeight(i));
+        for (int e = 0; e < E; e++) putDouble(graph.weight(e));
+
+        finishGraph(start);
+    }
+
+    /**
+     * Appends one graph from its edge list, with the same layout {@link CSRGraphBuilder} would
+     * give it, without holding the graph: the list is read once to count degrees and once to
+     * place every edge, so only O(V) offsets stay in the heap.
+     *
+     * @param id     Graph ID.
+     * @param V      Number of vertices; every endpoint must be below V.
+     * @param edges  The edges; edge ids are positions in the list.
+     * @param labels Labels of vertices 0..V-1.
+     * @throws IllegalArgumentException if an endpoint is out of range or labels and V disagree
+     */
+    public void write(int id, int V, EdgeList edges, NodeLabels labels) throws IOException {
+        int E = edges.size();
+        int[] offsets = new int[V + 1];
+        edges.forEach((v, w, weight) -> {
+            if (v < 0 || w < 0 || v >= V || w >= V) {
+                throw new IllegalArgumentException("Edge " + v + "-" + w + " references a vertex outside 0.." + (V - 1));
+            }
+            offsets[v + 1]++;
+            offsets[w + 1]++;
+        });
+        for (int v = 0; v < V; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        long start = writeHeader(id, V, E, labels);
+        for (int offset : offsets) {
+            putInt(offset);
+        }
+        pad();
+        flush();
+
+        // the remaining sections are filled in place, in edge order
+        long at = written;
+        ByteBuffer targets = map(at, 8L * E);
+        ByteBuffer edgeIds = map(at += 8L * E, 8L * E);
+        ByteBuffer edgeFrom = map(at += 8L * E, 4L * E);
+        ByteBuffer edgeTo = map(at += 4L * E, 4L * E);
+        ByteBuffer weights = map(at += 4L * E, 16L * E);
+        ByteBuffer edgeWeight = map(at += 16L * E, 8L * E);
+        int[] next = Arrays.copyOf(offsets, V);
+        int[] e = {0};
+        edges.forEach((v, w, weight) -> {
+            int i = next[v]++, j = next[w]++;
+            targets.putInt(4 * i, w).putInt(4 * j, v);
+            edgeIds.putInt(4 * i, e[0]).putInt(4 * j, e[0]);
+            weights.putDouble(8 * i, weight).putDouble(8 * j, weight);
+            edgeFrom.putInt(4 * e[0], v);
+            edgeTo.putInt(4 * e[0], w);
+            edgeWeight.putDouble(8 * e[0], weight);
+            e[0]++;
+        });
+        written = at + 8L * E;
+        channel.position(written);
+
+        finishGraph(start);
+    }
+
+    // graph header, label dictionary and padding; returns where the graph's block starts
+    private long writeHeader(int id, int V, int E, NodeLabels labels) throws IOException {
+        if (labels.size() != V) {
+            throw new IllegalArgumentException("Graph #" + id + " has " + V + " vertices but " + labels.size() + " labels");
+        }
+        byte[][] encoded = new byte[V][];
+        long labelBytes = 0;
+        for (int v = 0; v < V; v++) {
+            encoded[v] = labels.label(v).getBytes(StandardCharsets.UTF_8);
+            labelBytes += encoded[v].length;
+        }
+        if (labelBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Labels of graph #" + id + " exceed 2 GB");
+        }
+
+        long start = written;
+        blockBytes = BinaryGraphLoader.GRAPH_HEADER_BYTES
+                + BinaryGraphLoader.align(4L * (V + 1)) + BinaryGraphLoader.align(labelBytes)
+                + BinaryGraphLoader.align(4L * (V + 1)) + 24L * E + 24L * E;
+        putInt(id);
+        putInt(V);
+        putInt(E);
+        putInt(0); // reserved
+        putLong(labelBytes);
+        putLong(blockBytes);
+
+        // label dictionary
+        int offset = 0;
+        putInt(offset);
+        for (byte[] label : encoded) {
+            putInt(offset += label.length);
+        }
+        pad();
+        for (byte[] label : encoded) {
+            putBytes(label);
+        }
+        pad();
+        return start;
+    }
+
+    private void finishGraph(long start) {
+        if (written - start != blockBytes) {
+            throw new IllegalStateException("Wrote " + (written - start) + " bytes for a block of " + blockBytes);
+        }
+        graphCount++;
+    }
+
+    private ByteBuffer map(long offset, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Section of " + size + " bytes exceeds the 2 GB mapping limit");
+        }
+        return channel.map(FileChannel.MapMode.READ_WRITE, offset, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer count = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, graphCount);
+            channel.write(count, 8);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+        written += 4;
+    }
+
+    private void putLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+        written += 8;
+    }
+
+    private void putDouble(double value) throws IOException {
+        ensure(8);
+        buffer.putDouble(value);
+        written += 8;
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        for (int i = 0; i < bytes.length; ) {
+            ensure(1);
+            int n = Math.min(bytes.length - i, buffer.remaining());
+            buffer.put(bytes, i, n);
+            i += n;
+            written += n;
+        }
+    }
+
+    // zero bytes up to the next 8-byte boundary
+    private void pad() throws IOException {
+        while ((written & 7) != 0) {
+            ensure(1);
+            buffer.put((byte) 0);
+            written++;
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Edges of one graph that can be read more than once, e.g. from a file.
+     */
+    public interface EdgeList {
+        /**
+         * @return number of edges
+         */
+        int size();
+
+        /**
+         * Hands every edge to the visitor, in edge id order.
+         */
+        void forEach(EdgeVisitor visitor) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface EdgeVisitor {
+        void edge(int v, int w, double weight) throws IOException;
+    }
+}
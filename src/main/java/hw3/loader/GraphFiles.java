@@ -0,0 +1,102 @@
+package hw3.loader;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Resolves dataset names for the loaders. A name is first tried as a filesystem path and
+ * then as a classpath resource; files are read through a {@link FileChannel} behind a large
+ * buffer, and gzip input is recognised by its magic bytes and decompressed on the fly.
+ */
+public final class GraphFiles {
+    /** Read buffer for files on disk; large reads keep the parser fed from the page cache. */
+    public static final int BUFFER_SIZE = 1 << 20;
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+    private static final String[] EXTENSIONS = {".json", ".json.gz", BinaryGraphLoader.EXTENSION};
+
+    private GraphFiles() {
+    }
+
+    /**
+     * Opens a JSON dataset, compressed or not.
+     *
+     * @param filename Filesystem path or classpath resource name.
+     * @return Buffered stream of the decompressed content; the caller closes it.
+     * @throws IOException If the file does not exist or uses an unsupported compression.
+     */
+    public static InputStream open(String filename) throws IOException {
+        Path path = Path.of(filename);
+        InputStream raw;
+        if (Files.isRegularFile(path)) {
+            raw = Channels.newInputStream(FileChannel.open(path, StandardOpenOption.READ));
+        } else {
+            raw = GraphFiles.class.getClassLoader().getResourceAsStream(filename);
+            if (raw == null) {
+                throw new IOException("File not found: " + filename);
+            }
+        }
+        try {
+            return decompress(new BufferedInputStream(raw, BUFFER_SIZE), filename);
+        } catch (IOException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Expands a directory into the graph files directly inside it (.json, .json.gz and
+     * {@value BinaryGraphLoader#EXTENSION}), sorted by name; any other name is returned as is.
+     *
+     * @param filename Directory, file path or classpath resource name.
+     * @return The dataset files.
+     * @throws IOException If the directory cannot be listed or holds no graph files.
+     */
+    public static List<String> expand(String filename) throws IOException {
+        Path path = Path.of(filename);
+        if (!Files.isDirectory(path)) {
+            return List.of(filename);
+        }
+        List<String> files = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(path)) {
+            entries.filter(Files::isRegularFile)
+                    .filter(file -> isGraphFile(file.getFileName().toString()))
+                    .sorted()
+                    .forEach(file -> files.add(file.toString()));
+        }
+        if (files.isEmpty()) {
+            throw new IOException("No graph files in directory " + filename);
+        }
+        return files;
+    }
+
+    private static boolean isGraphFile(String name) {
+        for (String extension : EXTENSIONS) {
+            if (name.endsWith(extension)) return true;
+        }
+        return false;
+    }
+
+    // looks at the first bytes, so compressed files need no particular extension
+    private static InputStream decompress(BufferedInputStream in, String filename) throws IOException {
+        in.mark(4);
+        int b0 = in.read(), b1 = in.read(), b2 = in.read(), b3 = in.read();
+        in.reset();
+        if (b0 == 0x1F && b1 == 0x8B) {
+            return new GZIPInputStream(in, GZIP_BUFFER_SIZE);
+        }
+        if (b0 == 0x28 && b1 == 0xB5 && b2 == 0x2F && b3 == 0xFD) {
+            throw new IOException(filename + " is zstd-compressed; recompress it with gzip or decompress it first");
+        }
+        return in;
+    }
+}
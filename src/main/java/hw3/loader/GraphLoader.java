@@ -4,17 +4,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.princeton.cs.algorithms.Edge;
 import edu.princeton.cs.algorithms.EdgeWeightedGraph;
 import hw3.dto.*;
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import hw3.graph.EuclideanGraph;
+import hw3.graph.NodeLabels;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 /**
  * Loads graph data from JSON files into EdgeWeightedGraph objects.
+ * Vertex labels are returned with each loaded graph, never kept in shared state,
+ * so datasets with overlapping graph IDs can be loaded side by side or concurrently.
  */
 public class GraphLoader {
-    private static final Map<Integer, Map<Integer, String>> graphIdToIndexMap = new HashMap<>();
     /**
      * Loads multiple graphs from a JSON file.
      *
@@ -33,6 +37,24 @@ public class GraphLoader {
         return graphs;
     }
 
+    /**
+     * Loads multiple graphs from a JSON file into compact CSR form, each with its own labels.
+     *
+     * @param filename Name of the JSON file.
+     * @return Map of graph IDs to loaded graphs.
+     * @throws IOException If file loading fails.
+     */
+    public static Map<Integer, LoadedGraph> loadDataset(String filename) throws IOException {
+        MultipleGraphData data = readJSON(filename);
+        Map<Integer, LoadedGraph> graphs = new HashMap<>();
+
+        for (GraphData graphData : data.graphs) {
+            graphs.put(graphData.id, toLoadedGraph(graphData));
+        }
+
+        return graphs;
+    }
+
     public static EdgeWeightedGraph loadSingleGraph(String filename) throws IOException {
         MultipleGraphData data = readJSON(filename);
         if (data.graphs.length == 0) {
@@ -41,38 +63,35 @@ public class GraphLoader {
         return buildGraph(data.graphs[0]);
     }
     /**
-     * Reads JSON data from a file.
+     * Reads JSON data from a file on disk or on the classpath, see {@link GraphFiles#open}.
      *
-     * @param filename Name of the JSON file.
+     * @param filename Path or resource name of the JSON file.
      * @return MultipleGraphData object.
      * @throws IOException If file reading fails.
      */
     private static MultipleGraphData readJSON(String filename) throws IOException {
         ObjectMapper mapper = new ObjectMapper();
 
-        try (InputStream inputStream = GraphLoader.class.getClassLoader().getResourceAsStream(filename)) {
-            if (inputStream == null) {
-                throw new IOException("File not found: " + filename);
-            }
-
+        try (InputStream inputStream = GraphFiles.open(filename)) {
             return mapper.readValue(inputStream, MultipleGraphData.class);
         }
     }
-
     private static EdgeWeightedGraph buildGraph(GraphData graphData) {
-        Map<String, Integer> nodeToIndex = new HashMap<>();
-        Map<Integer, String> indexToNode = new HashMap<>();
-        for (int i = 0; i < graphData.nodes.size(); i++) {
-            nodeToIndex.put(graphData.nodes.get(i), i);
-            indexToNode.put(i, graphData.nodes.get(i));
-        }
-        graphIdToIndexMap.put(graphData.id, indexToNode); // Сохраняем маппинг для каждого графа
+        NodeLabels labels = NodeLabels.of(graphData.nodes);
 
         EdgeWeightedGraph graph = new EdgeWeightedGraph(graphData.nodes.size());
 
+        if (graphData.coordinates != null) {
+            CSRGraph euclidean = euclideanGraph(graphData, labels);
+            for (int e = 0; e < euclidean.E(); e++) {
+                graph.addEdge(euclidean.toEdge(e));
+            }
+            System.out.printf("Loaded graph #%d: %d vertices, %d edges%n", graphData.id, graph.V(), graph.E());
+            return graph;
+        }
         for (EdgeData edgeData : graphData.edges) {
-            int v = nodeToIndex.get(edgeData.from);
-            int w = nodeToIndex.get(edgeData.to);
+            int v = indexOf(labels, edgeData.from, graphData.id);
+            int w = indexOf(labels, edgeData.to, graphData.id);
             double cost = edgeData.weight;
             Edge edge = new Edge(v, w, cost);
             graph.addEdge(edge);
@@ -82,12 +101,66 @@ public class GraphLoader {
         return graph;
     }
     /**
-     * Retrieves the index-to-node mapping for a given graph ID.
+     * Builds a CSR graph straight from the DTO, without intermediate Edge objects.
+     *
+     * @param graphData Graph DTO read from JSON.
+     * @return Loaded graph with one edge id per JSON edge, in input order, and its labels.
+     *         The whole file is parsed up front, so only the build time is recorded;
+     *         for a graph given by coordinates it includes the triangulation.
+     */
+    public static LoadedGraph toLoadedGraph(GraphData graphData) {
+        long start = System.nanoTime();
+        NodeLabels labels = NodeLabels.of(graphData.nodes);
+
+        CSRGraph graph;
+        if (graphData.coordinates != null) {
+            graph = euclideanGraph(graphData, labels);
+        } else {
+            CSRGraphBuilder builder = new CSRGraphBuilder(graphData.edges.size());
+            for (EdgeData edgeData : graphData.edges) {
+                builder.addEdge(indexOf(labels, edgeData.from, graphData.id),
+                        indexOf(labels, edgeData.to, graphData.id), edgeData.weight);
+            }
+            graph = builder.build(labels.size());
+        }
+
+        System.out.printf("Loaded graph #%d: %d vertices, %d edges%n", graphData.id, graph.V(), graph.E());
+        return new LoadedGraph(graphData.id, graph, labels, 0, System.nanoTime() - start);
+    }
+
+    /**
+     * Builds the Delaunay graph of a graph given by node coordinates, see {@link EuclideanGraph}.
      *
-     * @param graphId ID of the graph.
-     * @return Map of indices to node labels.
+     * @param graphData Graph DTO with one [x, y] pair per node and no edges.
+     * @param labels    Labels of the graph's nodes.
+     * @return Graph whose edges are weighted by Euclidean distance.
      */
-    public static Map<Integer, String> getIndexToNode(int graphId) {
-        return graphIdToIndexMap.get(graphId);
+    private static CSRGraph euclideanGraph(GraphData graphData, NodeLabels labels) {
+        if (graphData.edges != null && !graphData.edges.isEmpty()) {
+            throw new IllegalArgumentException("Graph #" + graphData.id + " has both edges and coordinates");
+        }
+        if (graphData.coordinates.size() != labels.size()) {
+            throw new IllegalArgumentException("Graph #" + graphData.id + " has " + labels.size()
+                    + " nodes but " + graphData.coordinates.size() + " coordinates");
+        }
+        double[] coords = new double[2 * labels.size()];
+        for (int v = 0; v < labels.size(); v++) {
+            double[] point = graphData.coordinates.get(v);
+            if (point == null || point.length != 2) {
+                throw new IllegalArgumentException("Coordinates of node " + labels.label(v)
+                        + " in graph #" + graphData.id + " are not an [x, y] pair");
+            }
+            coords[2 * v] = point[0];
+            coords[2 * v + 1] = point[1];
+        }
+        return EuclideanGraph.delaunay(coords);
+    }
+
+    private static int indexOf(NodeLabels labels, String node, int graphId) {
+        int index = labels.indexOf(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown node " + node + " in graph #" + graphId);
+        }
+        return index;
     }
 }
@@ -0,0 +1,37 @@
+package hw3.loader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Produces the graphs of one dataset, one at a time.
+ */
+public interface GraphSource extends Closeable {
+    /**
+     * @return the next graph, or null when the dataset is exhausted.
+     * @throws IOException If reading fails.
+     */
+    LoadedGraph next() throws IOException;
+
+    /**
+     * Opens a dataset by name: files ending in {@value BinaryGraphLoader#EXTENSION} are mapped
+     * with {@link BinaryGraphLoader}, anything else is parsed as JSON by {@link StreamingGraphLoader}.
+     * A directory is read as one dataset, its files loaded in parallel by {@link ParallelGraphSource}.
+     *
+     * @param filename Path, directory or classpath resource name of the dataset.
+     * @return Source positioned before the first graph.
+     * @throws IOException If the file cannot be opened.
+     */
+    static GraphSource open(String filename) throws IOException {
+        List<String> files = GraphFiles.expand(filename);
+        if (files.size() > 1 || !files.get(0).equals(filename)) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            return new ParallelGraphSource(files, cores, cores);
+        }
+        if (filename.endsWith(BinaryGraphLoader.EXTENSION)) {
+            return BinaryGraphLoader.open(filename);
+        }
+        return StreamingGraphLoader.open(filename);
+    }
+}
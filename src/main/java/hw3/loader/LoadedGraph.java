@@ -0,0 +1,22 @@
+package hw3.loader;
+
+import hw3.graph.CSRGraph;
+import hw3.graph.NodeLabels;
+
+/**
+ * One graph produced by a loader, together with the labels of its vertices.
+ *
+ * @param id         Graph ID from the input file.
+ * @param graph      Graph in CSR form.
+ * @param labels     Vertex index to node label dictionary for this graph.
+ * @param loadNanos  Time spent parsing this graph, or 0 if the loader parses whole files at once.
+ * @param buildNanos Time spent packing the parsed edges into CSR form.
+ */
+public record LoadedGraph(int id, CSRGraph graph, NodeLabels labels, long loadNanos, long buildNanos) {
+    /**
+     * A graph whose loading was not timed.
+     */
+    public LoadedGraph(int id, CSRGraph graph, NodeLabels labels) {
+        this(id, graph, labels, 0, 0);
+    }
+}
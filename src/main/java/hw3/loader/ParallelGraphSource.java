@@ -0,0 +1,117 @@
+package hw3.loader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reads several dataset files at once, one worker per file up to a parallelism limit,
+ * and hands out their graphs in the order they finish parsing. A bounded queue sits
+ * between the workers and {@link #next()}, so workers stall once that many graphs
+ * are waiting. Every file numbers its graphs on its own, so IDs are made file-scoped:
+ * a graph of the i-th file (from 0) gets ID {@code i * FILE_ID_STRIDE + id}, and the
+ * graphs of the first file keep the IDs they have.
+ */
+public class ParallelGraphSource implements GraphSource {
+    /** ID range reserved for the graphs of each file. */
+    public static final int FILE_ID_STRIDE = 1_000_000;
+    private static final Object DONE = new Object();   // one per finished file
+
+    private final ExecutorService executor;
+    private final BlockingQueue<Object> queue;
+    private final int files;
+    private int finished;
+
+    /**
+     * @param filenames   Files to read, each opened with {@link GraphSource#open}.
+     * @param parallelism Maximum number of files parsed at the same time.
+     * @param capacity    Maximum number of parsed graphs waiting to be taken.
+     */
+    public ParallelGraphSource(List<String> filenames, int parallelism, int capacity) {
+        if (parallelism < 1 || capacity < 1) {
+            throw new IllegalArgumentException("parallelism and capacity must be at least 1");
+        }
+        if (filenames.size() > Integer.MAX_VALUE / FILE_ID_STRIDE) {
+            throw new IllegalArgumentException("At most " + Integer.MAX_VALUE / FILE_ID_STRIDE + " files can be read at once");
+        }
+        this.files = filenames.size();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, files)), task -> {
+            Thread thread = new Thread(task, "graph-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < files; i++) {
+            String filename = filenames.get(i);
+            int offset = i * FILE_ID_STRIDE;
+            executor.execute(() -> load(filename, offset));
+        }
+    }
+
+    // runs on a worker: every graph of the file, then DONE or the failure; anything thrown,
+    // Errors included, must reach the queue or next() waits for this file forever
+    private void load(String filename, int offset) {
+        try {
+            try (GraphSource source = GraphSource.open(filename)) {
+                LoadedGraph graph;
+                while ((graph = source.next()) != null) {
+                    queue.put(scoped(graph, offset, filename));
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable e) {
+                queue.put(new IOException("Failed to load " + filename + ": " + e.getMessage(), e));
+                return;
+            }
+            queue.put(DONE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // closed while waiting for room
+        }
+    }
+
+    private static LoadedGraph scoped(LoadedGraph graph, int offset, String filename) throws IOException {
+        if (graph.id() < 0 || graph.id() >= FILE_ID_STRIDE) {
+            throw new IOException("Graph id " + graph.id() + " in " + filename + " is outside [0, " + FILE_ID_STRIDE + ")");
+        }
+        if (offset == 0) return graph;
+        return new LoadedGraph(offset + graph.id(), graph.graph(), graph.labels(), graph.loadNanos(), graph.buildNanos());
+    }
+
+    /**
+     * @return the next parsed graph from any file, or null once every file is exhausted.
+     * @throws IOException If a file failed to load.
+     */
+    @Override
+    public LoadedGraph next() throws IOException {
+        while (finished < files) {
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a graph");
+            }
+            if (item == DONE) {
+                finished++;
+            } else if (item instanceof IOException failure) {
+                finished = files;
+                throw failure;
+            } else {
+                return (LoadedGraph) item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stops the workers; files not yet read are abandoned.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,245 @@
+package hw3.loader;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import hw3.graph.EuclideanGraph;
+import hw3.graph.HashNodeLabels;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Pull-based loader that parses the {"graphs": [...]} schema one graph at a time
+ * with Jackson's streaming parser. Edges go straight into a {@link CSRGraphBuilder}
+ * and labels are interned into {@link HashNodeLabels}, so no DTOs are materialized and
+ * only the graph currently returned by {@link #next()} is held by the loader.
+ * A graph with a "coordinates" array instead of edges is loaded as the Delaunay
+ * graph of its points, see {@link EuclideanGraph}. Node labels are checked like
+ * {@link GraphLoader} checks them, but a bad label is reported as an IOException with its
+ * location; as endpoints are looked up while streaming, a graph's "nodes" must come before its "edges".
+ */
+public class StreamingGraphLoader implements GraphSource {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private boolean inGraphs;
+    private boolean finished;
+
+    /**
+     * @param inputStream JSON input; closed together with this loader.
+     */
+    public StreamingGraphLoader(InputStream inputStream) throws IOException {
+        this.parser = JSON_FACTORY.createParser(inputStream);
+    }
+
+    /**
+     * Opens a JSON file, gzip-compressed or not, resolved by {@link GraphFiles#open}.
+     *
+     * @param filename Path or classpath resource name of the JSON file.
+     * @return Loader positioned before the first graph.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static StreamingGraphLoader open(String filename) throws IOException {
+        return new StreamingGraphLoader(GraphFiles.open(filename));
+    }
+
+    /**
+     * Parses every graph in a file and hands each one to the consumer before
+     * the next is read, so a caller that drops its reference keeps one graph resident.
+     *
+     * @param filename Name of the JSON file.
+     * @param consumer Callback invoked once per graph, in file order.
+     * @throws IOException If reading or parsing fails.
+     */
+    public static void forEachGraph(String filename, GraphConsumer consumer) throws IOException {
+        try (StreamingGraphLoader loader = open(filename)) {
+            LoadedGraph graph;
+            while ((graph = loader.next()) != null) {
+                consumer.accept(graph);
+            }
+        }
+    }
+
+    /**
+     * Parses the next graph.
+     *
+     * @return the next graph, or null when the input is exhausted.
+     * @throws IOException If the JSON is malformed, a node label repeats or an edge names an unknown node.
+     */
+    @Override
+    public LoadedGraph next() throws IOException {
+        if (finished) return null;
+        if (!inGraphs && !seekGraphsArray()) {
+            finished = true;
+            return null;
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            finished = true;
+            return null;
+        }
+        expect(token, JsonToken.START_OBJECT);
+        return readGraph();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    // advances to the start of the top-level "graphs" array, skipping other fields
+    private boolean seekGraphsArray() throws IOException {
+        if (parser.currentToken() == null) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("graphs".equals(field)) {
+                expect(value, JsonToken.START_ARRAY);
+                inGraphs = true;
+                return true;
+            }
+            parser.skipChildren();
+        }
+        expect(token, JsonToken.END_OBJECT);
+        return false;
+    }
+
+    private LoadedGraph readGraph() throws IOException {
+        long start = System.nanoTime();
+        int id = 0;
+        HashNodeLabels labels = new HashNodeLabels();
+        CSRGraphBuilder builder = new CSRGraphBuilder();
+        double[] coords = null;            // x, y of node i at [2i, 2i + 1]
+        int points = 0;
+        boolean nodes = false;             // edge endpoints are looked up, so nodes come first
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getIntValue();
+                case "nodes" -> {
+                    expect(value, JsonToken.START_ARRAY);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        addNode(labels);
+                    }
+                    nodes = true;
+                }
+                case "edges" -> {
+                    expect(value, JsonToken.START_ARRAY);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (!nodes) {
+                            throw new IOException("Graph #" + id + " lists edges before nodes at " + parser.currentLocation());
+                        }
+                        readEdge(id, labels, builder);
+                    }
+                }
+                case "coordinates" -> {
+                    expect(value, JsonToken.START_ARRAY);
+                    coords = new double[64];
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (2 * points == coords.length) coords = Arrays.copyOf(coords, 2 * coords.length);
+                        readPoint(coords, points++);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        long parsed = System.nanoTime();
+        CSRGraph graph;
+        if (coords != null) {
+            if (builder.edgeCount() > 0) {
+                throw new IOException("Graph #" + id + " has both edges and coordinates");
+            }
+            if (points != labels.size()) {
+                throw new IOException("Graph #" + id + " has " + labels.size() + " nodes but " + points + " coordinates");
+            }
+            try {
+                graph = EuclideanGraph.delaunay(Arrays.copyOf(coords, 2 * points));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Graph #" + id + ": " + e.getMessage(), e);
+            }
+        } else {
+            graph = builder.build(labels.size());
+        }
+        long built = System.nanoTime();
+        System.out.printf("Loaded graph #%d: %d vertices, %d edges%n", id, graph.V(), graph.E());
+        return new LoadedGraph(id, graph, labels, parsed - start, built - parsed);
+    }
+
+    private void readEdge(int graphId, HashNodeLabels labels, CSRGraphBuilder builder) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        int from = -1, to = -1;
+        double weight = 0.0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "from" -> from = indexOf(labels, graphId);
+                case "to" -> to = indexOf(labels, graphId);
+                case "weight" -> weight = parser.getDoubleValue();
+                default -> parser.skipChildren();
+            }
+        }
+        if (from < 0 || to < 0) {
+            throw new IOException("Edge without endpoints at " + parser.currentLocation());
+        }
+        builder.addEdge(from, to, weight);
+    }
+
+    // reads an [x, y] pair into slot i of coords
+    private void readPoint(double[] coords, int i) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        for (int k = 0; k < 2; k++) {
+            JsonToken token = parser.nextToken();
+            if (!token.isNumeric()) {
+                throw new IOException("Expected coordinate but found " + token + " at " + parser.currentLocation());
+            }
+            coords[2 * i + k] = parser.getDoubleValue();
+        }
+        expect(parser.nextToken(), JsonToken.END_ARRAY);
+    }
+
+    // interns the current string token as the next vertex
+    private void addNode(HashNodeLabels labels) throws IOException {
+        expect(parser.currentToken(), JsonToken.VALUE_STRING);
+        int before = labels.size();
+        if (labels.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()) != before) {
+            throw new IOException("Duplicate node label: " + parser.getText() + " at " + parser.currentLocation());
+        }
+    }
+
+    // looks up the current string token without allocating a String
+    private int indexOf(HashNodeLabels labels, int graphId) throws IOException {
+        expect(parser.currentToken(), JsonToken.VALUE_STRING);
+        int index = labels.indexOf(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        if (index < 0) {
+            throw new IOException("Unknown node " + parser.getText() + " in graph #" + graphId + " at " + parser.currentLocation());
+        }
+        return index;
+    }
+
+    private void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at " + parser.currentLocation());
+        }
+    }
+
+    /**
+     * Receives graphs from {@link #forEachGraph(String, GraphConsumer)}.
+     */
+    @FunctionalInterface
+    public interface GraphConsumer {
+        void accept(LoadedGraph graph) throws IOException;
+    }
+}
@@ -1,25 +1,24 @@
 package hw3.printer;
 
-import edu.princeton.cs.algorithms.EdgeWeightedGraph;
-import hw3.algorithms.Kruskal;
-import hw3.algorithms.Prim;
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.solver.MSTAlgorithm;
+import hw3.utils.ComponentStats;
 import hw3.utils.Metrics;
+import hw3.utils.Phase;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 /**
- * Prints detailed MST results for Prim and Kruskal algorithms.
+ * Prints detailed MST results for Prim, Kruskal and any other selected algorithms.
  */
 public class ResultsPrinter {
-    private final Map<Integer, EdgeWeightedGraph> graphs;
-    private final Map<Integer, Prim> primMSTs;
-    private final Map<Integer, Kruskal> kruskalMSTs;
+    private final Map<MSTAlgorithm, ? extends Map<Integer, ? extends MinimumSpanningTree>> msts;
 
-    public ResultsPrinter(Map<Integer, EdgeWeightedGraph> graphs,
-                          Map<Integer, Prim> primMSTs,
-                          Map<Integer, Kruskal> kruskalMSTs) {
-        this.graphs = graphs;
-        this.primMSTs = primMSTs;
-        this.kruskalMSTs = kruskalMSTs;
+    public ResultsPrinter(Map<MSTAlgorithm, ? extends Map<Integer, ? extends MinimumSpanningTree>> msts) {
+        this.msts = msts;
     }
     /**
      * Prints detailed MST results for all graphs.
@@ -28,39 +27,52 @@ public class ResultsPrinter {
         System.out.println("\nDETAILED MST RESULTS");
         System.out.println("=".repeat(60));
 
-        for (int graphId : graphs.keySet().stream().sorted().toList()) {
-            Prim prim = primMSTs.get(graphId);
-            Kruskal kruskal = kruskalMSTs.get(graphId);
+        for (int graphId : msts.values().iterator().next().keySet().stream().sorted().toList()) {
+            List<Metrics> metrics = msts.values().stream()
+                    .map(results -> results.get(graphId).getMetrics())
+                    .toList();
 
             System.out.printf("\nGraph ID: %d%n", graphId);
-            System.out.printf("Vertices: %d | Edges: %d%n", graphs.get(graphId).V(), graphs.get(graphId).E());
+            System.out.printf("Vertices: %d | Edges: %d%n",
+                    metrics.get(0).getGraphV(), metrics.get(0).getGraphE());
             System.out.println("-".repeat(60));
 
-            System.out.println("Prim MST:");
-            printMST(prim);
-            System.out.println();
+            for (Metrics m : metrics) {
+                System.out.println(m.getAlgorithmName() + " MST:");
+                printMST(m);
+                System.out.println();
+            }
 
-            System.out.println("Kruskal MST:");
-            printMST(kruskal);
-            System.out.println();
-
-            printComparison(prim.getMetrics(), kruskal.getMetrics());
+            printComparison(metrics);
             System.out.println("=".repeat(60));
         }
     }
     /**
      * Prints MST details for a given algorithm.
      *
-     * @param mstObj Prim or Kruskal object.
+     * @param metrics Metrics of Prim, Kruskal or any other MST algorithm.
      */
-    private void printMST(Object mstObj) {
-        Metrics metrics = (mstObj instanceof Prim)
-                ? ((Prim) mstObj).getMetrics()
-                : ((Kruskal) mstObj).getMetrics();
-
+    private void printMST(Metrics metrics) {
         System.out.printf("  Total cost: %.2f%n", metrics.getMstWeight());
         System.out.printf("  Operations: %d%n", metrics.getOperationCount());
-        System.out.printf("  Execution time: %d ms%n", metrics.getExecutionTimeMs());
+        System.out.printf("  Execution time: %.3f ms%n", metrics.getExecutionTimeMs());
+        String phases = Arrays.stream(Phase.values())
+                .filter(phase -> metrics.getPhaseNanos(phase) > 0)
+                .map(phase -> String.format("%s %.3f ms", phase.getKey(), metrics.getPhaseNanos(phase) / 1_000_000.0))
+                .collect(Collectors.joining(", "));
+        if (!phases.isEmpty()) {
+            System.out.println("  Phases: " + phases);
+        }
+        if (!metrics.getComponents().isEmpty()) {
+            ComponentStats largest = metrics.getComponents().stream()
+                    .max(Comparator.comparingInt(ComponentStats::edges)).orElseThrow();
+            System.out.printf("  Components: %d (largest: %d vertices, %d edges, %.3f ms)%n",
+                    metrics.getComponents().size(), largest.vertices(), largest.edges(), largest.nanos() / 1_000_000.0);
+        }
+        if (metrics.getMergePasses() > 0) {
+            System.out.printf("  Spilled: %.1f MB in %d merge pass(es)%n",
+                    metrics.getSpillBytes() / (1024.0 * 1024.0), metrics.getMergePasses());
+        }
         System.out.println("  Edges:");
 
         metrics.getMstEdges().forEach(e -> {
@@ -70,21 +82,21 @@ public class ResultsPrinter {
         });
     }
     /**
-     * Prints a comparison of Prim and Kruskal metrics.
+     * Prints a comparison of the algorithms' metrics.
      *
-     * @param prim    Metrics for Prim algorithm.
-     * @param kruskal Metrics for Kruskal algorithm.
+     * @param metrics Metrics of every algorithm run on the graph.
      */
-    private void printComparison(Metrics prim, Metrics kruskal) {
+    private void printComparison(List<Metrics> metrics) {
         System.out.println("\nComparison:");
         System.out.println("----------");
+        double cost = metrics.get(0).getMstWeight();
         System.out.printf("Cost Match: %s%n",
-                Math.abs(prim.getMstWeight() - kruskal.getMstWeight()) < 1e-12 ? "YES" : "NO");
+                metrics.stream().allMatch(m -> Math.abs(m.getMstWeight() - cost) < 1e-12) ? "YES" : "NO");
 
-        System.out.printf("Faster: %s (%d ms vs %d ms)%n",
-                prim.getExecutionTimeMs() < kruskal.getExecutionTimeMs() ? "Prim" : "Kruskal",
-                prim.getExecutionTimeMs(),
-                kruskal.getExecutionTimeMs()
+        Metrics fastest = metrics.stream().min(Comparator.comparingLong(Metrics::getExecutionTimeNanos)).orElseThrow();
+        System.out.printf("Faster: %s (%s)%n",
+                fastest.getAlgorithmName(),
+                String.join(" vs ", metrics.stream().map(m -> String.format("%.3f ms", m.getExecutionTimeMs())).toList())
         );
     }
 }
@@ -0,0 +1,72 @@
+package hw3.server;
+
+import hw3.loader.LoadedGraph;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of parsed request payloads, keyed by the SHA-256 of the request body, so a
+ * payload sent again skips parsing and CSR building. Its size is bounded by the total number
+ * of graph edges held. Cached graphs are only read by the solvers, so concurrent requests share them.
+ */
+public class GraphCache {
+    private final long maxEdges;
+    private final LinkedHashMap<String, List<LoadedGraph>> entries = new LinkedHashMap<>(16, 0.75f, true); // LRU first
+    private long totalEdges;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEdges Maximum number of graph edges held over all payloads.
+     */
+    public GraphCache(long maxEdges) {
+        if (maxEdges < 1) {
+            throw new IllegalArgumentException("maxEdges must be positive");
+        }
+        this.maxEdges = maxEdges;
+    }
+
+    /**
+     * @param key SHA-256 of the payload, in hex.
+     * @return the graphs of the payload, or null on a miss
+     */
+    public List<LoadedGraph> get(String key) {
+        List<LoadedGraph> graphs;
+        synchronized (this) {
+            graphs = entries.get(key);
+        }
+        (graphs == null ? misses : hits).increment();
+        return graphs;
+    }
+
+    /**
+     * Stores the graphs of a payload, then evicts least recently used payloads until the cache fits.
+     */
+    public void put(String key, List<LoadedGraph> graphs) {
+        List<LoadedGraph> copy = List.copyOf(graphs);
+        synchronized (this) {
+            List<LoadedGraph> previous = entries.put(key, copy);
+            totalEdges += edges(copy) - (previous == null ? 0 : edges(previous));
+            Iterator<List<LoadedGraph>> lru = entries.values().iterator();
+            while (totalEdges > maxEdges && lru.hasNext()) {
+                totalEdges -= edges(lru.next());
+                lru.remove();
+            }
+        }
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public synchronized int size() { return entries.size(); }
+    public synchronized long edgeCount() { return totalEdges; }
+    public long getMaxEdges() { return maxEdges; }
+
+    private static long edges(List<LoadedGraph> graphs) {
+        long edges = 0;
+        for (LoadedGraph graph : graphs) edges += graph.graph().E();
+        return edges;
+    }
+}
@@ -0,0 +1,56 @@
+package hw3.server;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the most recent requests in a ring buffer and reports percentiles
+ * over them, so the figures follow the current load instead of the whole uptime.
+ * Methods may be called from several threads.
+ */
+public class LatencyRecorder {
+    private final long[] samples;       // nanoseconds, ring buffer
+    private long count;                 // requests recorded since start
+    private long max;                   // slowest request since start
+
+    /**
+     * @param window Number of most recent requests the percentiles are computed over.
+     */
+    public LatencyRecorder(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.samples = new long[window];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[(int) (count % samples.length)] = nanos;
+        count++;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * @return the latencies currently in the window, sorted ascending
+     */
+    public synchronized long[] snapshot() {
+        long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted snapshot.
+     *
+     * @param sorted     Result of {@link #snapshot()}.
+     * @param percentile Between 0 and 100.
+     * @return the latency in nanoseconds, 0 if no request was recorded
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    public synchronized long getCount() { return count; }
+    public synchronized long getMax() { return max; }
+    public int getWindow() { return samples.length; }
+}
@@ -0,0 +1,256 @@
+package hw3.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.exporter.JSONResultWriter;
+import hw3.loader.GraphSource;
+import hw3.loader.LoadedGraph;
+import hw3.loader.StreamingGraphLoader;
+import hw3.solver.DatasetResult;
+import hw3.solver.MSTAlgorithm;
+import hw3.solver.MemoryResultCache;
+import hw3.solver.ParallelDatasetRunner;
+import hw3.solver.ResultStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long-running solver service on the JDK's {@link HttpServer}, so repeated requests skip JVM
+ * start-up and run on warm, JIT-compiled code. Every exchange is handled on a virtual thread;
+ * the graphs themselves are solved on the runner's executor.
+ * <ul>
+ *   <li>{@code POST /solve} takes a dataset in the input schema ({"graphs": [...]}) and answers
+ *       with the results.json schema, graphs in ID order.</li>
+ *   <li>{@code GET /stats} reports request latency percentiles and cache hit counts.</li>
+ * </ul>
+ * Two caches stay warm between requests: a {@link GraphCache} of parsed payloads, keyed by the
+ * bytes of the request body, and a {@link MemoryResultCache} of results, keyed by graph content,
+ * in front of whatever store the runner already had.
+ * <p>
+ * The JDK server leaves Nagle's algorithm on unless the JVM-wide system property
+ * {@code sun.net.httpserver.nodelay} is true before the first server is created; without it, every
+ * keep-alive response waits ~40 ms for the client's delayed ACK. The server does not set it itself,
+ * since it applies to every {@link HttpServer} in the JVM; {@code --serve} does.
+ */
+public class MSTServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8080;
+    /** Graph edges, and tree edges, kept warm by default. */
+    public static final long DEFAULT_WARM_EDGES = 1 << 22;
+    /** Requests the latency percentiles are computed over. */
+    public static final int LATENCY_WINDOW = 4096;
+    /** Largest request body accepted; larger ones are answered with 413. */
+    public static final int MAX_BODY_BYTES = 64 << 20;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ParallelDatasetRunner runner;
+    private final GraphCache graphs;
+    private final MemoryResultCache results;
+    private final LatencyRecorder latencies = new LatencyRecorder(LATENCY_WINDOW);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Binds the server; call {@link #start()} to accept requests. The runner's result store
+     * is wrapped in a {@link MemoryResultCache}; the runner stays owned by the caller.
+     *
+     * @param address    Address to listen on.
+     * @param runner     Runner that solves the graphs of every request.
+     * @param warmEdges  Edges each cache may hold: graph edges in the graph cache, tree edges in the result cache.
+     * @throws IOException If the address cannot be bound.
+     */
+    public MSTServer(InetSocketAddress address, ParallelDatasetRunner runner, long warmEdges) throws IOException {
+        this.runner = runner;
+        this.graphs = new GraphCache(warmEdges);
+        this.results = new MemoryResultCache(warmEdges, runner.getCache());
+        runner.setCache(results);
+
+        server = HttpServer.create(address, 0);
+        server.setExecutor(handlers);
+        server.createContext("/solve", this::solve);
+        server.createContext("/stats", this::stats);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return the bound address, with the actual port if port 0 was requested
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public GraphCache getGraphCache() { return graphs; }
+    public MemoryResultCache getResultCache() { return results; }
+    public LatencyRecorder getLatencies() { return latencies; }
+
+    /**
+     * Stops accepting requests and waits for the ones in progress.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.close();
+    }
+
+    private void solve(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use POST with a {\"graphs\": [...]} body");
+                return;
+            }
+            byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                sendError(exchange, 413, "Request body is larger than " + MAX_BODY_BYTES + " bytes");
+                return;
+            }
+
+            List<LoadedGraph> loaded;
+            DatasetResult result;
+            try {
+                loaded = load(body);
+                result = runner.run(source(loaded));
+            } catch (IOException | IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                sendError(exchange, 500, e.getMessage());
+                return;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JSONResultWriter writer = new JSONResultWriter(out)) {
+                Map<MSTAlgorithm, MinimumSpanningTree> entry = new EnumMap<>(MSTAlgorithm.class);
+                for (int graphId : result.labels().keySet()) {
+                    result.msts().forEach((algorithm, msts) -> entry.put(algorithm, msts.get(graphId)));
+                    writer.accept(graphId, result.labels().get(graphId), entry);
+                }
+            }
+            send(exchange, 200, out.toByteArray());
+        } finally {
+            latencies.record(System.nanoTime() - start);
+        }
+    }
+
+    // parsed graphs of the payload, from the graph cache when the same bytes were sent before
+    private List<LoadedGraph> load(byte[] body) throws IOException {
+        String key = sha256(body);
+        List<LoadedGraph> cached = graphs.get(key);
+        if (cached != null) return cached;     // nothing was parsed or built for this request
+
+        List<LoadedGraph> loaded = new ArrayList<>();
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(new ByteArrayInputStream(body))) {
+            LoadedGraph graph;
+            while ((graph = loader.next()) != null) {
+                loaded.add(graph);
+            }
+        }
+        graphs.put(key, loaded);
+        return loaded;
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+            long[] sorted = latencies.snapshot();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonGenerator json = JSON_FACTORY.createGenerator(out).useDefaultPrettyPrinter()) {
+                json.writeStartObject();
+                json.writeNumberField("requests", latencies.getCount());
+                json.writeNumberField("errors", errors.sum());
+
+                json.writeObjectFieldStart("latency_ms");
+                json.writeNumberField("window", sorted.length);
+                json.writeNumberField("p50", LatencyRecorder.percentile(sorted, 50) / 1_000_000.0);
+                json.writeNumberField("p90", LatencyRecorder.percentile(sorted, 90) / 1_000_000.0);
+                json.writeNumberField("p99", LatencyRecorder.percentile(sorted, 99) / 1_000_000.0);
+                json.writeNumberField("p999", LatencyRecorder.percentile(sorted, 99.9) / 1_000_000.0);
+                json.writeNumberField("max", latencies.getMax() / 1_000_000.0);
+                json.writeEndObject();
+
+                json.writeObjectFieldStart("graph_cache");
+                json.writeNumberField("hits", graphs.getHits());
+                json.writeNumberField("misses", graphs.getMisses());
+                json.writeNumberField("payloads", graphs.size());
+                json.writeNumberField("edges", graphs.edgeCount());
+                json.writeEndObject();
+
+                json.writeObjectFieldStart("result_cache");
+                json.writeNumberField("hits", results.getHits());
+                json.writeNumberField("misses", results.getMisses());
+                json.writeNumberField("results", results.size());
+                json.writeNumberField("edges", results.edgeCount());
+                json.writeEndObject();
+
+                ResultStore disk = results.getNext();
+                if (disk != null) {
+                    json.writeObjectFieldStart("disk_cache");
+                    json.writeNumberField("hits", disk.getHits());
+                    json.writeNumberField("misses", disk.getMisses());
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+            }
+            send(exchange, 200, out.toByteArray());
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        errors.increment();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("error", message);
+            json.writeEndObject();
+        }
+        send(exchange, status, out.toByteArray());
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static GraphSource source(List<LoadedGraph> graphs) {
+        Iterator<LoadedGraph> next = graphs.iterator();
+        return new GraphSource() {
+            @Override public LoadedGraph next() { return next.hasNext() ? next.next() : null; }
+            @Override public void close() { }
+        };
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
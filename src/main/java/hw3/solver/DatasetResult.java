@@ -0,0 +1,21 @@
+package hw3.solver;
+
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.NodeLabels;
+
+import java.util.Map;
+
+/**
+ * MST results for every graph of one dataset. Inner maps are keyed and iterated by graph ID.
+ *
+ * @param msts     Results per algorithm, in {@link MSTAlgorithm} order, then per graph.
+ * @param labels   Vertex labels per graph, used to name MST edge endpoints.
+ * @param pipeline Per-stage metrics of the run that produced the results.
+ */
+public record DatasetResult(Map<MSTAlgorithm, Map<Integer, MinimumSpanningTree>> msts,
+                            Map<Integer, NodeLabels> labels,
+                            PipelineMetrics pipeline) {
+
+    public Map<Integer, MinimumSpanningTree> primMSTs() { return msts.get(MSTAlgorithm.PRIM); }
+    public Map<Integer, MinimumSpanningTree> kruskalMSTs() { return msts.get(MSTAlgorithm.KRUSKAL); }
+}
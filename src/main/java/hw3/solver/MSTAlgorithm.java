@@ -0,0 +1,67 @@
+package hw3.solver;
+
+import hw3.algorithms.Boruvka;
+import hw3.algorithms.CSRKruskal;
+import hw3.algorithms.CSRPrim;
+import hw3.algorithms.ComponentPrim;
+import hw3.algorithms.ExternalKruskal;
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.CSRGraph;
+import hw3.utils.HeapType;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * MST algorithms that {@link MSTSolver} can run on a CSR graph.
+ */
+public enum MSTAlgorithm {
+    PRIM("prim", CSRPrim::new),
+    PRIM_DARY("prim_dary", graph -> new CSRPrim(graph, HeapType.DARY)),
+    PRIM_PAIRING("prim_pairing", graph -> new CSRPrim(graph, HeapType.PAIRING)),
+    KRUSKAL("kruskal", CSRKruskal::new),
+    FILTER_KRUSKAL("filter_kruskal", graph -> new CSRKruskal(graph, CSRKruskal.Mode.FILTER)),
+    BORUVKA("boruvka", Boruvka::new),
+    COMPONENT_PRIM("component_prim", ComponentPrim::new),
+    EXTERNAL_KRUSKAL("external_kruskal", ExternalKruskal::new);
+
+    /**
+     * Prim and Kruskal, the pair every report compares.
+     */
+    public static final Set<MSTAlgorithm> DEFAULT = EnumSet.of(PRIM, KRUSKAL);
+
+    private final String key;
+    private final Function<CSRGraph, MinimumSpanningTree> factory;
+
+    MSTAlgorithm(String key, Function<CSRGraph, MinimumSpanningTree> factory) {
+        this.key = key;
+        this.factory = factory;
+    }
+
+    /**
+     * @return lower-case name used in reports and on the command line
+     */
+    public String getKey() { return key; }
+
+    /**
+     * Runs this algorithm on the graph.
+     */
+    public MinimumSpanningTree solve(CSRGraph graph) {
+        return factory.apply(graph);
+    }
+
+    /**
+     * Parses a comma-separated list such as "prim,filter-kruskal,boruvka".
+     *
+     * @throws IllegalArgumentException if a name is unknown.
+     */
+    public static Set<MSTAlgorithm> parse(String names) {
+        Set<MSTAlgorithm> algorithms = EnumSet.noneOf(MSTAlgorithm.class);
+        for (String name : names.split(",")) {
+            algorithms.add(valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT)));
+        }
+        return algorithms;
+    }
+}
@@ -2,19 +2,175 @@ package hw3.solver;
 
 import edu.princeton.cs.algorithms.EdgeWeightedGraph;
 import hw3.algorithms.Kruskal;
+import hw3.algorithms.MSTVerifier;
+import hw3.algorithms.MinimumSpanningTree;
 import hw3.algorithms.Prim;
+import hw3.graph.CSRGraph;
+import hw3.loader.LoadedGraph;
+import hw3.utils.Phase;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 /**
- * Solves the MST problem using both Prim and Kruskal algorithms.
+ * Solves the MST problem using Prim and Kruskal, plus any other selected algorithms.
  */
 public class MSTSolver {
-    private final Prim primMST;
-    private final Kruskal kruskalMST;
+    private final Map<MSTAlgorithm, MinimumSpanningTree> results;
 
     public MSTSolver(EdgeWeightedGraph graph) {
-        this.primMST = new Prim(graph);
-        this.kruskalMST = new Kruskal(graph);
+        this(new Prim(graph), new Kruskal(graph));
+    }
+
+    public MSTSolver(CSRGraph graph) {
+        this(graph, MSTAlgorithm.DEFAULT);
+    }
+
+    public MSTSolver(CSRGraph graph, Set<MSTAlgorithm> algorithms) {
+        this(graph, algorithms, false);
+    }
+
+    /**
+     * @param selfCheck verify every result with {@link MSTVerifier} before returning
+     */
+    public MSTSolver(CSRGraph graph, Set<MSTAlgorithm> algorithms, boolean selfCheck) {
+        Map<MSTAlgorithm, MinimumSpanningTree> results = new EnumMap<>(MSTAlgorithm.class);
+        for (MSTAlgorithm algorithm : algorithms) {
+            MinimumSpanningTree mst = algorithm.solve(graph);
+            results.put(algorithm, selfCheck ? selfCheck(graph, mst) : mst);
+        }
+        this.results = Collections.unmodifiableMap(results);
+    }
+
+    public MSTSolver(MinimumSpanningTree primMST, MinimumSpanningTree kruskalMST) {
+        Map<MSTAlgorithm, MinimumSpanningTree> results = new EnumMap<>(MSTAlgorithm.class);
+        results.put(MSTAlgorithm.PRIM, primMST);
+        results.put(MSTAlgorithm.KRUSKAL, kruskalMST);
+        this.results = Collections.unmodifiableMap(results);
+    }
+
+    private MSTSolver(Map<MSTAlgorithm, MinimumSpanningTree> results) {
+        this.results = Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * Runs each selected algorithm on the same graph as an independent task.
+     *
+     * @param graph      Graph to solve; it is only read, so sharing it is safe.
+     * @param algorithms Algorithms to run.
+     * @param executor   Executor the algorithms run on.
+     * @return Future completed once every algorithm has finished.
+     */
+    public static CompletableFuture<MSTSolver> solveAsync(CSRGraph graph, Set<MSTAlgorithm> algorithms,
+                                                          Executor executor) {
+        return solveAsync(graph, algorithms, executor, false);
+    }
+
+    /**
+     * Runs each selected algorithm on the same graph as an independent task.
+     *
+     * @param graph      Graph to solve; it is only read, so sharing it is safe.
+     * @param algorithms Algorithms to run.
+     * @param executor   Executor the algorithms run on.
+     * @param selfCheck  Verify each result in the task that computed it.
+     * @return Future completed once every algorithm has finished; fails if a self-check fails.
+     */
+    public static CompletableFuture<MSTSolver> solveAsync(CSRGraph graph, Set<MSTAlgorithm> algorithms,
+                                                          Executor executor, boolean selfCheck) {
+        Map<MSTAlgorithm, CompletableFuture<MinimumSpanningTree>> tasks = new EnumMap<>(MSTAlgorithm.class);
+        for (MSTAlgorithm algorithm : algorithms) {
+            tasks.put(algorithm, CompletableFuture.supplyAsync(() -> {
+                MinimumSpanningTree mst = algorithm.solve(graph);
+                return selfCheck ? selfCheck(graph, mst) : mst;
+            }, executor));
+        }
+        return collect(tasks);
+    }
+
+    /**
+     * Like {@link #solveAsync(CSRGraph, Set, Executor, boolean)}, but first hashes the graph and
+     * looks every algorithm up in the cache; only missing results are computed, and they are
+     * stored once they have passed the self-check.
+     *
+     * @param cache Result store, or null to always compute.
+     * @return Future completed once every result has been looked up or computed.
+     */
+    public static CompletableFuture<MSTSolver> solveAsync(CSRGraph graph, Set<MSTAlgorithm> algorithms,
+                                                          Executor executor, boolean selfCheck, ResultStore cache) {
+        if (cache == null) {
+            return solveAsync(graph, algorithms, executor, selfCheck);
+        }
+        return CompletableFuture.supplyAsync(() -> ResultCache.key(graph), executor).thenCompose(key -> {
+            Map<MSTAlgorithm, CompletableFuture<MinimumSpanningTree>> tasks = new EnumMap<>(MSTAlgorithm.class);
+            for (MSTAlgorithm algorithm : algorithms) {
+                tasks.put(algorithm, CompletableFuture.supplyAsync(() -> {
+                    MinimumSpanningTree cached = cache.get(key, algorithm, graph);
+                    if (cached != null) {
+                        return selfCheck ? selfCheck(graph, cached) : cached;
+                    }
+                    MinimumSpanningTree mst = algorithm.solve(graph);
+                    if (selfCheck) selfCheck(graph, mst);
+                    cache.put(key, algorithm, mst);
+                    return mst;
+                }, executor));
+            }
+            return collect(tasks);
+        });
+    }
+
+    private static CompletableFuture<MSTSolver> collect(Map<MSTAlgorithm, CompletableFuture<MinimumSpanningTree>> tasks) {
+        return CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    Map<MSTAlgorithm, MinimumSpanningTree> results = new EnumMap<>(MSTAlgorithm.class);
+                    tasks.forEach((algorithm, task) -> results.put(algorithm, task.join()));
+                    return new MSTSolver(results);
+                });
+    }
+
+    /**
+     * Verifies a result against its graph in O((V + E) log V), timed as the VERIFY phase.
+     *
+     * @return the result, if it is a minimum spanning forest of the graph
+     * @throws IllegalStateException if it is not
+     */
+    public static MinimumSpanningTree selfCheck(CSRGraph graph, MinimumSpanningTree mst) {
+        mst.getMetrics().startPhase(Phase.VERIFY);
+        String violation = MSTVerifier.findViolation(graph, mst);
+        mst.getMetrics().stopPhase(Phase.VERIFY);
+        if (violation != null) {
+            throw new IllegalStateException(mst.getMetrics().getAlgorithmName() + " self-check failed: " + violation);
+        }
+        return mst;
+    }
+
+    public MinimumSpanningTree getPrimMST() { return results.get(MSTAlgorithm.PRIM); }
+    public MinimumSpanningTree getKruskalMST() { return results.get(MSTAlgorithm.KRUSKAL); }
+    public MinimumSpanningTree getBoruvkaMST() { return results.get(MSTAlgorithm.BORUVKA); }
+
+    /**
+     * @return result of the given algorithm, or null if it was not run
+     */
+    public MinimumSpanningTree getResult(MSTAlgorithm algorithm) { return results.get(algorithm); }
+
+    /**
+     * Adds the loader's parse and build times to every result, since each algorithm ran on that input.
+     *
+     * @param graph Graph the results were computed from.
+     * @return this solver
+     */
+    public MSTSolver recordInputPhases(LoadedGraph graph) {
+        for (MinimumSpanningTree mst : results.values()) {
+            mst.getMetrics().recordPhase(Phase.LOAD, graph.loadNanos());
+            mst.getMetrics().recordPhase(Phase.BUILD, graph.buildNanos());
+        }
+        return this;
     }
 
-    public Prim getPrimMST() { return primMST; }
-    public Kruskal getKruskalMST() { return kruskalMST; }
+    /**
+     * @return results of every algorithm that was run, in {@link MSTAlgorithm} order
+     */
+    public Map<MSTAlgorithm, MinimumSpanningTree> getResults() { return results; }
 }
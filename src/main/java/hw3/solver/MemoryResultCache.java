@@ -0,0 +1,102 @@
+package hw3.solver;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.CSRGraph;
+import hw3.utils.Metrics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-heap LRU tier of MST results, keyed like {@link ResultCache} by graph content and
+ * algorithm. Its size is bounded by the total number of tree edges held. Misses fall through
+ * to an optional next store, usually a {@link ResultCache} on disk, and results found there
+ * or newly computed are kept here as well, so a warm process answers repeated graphs without
+ * touching the disk. Methods may be called from several threads.
+ */
+public class MemoryResultCache implements ResultStore {
+    private final long maxEdges;
+    private final ResultStore next;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // LRU first
+    private long totalEdges;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEdges Maximum number of tree edges held over all results.
+     * @param next     Store consulted on a miss and written through on put, or null.
+     */
+    public MemoryResultCache(long maxEdges, ResultStore next) {
+        if (maxEdges < 1) {
+            throw new IllegalArgumentException("maxEdges must be positive");
+        }
+        this.maxEdges = maxEdges;
+        this.next = next;
+    }
+
+    @Override
+    public MinimumSpanningTree get(String key, MSTAlgorithm algorithm, CSRGraph graph) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(name(key, algorithm));
+        }
+        if (entry != null && entry.V == graph.V() && entry.E == graph.E()) {
+            hits.increment();
+            Metrics metrics = new Metrics(entry.algorithmName, entry.V, entry.E);
+            metrics.markCached();
+            metrics.setResults(entry.weight, entry.edges);
+            return new ResultCache.CachedResult(metrics, entry.edges, entry.weight);
+        }
+        misses.increment();
+        if (next == null) return null;
+        MinimumSpanningTree mst = next.get(key, algorithm, graph);
+        if (mst != null) store(key, algorithm, mst);
+        return mst;
+    }
+
+    @Override
+    public void put(String key, MSTAlgorithm algorithm, MinimumSpanningTree mst) {
+        store(key, algorithm, mst);
+        if (next != null) next.put(key, algorithm, mst);
+    }
+
+    @Override public long getHits() { return hits.sum(); }
+    @Override public long getMisses() { return misses.sum(); }
+    public synchronized int size() { return entries.size(); }
+    public synchronized long edgeCount() { return totalEdges; }
+    public long getMaxEdges() { return maxEdges; }
+
+    /**
+     * @return the store behind this one, or null
+     */
+    public ResultStore getNext() { return next; }
+
+    private void store(String key, MSTAlgorithm algorithm, MinimumSpanningTree mst) {
+        List<Edge> edges = new ArrayList<>();
+        mst.edges().forEach(edges::add);
+        Metrics metrics = mst.getMetrics();
+        Entry entry = new Entry(metrics.getAlgorithmName(), metrics.getGraphV(), metrics.getGraphE(),
+                mst.weight(), List.copyOf(edges));
+        synchronized (this) {
+            Entry previous = entries.put(name(key, algorithm), entry);
+            totalEdges += entry.edges.size() - (previous == null ? 0 : previous.edges.size());
+            Iterator<Entry> lru = entries.values().iterator();
+            while (totalEdges > maxEdges && lru.hasNext()) {
+                totalEdges -= lru.next().edges.size();
+                lru.remove();
+            }
+        }
+    }
+
+    private static String name(String key, MSTAlgorithm algorithm) {
+        return key + "-" + algorithm.getKey();
+    }
+
+    // tree edges are shared by every hit, so they are kept in an unmodifiable list
+    private record Entry(String algorithmName, int V, int E, double weight, List<Edge> edges) {
+    }
+}
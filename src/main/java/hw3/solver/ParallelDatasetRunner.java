@@ -0,0 +1,365 @@
+package hw3.solver;
+
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.NodeLabels;
+import hw3.loader.LoadedGraph;
+import hw3.loader.GraphSource;
+import hw3.utils.Phase;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Solves all graphs of a dataset concurrently. Graphs are parsed one at a time on the
+ * calling thread and each selected algorithm runs as a separate task. A semaphore
+ * caps how many parsed graphs are in flight, so parsing blocks once that many are resident;
+ * the cap holds across concurrent runs on the same runner, as the server makes them,
+ * and results reach the listener through a bounded queue drained by an export thread,
+ * which puts them back into graph ID order.
+ */
+public class ParallelDatasetRunner implements AutoCloseable {
+    private final ExecutorService executor;
+    private final int maxResidentGraphs;
+    private final Semaphore resident;           // graph slots shared by every run in progress
+    private final int parallelism;              // threads solving at once, for the pipeline metrics
+    private final Set<MSTAlgorithm> algorithms;
+    private boolean selfCheck;
+    private ResultStore cache;
+
+    /**
+     * Creates a runner backed by a fork-join pool that runs Prim and Kruskal.
+     *
+     * @param parallelism       Number of worker threads.
+     * @param maxResidentGraphs Maximum number of graphs parsed but not yet solved, over all concurrent runs.
+     */
+    public ParallelDatasetRunner(int parallelism, int maxResidentGraphs) {
+        this(parallelism, maxResidentGraphs, MSTAlgorithm.DEFAULT);
+    }
+
+    /**
+     * Creates a runner backed by a fork-join pool.
+     *
+     * @param parallelism       Number of worker threads.
+     * @param maxResidentGraphs Maximum number of graphs parsed but not yet solved, over all concurrent runs.
+     * @param algorithms        Algorithms to run on every graph.
+     */
+    public ParallelDatasetRunner(int parallelism, int maxResidentGraphs, Set<MSTAlgorithm> algorithms) {
+        this(new ForkJoinPool(parallelism), maxResidentGraphs, algorithms);
+    }
+
+    private ParallelDatasetRunner(ExecutorService executor, int maxResidentGraphs, Set<MSTAlgorithm> algorithms) {
+        if (maxResidentGraphs < 1) {
+            throw new IllegalArgumentException("maxResidentGraphs must be at least 1");
+        }
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("At least one algorithm must be selected");
+        }
+        this.executor = executor;
+        this.maxResidentGraphs = maxResidentGraphs;
+        this.resident = new Semaphore(maxResidentGraphs);
+        this.parallelism = executor instanceof ForkJoinPool pool
+                ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+        this.algorithms = EnumSet.copyOf(algorithms);
+    }
+
+    /**
+     * Creates a runner that starts one virtual thread per algorithm run.
+     *
+     * @param maxResidentGraphs Maximum number of graphs parsed but not yet solved, over all concurrent runs.
+     * @param algorithms        Algorithms to run on every graph.
+     */
+    public static ParallelDatasetRunner withVirtualThreads(int maxResidentGraphs, Set<MSTAlgorithm> algorithms) {
+        return new ParallelDatasetRunner(Executors.newVirtualThreadPerTaskExecutor(), maxResidentGraphs, algorithms);
+    }
+
+    /**
+     * Loads and solves every graph in a dataset, JSON or binary (see {@link GraphSource#open}).
+     *
+     * @param filename Name of the dataset file.
+     * @return Results ordered by graph ID.
+     * @throws IOException If loading fails.
+     */
+    public DatasetResult run(String filename) throws IOException {
+        return run(filename, (graphId, labels, results) -> { });
+    }
+
+    /**
+     * Loads and solves every graph in a dataset, also handing each result to a listener as it is solved.
+     *
+     * @param filename Name of the dataset file.
+     * @param listener Receives every graph's results, in graph ID order (see {@link #stream}).
+     * @return Results ordered by graph ID.
+     * @throws IOException If loading fails or the listener fails.
+     */
+    public DatasetResult run(String filename, ResultListener listener) throws IOException {
+        try (GraphSource loader = GraphSource.open(filename)) {
+            return run(loader, listener);
+        }
+    }
+
+    /**
+     * Solves every graph the loader produces.
+     *
+     * @param loader Source of graphs; read on the calling thread.
+     * @return Results ordered by graph ID.
+     * @throws IOException If loading fails.
+     */
+    public DatasetResult run(GraphSource loader) throws IOException {
+        return run(loader, (graphId, labels, results) -> { });
+    }
+
+    /**
+     * Solves every graph the loader produces and keeps all results, forwarding each one to a listener.
+     *
+     * @param loader   Source of graphs; read on the calling thread.
+     * @param listener Receives every graph's results, in graph ID order (see {@link #stream}).
+     * @return Results ordered by graph ID, with the metrics of each pipeline stage.
+     * @throws IOException If loading fails or the listener fails.
+     */
+    public DatasetResult run(GraphSource loader, ResultListener listener) throws IOException {
+        Map<MSTAlgorithm, Map<Integer, MinimumSpanningTree>> msts = new EnumMap<>(MSTAlgorithm.class);
+        for (MSTAlgorithm algorithm : algorithms) {
+            msts.put(algorithm, new TreeMap<>());
+        }
+        Map<Integer, NodeLabels> labels = new TreeMap<>();
+
+        PipelineMetrics pipeline = stream(loader, (graphId, graphLabels, results) -> {
+            labels.put(graphId, graphLabels);
+            results.forEach((algorithm, mst) -> msts.get(algorithm).put(graphId, mst));
+            listener.accept(graphId, graphLabels, results);
+        });
+        return new DatasetResult(msts, labels, pipeline);
+    }
+
+    /**
+     * Solves every graph the loader produces and hands each result to the listener without
+     * keeping it, so memory stays bounded by the resident graph limit however large the dataset.
+     * Loading, solving and export run as concurrent stages: the calling thread loads, the
+     * executor solves at most maxResidentGraphs graphs at once, and a dedicated export thread
+     * takes results from a queue of the same capacity and calls the listener. A full queue
+     * blocks the solvers and a full set of graphs in flight blocks loading, so a slow stage
+     * throttles the ones before it instead of letting results pile up.
+     * Results are held back until no graph with a smaller ID is still being solved, and a graph
+     * keeps its slot until it is exported, so this reorder window is bounded by maxResidentGraphs.
+     * Concurrent calls draw their slots from the same maxResidentGraphs.
+     * The listener therefore sees graph ID order whenever the loader yields ascending IDs, as a
+     * dataset file listing its graphs by ID does; otherwise it sees them in loading order
+     * wherever that differs.
+     *
+     * @param loader   Source of graphs; read on the calling thread.
+     * @param listener Receives every graph's results, in graph ID order, never concurrently.
+     * @return Items, busy and blocked time and queue depths of each stage.
+     * @throws IOException If loading fails or the listener fails.
+     */
+    public PipelineMetrics stream(GraphSource loader, ResultListener listener) throws IOException {
+        PipelineMetrics pipeline = new PipelineMetrics(parallelism, maxResidentGraphs, maxResidentGraphs);
+        StageMetrics load = pipeline.getLoad();
+        StageMetrics solve = pipeline.getSolve();
+        Semaphore slots = new Semaphore(maxResidentGraphs);   // this run's slots, all back once it is done
+        Runnable free = () -> {
+            resident.release();
+            slots.release();
+        };
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Set<Integer> seen = new HashSet<>();
+        NavigableSet<Integer> inFlight = new ConcurrentSkipListSet<>();   // loaded, not yet exported
+        BlockingQueue<Solved> exports = new ArrayBlockingQueue<>(maxResidentGraphs);
+        Thread exporter = Thread.ofVirtual().name("mst-export")
+                .start(() -> export(exports, inFlight, free, listener, pipeline.getExport(), failure));
+
+        Exception loadError = null;         // rethrown once the graphs already in flight are done
+        try {
+            try {
+                while (failure.get() == null) {
+                    long waiting = System.nanoTime();
+                    acquire(slots, 1);
+                    try {
+                        acquire(resident, 1);
+                    } catch (InterruptedIOException e) {
+                        slots.release();
+                        throw e;
+                    }
+                    long loading = System.nanoTime();
+                    load.recordBlocked(loading - waiting);
+                    LoadedGraph graph;
+                    try {
+                        graph = loader.next();
+                    } catch (IOException | RuntimeException e) {
+                        free.run(); // or the drain below waits for it forever
+                        throw e;
+                    }
+                    if (graph == null) {
+                        free.run();
+                        break;
+                    }
+                    load.recordItem(System.nanoTime() - loading);
+                    if (!seen.add(graph.id())) {
+                        free.run();
+                        throw new IOException("Duplicate graph id " + graph.id());
+                    }
+                    inFlight.add(graph.id());
+                    solve.sampleQueue(maxResidentGraphs - slots.availablePermits());
+
+                    MSTSolver.solveAsync(graph.graph(), algorithms, executor, selfCheck, cache)
+                            .thenAccept(solver -> {
+                                solver.recordInputPhases(graph);
+                                solve.recordItem(solveNanos(solver));
+                                long offered = System.nanoTime();
+                                put(exports, new Solved(graph.id(), graph.labels(), solver.getResults()));
+                                solve.recordBlocked(System.nanoTime() - offered);
+                                pipeline.getExport().sampleQueue(exports.size());
+                            })
+                            .whenComplete((ignored, error) -> {
+                                if (error != null) {
+                                    failure.compareAndSet(null, new IllegalStateException(
+                                            "Failed to solve graph #" + graph.id(), unwrap(error)));
+                                    // the exporter still has to see the ID, or later graphs wait for it
+                                    put(exports, Solved.failed(graph.id()));
+                                }
+                            });
+                }
+            } catch (IOException | RuntimeException e) {
+                loadError = e;
+            }
+
+            // every slot is back once the exporter has passed on the last graph in flight
+            acquire(slots, maxResidentGraphs);
+            slots.release(maxResidentGraphs);
+        } finally {
+            finish(exports, exporter);
+        }
+        pipeline.stop();
+
+        if (loadError instanceof IOException e) throw e;
+        if (loadError != null) throw (RuntimeException) loadError;
+        Throwable error = failure.get();
+        if (error != null) {
+            if (error.getCause() instanceof IOException e) throw e;
+            if (error.getCause() instanceof UncheckedIOException e) throw e.getCause();
+            throw (IllegalStateException) error;
+        }
+        return pipeline;
+    }
+
+    // export stage: calls the listener for each queued result until END, in ID order, and frees the
+    // graph's slot afterwards; after a failure it only drains
+    private static void export(BlockingQueue<Solved> exports, NavigableSet<Integer> inFlight, Runnable free,
+                               ResultListener listener, StageMetrics stage, AtomicReference<Throwable> failure) {
+        TreeMap<Integer, Solved> pending = new TreeMap<>();     // solved, waiting for a smaller ID
+        try {
+            while (true) {
+                long waiting = System.nanoTime();
+                Solved solved = exports.take();
+                long start = System.nanoTime();
+                stage.recordBlocked(start - waiting);
+                if (solved == Solved.END) return;
+                pending.put(solved.graphId(), solved);
+                // pending is a subset of inFlight, so its first ID is next once it is the smallest in flight
+                while (!pending.isEmpty() && pending.firstKey().equals(inFlight.first())) {
+                    Solved next = pending.pollFirstEntry().getValue();
+                    if (failure.get() == null && next.results() != null) {
+                        try {
+                            listener.accept(next.graphId(), next.labels(), next.results());
+                        } catch (IOException | RuntimeException e) {
+                            failure.compareAndSet(null, new IllegalStateException("Failed to export graph #" + next.graphId(), e));
+                        }
+                    }
+                    inFlight.remove(next.graphId());
+                    free.run();
+                }
+                stage.recordItem(System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();   // the run itself was interrupted
+        }
+    }
+
+    private static void finish(BlockingQueue<Solved> exports, Thread exporter) throws InterruptedIOException {
+        try {
+            exports.put(Solved.END);
+            exporter.join();
+        } catch (InterruptedException e) {
+            exporter.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while exporting results");
+        }
+    }
+
+    private static void put(BlockingQueue<Solved> exports, Solved solved) {
+        try {
+            exports.put(solved);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(new InterruptedIOException("Interrupted while queueing results for export"));
+        }
+    }
+
+    // time the algorithms spent on a graph, cache lookups and self-checks included
+    private static long solveNanos(MSTSolver solver) {
+        long nanos = 0;
+        for (MinimumSpanningTree mst : solver.getResults().values()) {
+            nanos += mst.getMetrics().getExecutionTimeNanos() + mst.getMetrics().getPhaseNanos(Phase.VERIFY);
+        }
+        return nanos;
+    }
+
+    public int getMaxResidentGraphs() { return maxResidentGraphs; }
+    public Set<MSTAlgorithm> getAlgorithms() { return algorithms; }
+    public boolean isSelfCheck() { return selfCheck; }
+
+    /**
+     * @param selfCheck verify every result with {@link hw3.algorithms.MSTVerifier}; a failed check fails the run
+     */
+    public void setSelfCheck(boolean selfCheck) { this.selfCheck = selfCheck; }
+
+    public ResultStore getCache() { return cache; }
+
+    /**
+     * @param cache results to reuse for graphs seen before, and where new results are stored; null disables caching
+     */
+    public void setCache(ResultStore cache) { this.cache = cache; }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) throws InterruptedIOException {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a graph slot");
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // results of one graph on their way to the export stage, null if solving failed; END closes the queue
+    private record Solved(int graphId, NodeLabels labels, Map<MSTAlgorithm, MinimumSpanningTree> results) {
+        static final Solved END = new Solved(-1, null, Map.of());
+
+        static Solved failed(int graphId) {
+            return new Solved(graphId, null, null);
+        }
+    }
+}
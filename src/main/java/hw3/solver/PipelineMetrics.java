@@ -0,0 +1,73 @@
+package hw3.solver;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-stage metrics of one {@link ParallelDatasetRunner} run: graphs are loaded on the calling
+ * thread, solved on the runner's executor with at most maxResidentGraphs in flight, and handed
+ * to the listener by an export thread through a bounded queue. The stage that is busy for the
+ * largest share of its worker time limits the run.
+ */
+public class PipelineMetrics {
+    private final StageMetrics load;
+    private final StageMetrics solve;
+    private final StageMetrics export;
+    private final long startNanos = System.nanoTime();
+    private long endNanos = -1;
+
+    /**
+     * @param solveWorkers  Threads the solve stage runs on.
+     * @param inFlight      Graphs that may be solved at once.
+     * @param exportQueue   Capacity of the queue in front of the export stage.
+     */
+    public PipelineMetrics(int solveWorkers, int inFlight, int exportQueue) {
+        this.load = new StageMetrics("load", 1, 0);
+        this.solve = new StageMetrics("solve", solveWorkers, inFlight);
+        this.export = new StageMetrics("export", 1, exportQueue);
+    }
+
+    /**
+     * Freezes the wall time; later calls have no effect.
+     */
+    public void stop() {
+        if (endNanos < 0) endNanos = System.nanoTime();
+    }
+
+    public StageMetrics getLoad() { return load; }
+    public StageMetrics getSolve() { return solve; }
+    public StageMetrics getExport() { return export; }
+    public List<StageMetrics> getStages() { return List.of(load, solve, export); }
+    public long getWallNanos() { return (endNanos < 0 ? System.nanoTime() : endNanos) - startNanos; }
+
+    /**
+     * @return the stage with the highest utilization
+     */
+    public StageMetrics getBottleneck() {
+        long wall = getWallNanos();
+        return getStages().stream()
+                .max(Comparator.comparingDouble(stage -> stage.getUtilization(wall)))
+                .orElseThrow();
+    }
+
+    /**
+     * @return one line per stage and the bottleneck, for the console
+     */
+    public String summary() {
+        long wall = getWallNanos();
+        StringBuilder out = new StringBuilder(String.format("Pipeline (%.3f ms):%n", wall / 1_000_000.0));
+        for (StageMetrics stage : getStages()) {
+            out.append(String.format("  %-7s%5d graphs, busy %9.3f ms (%3.0f%% of %d thread%s), blocked %9.3f ms, %.1f graphs/s",
+                    stage.getName(), stage.getItems(), stage.getBusyNanos() / 1_000_000.0,
+                    100 * stage.getUtilization(wall), stage.getWorkers(), stage.getWorkers() == 1 ? "" : "s",
+                    stage.getBlockedNanos() / 1_000_000.0, stage.getThroughput()));
+            if (stage.getQueueCapacity() > 0) {
+                out.append(String.format(", queue avg %.1f / max %d of %d",
+                        stage.getAverageQueueDepth(), stage.getMaxQueueDepth(), stage.getQueueCapacity()));
+            }
+            out.append(String.format("%n"));
+        }
+        out.append("  Bottleneck: ").append(getBottleneck().getName());
+        return out.toString();
+    }
+}
@@ -0,0 +1,320 @@
+package hw3.solver;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.CSRGraph;
+import hw3.utils.Metrics;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of MST results on disk. A graph is keyed by the SHA-256 of its
+ * canonical form (vertex count and the sorted multiset of edges with their weights), so the
+ * same graph hits however its edges were listed in the input; vertex labels are not part of
+ * the key because results refer to vertices by index. Each algorithm's result is one file,
+ * and the least recently used files are deleted once the store outgrows its size limit.
+ * File modification times record use, so the LRU order survives restarts. Methods may be
+ * called from several threads.
+ */
+public class ResultCache implements ResultStore {
+    public static final String EXTENSION = ".mstr";
+    private static final int MAGIC = 0x4D535452;        // "MSTR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;          // magic, version, V, E, name length, weight, edge count
+    private static final int EDGE_BYTES = 16;            // v, w, weight
+    private static final int DIGEST_BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true); // file -> bytes, LRU first
+    private long totalBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Opens a cache directory, creating it if needed, and indexes the results already in it.
+     *
+     * @param directory Directory holding the result files.
+     * @param maxBytes  Size limit of all result files together.
+     * @throws IOException If the directory cannot be created or listed.
+     */
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.filter(Files::isRegularFile).forEach(files::add);
+        }
+        List<Path> results = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(EXTENSION)) {
+                results.add(file);
+            } else if (name.endsWith(".tmp")) {
+                Files.deleteIfExists(file);   // left behind by an interrupted put
+            }
+        }
+        results.sort(Comparator.comparing(ResultCache::lastModified));
+        synchronized (this) {
+            for (Path file : results) {
+                long size = Files.size(file);
+                entries.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            }
+            evict();
+        }
+    }
+
+    /**
+     * Hashes the canonical form of a graph: V and E, then for every vertex v in index order
+     * the neighbours u >= v with the edge weights, sorted by (u, weight bits).
+     *
+     * @return lower-case hex SHA-256
+     */
+    public static String key(CSRGraph graph) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER_SIZE);
+        buffer.putInt(graph.V()).putInt(graph.E());
+
+        long[] order = new long[0];
+        long[] bits = new long[0];
+        for (int v = 0; v < graph.V(); v++) {
+            int n = 0;
+            if (order.length < graph.degree(v)) {
+                order = new long[graph.degree(v)];
+                bits = new long[graph.degree(v)];
+            }
+            for (int slot = graph.begin(v); slot < graph.end(v); slot++) {
+                int u = graph.target(slot);
+                if (u >= v) {
+                    order[n] = (long) u << 32 | (slot - graph.begin(v));
+                    n++;
+                }
+            }
+            Arrays.sort(order, 0, n);
+            // parallel edges share u; order each such run by weight
+            for (int i = 0; i < n; i++) {
+                bits[i] = Double.doubleToLongBits(graph.slotWeight(graph.begin(v) + (int) order[i]));
+            }
+            for (int i = 0; i < n; ) {
+                int j = i + 1;
+                while (j < n && order[j] >>> 32 == order[i] >>> 32) j++;
+                if (j - i > 1) Arrays.sort(bits, i, j);
+                i = j;
+            }
+
+            if (buffer.remaining() < 4) flush(digest, buffer);
+            buffer.putInt(n);
+            for (int i = 0; i < n; i++) {
+                if (buffer.remaining() < 12) flush(digest, buffer);
+                buffer.putInt((int) (order[i] >>> 32)).putLong(bits[i]);
+            }
+        }
+        flush(digest, buffer);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void flush(MessageDigest digest, ByteBuffer buffer) {
+        digest.update(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    /**
+     * Looks up the result of an algorithm for a graph. The returned result has fresh
+     * {@link Metrics} marked as cached: its time is the lookup and its counters are zero.
+     *
+     * @param key       Key of the graph, from {@link #key}.
+     * @param algorithm Algorithm whose result is wanted.
+     * @param graph     The graph, to check the stored result against its size.
+     * @return the stored result, or null on a miss
+     */
+    @Override
+    public MinimumSpanningTree get(String key, MSTAlgorithm algorithm, CSRGraph graph) {
+        String name = fileName(key, algorithm);
+        synchronized (this) {
+            if (entries.get(name) == null) {
+                misses.increment();
+                return null;
+            }
+        }
+        Path file = directory.resolve(name);
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("not a result file");
+            }
+            if (in.getInt() != graph.V() || in.getInt() != graph.E()) {
+                throw new IOException("graph size does not match");
+            }
+            int nameLength = in.getInt();
+            if (nameLength < 0 || nameLength > in.remaining()) {
+                throw new IOException("not a result file");
+            }
+            byte[] algorithmName = new byte[nameLength];
+            in.get(algorithmName);
+            Metrics metrics = new Metrics(new String(algorithmName, StandardCharsets.UTF_8), graph.V(), graph.E());
+            double weight = in.getDouble();
+            int n = in.getInt();
+            if (in.remaining() != (long) n * EDGE_BYTES) {
+                throw new IOException("truncated");
+            }
+            List<Edge> edges = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                edges.add(new Edge(in.getInt(), in.getInt(), in.getDouble()));
+            }
+            metrics.markCached();
+            metrics.setResults(weight, edges);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.increment();
+            return new CachedResult(metrics, edges, weight);
+        } catch (BufferUnderflowException e) {
+            System.err.println("Warning: Dropping truncated cached result " + file);
+            forget(name);
+        } catch (NoSuchFileException e) {
+            forget(name);   // evicted by another thread meanwhile
+        } catch (IOException e) {
+            System.err.println("Warning: Dropping unreadable cached result " + file + ": " + e.getMessage());
+            forget(name);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a result, then evicts least recently used results until the store fits its limit.
+     * Failing to write only prints a warning, since the result itself is still valid.
+     *
+     * @param key       Key of the graph, from {@link #key}.
+     * @param algorithm Algorithm that computed the result.
+     * @param mst       The result.
+     */
+    @Override
+    public void put(String key, MSTAlgorithm algorithm, MinimumSpanningTree mst) {
+        String name = fileName(key, algorithm);
+        Metrics metrics = mst.getMetrics();
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(directory, key, ".tmp");
+            List<Edge> edges = new ArrayList<>();
+            mst.edges().forEach(edges::add);
+            byte[] algorithmName = metrics.getAlgorithmName().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + algorithmName.length + edges.size() * EDGE_BYTES);
+            out.putInt(MAGIC).putInt(VERSION).putInt(metrics.getGraphV()).putInt(metrics.getGraphE());
+            out.putInt(algorithmName.length).put(algorithmName);
+            out.putDouble(mst.weight()).putInt(edges.size());
+            for (Edge e : edges) {
+                int v = e.either();
+                out.putInt(v).putInt(e.other(v)).putDouble(e.weight());
+            }
+            Files.write(tmp, out.array());
+            long size = out.capacity();
+            Files.move(tmp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                Long previous = entries.put(name, size);
+                totalBytes += size - (previous == null ? 0 : previous);
+                evict();
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Could not cache result " + name + ": " + e.getMessage());
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // removed on the next start
+                }
+            }
+        }
+    }
+
+    @Override public long getHits() { return hits.sum(); }
+    @Override public long getMisses() { return misses.sum(); }
+    public synchronized int size() { return entries.size(); }
+    public synchronized long sizeInBytes() { return totalBytes; }
+    public long getMaxBytes() { return maxBytes; }
+    public Path getDirectory() { return directory; }
+
+    // caller holds the lock
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> lru = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && lru.hasNext()) {
+            Map.Entry<String, Long> eldest = lru.next();
+            totalBytes -= eldest.getValue();
+            lru.remove();
+            try {
+                Files.deleteIfExists(directory.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                System.err.println("Warning: Could not evict cached result " + eldest.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void forget(String name) {
+        Long size = entries.remove(name);
+        if (size != null) totalBytes -= size;
+        try {
+            Files.deleteIfExists(directory.resolve(name));
+        } catch (IOException ignored) {
+            // unreadable either way; the next put replaces it
+        }
+    }
+
+    private static String fileName(String key, MSTAlgorithm algorithm) {
+        return key + "-" + algorithm.getKey() + EXTENSION;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * A result read back from a store.
+     */
+    static final class CachedResult implements MinimumSpanningTree {
+        private final Metrics metrics;
+        private final List<Edge> edges;
+        private final double weight;
+
+        CachedResult(Metrics metrics, List<Edge> edges, double weight) {
+            this.metrics = metrics;
+            this.edges = edges;
+            this.weight = weight;
+        }
+
+        @Override public Metrics getMetrics() { return metrics; }
+        @Override public Iterable<Edge> edges() { return edges; }
+        @Override public double weight() { return weight; }
+    }
+}
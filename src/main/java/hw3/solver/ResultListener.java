@@ -0,0 +1,33 @@
+package hw3.solver;
+
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.NodeLabels;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Receives the results of one graph once all selected algorithms have solved it, in graph ID order.
+ * {@link ParallelDatasetRunner} never calls a listener concurrently, so writers need no locking.
+ */
+@FunctionalInterface
+public interface ResultListener {
+    /**
+     * @param graphId Graph ID from the input.
+     * @param labels  Vertex labels of the graph.
+     * @param results Result per algorithm, in {@link MSTAlgorithm} order.
+     * @throws IOException If writing the results fails; this fails the run.
+     */
+    void accept(int graphId, NodeLabels labels, Map<MSTAlgorithm, MinimumSpanningTree> results) throws IOException;
+
+    /**
+     * @param next Listener called after this one with the same results.
+     * @return a listener that hands every graph to this listener, then to {@code next}.
+     */
+    default ResultListener andThen(ResultListener next) {
+        return (graphId, labels, results) -> {
+            accept(graphId, labels, results);
+            next.accept(graphId, labels, results);
+        };
+    }
+}
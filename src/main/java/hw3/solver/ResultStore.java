@@ -0,0 +1,34 @@
+package hw3.solver;
+
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.CSRGraph;
+
+/**
+ * Where {@link MSTSolver} looks up results of graphs it has seen before and stores new ones.
+ * Graphs are identified by the content key of {@link ResultCache#key}. Implementations must
+ * allow calls from several threads.
+ */
+public interface ResultStore {
+    /**
+     * Looks up the result of an algorithm for a graph. A hit has fresh {@link hw3.utils.Metrics}
+     * marked as cached, so callers may add to them without affecting later hits.
+     *
+     * @param key       Key of the graph, from {@link ResultCache#key}.
+     * @param algorithm Algorithm whose result is wanted.
+     * @param graph     The graph, to check the stored result against its size.
+     * @return the stored result, or null on a miss
+     */
+    MinimumSpanningTree get(String key, MSTAlgorithm algorithm, CSRGraph graph);
+
+    /**
+     * Stores a freshly computed result.
+     *
+     * @param key       Key of the graph, from {@link ResultCache#key}.
+     * @param algorithm Algorithm that computed the result.
+     * @param mst       The result.
+     */
+    void put(String key, MSTAlgorithm algorithm, MinimumSpanningTree mst);
+
+    long getHits();
+    long getMisses();
+}
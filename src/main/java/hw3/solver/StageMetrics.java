@@ -0,0 +1,87 @@
+package hw3.solver;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one pipeline stage: graphs handled, time spent working on them, time spent
+ * blocked on a neighbouring stage, and the depth of the bounded queue in front of the stage,
+ * sampled each time a graph enters it. Updated from several threads.
+ */
+public class StageMetrics {
+    private final String name;
+    private final int workers;
+    private final int queueCapacity;             // 0 for a stage without an input queue
+    private final LongAdder items = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final LongAdder depthSum = new LongAdder();
+    private final LongAdder depthSamples = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param name          Stage name used in reports.
+     * @param workers       Threads the stage runs on.
+     * @param queueCapacity Capacity of the queue feeding the stage, 0 if it has none.
+     */
+    public StageMetrics(String name, int workers, int queueCapacity) {
+        this.name = name;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Records one graph handled by the stage.
+     *
+     * @param nanos Time spent working on it.
+     */
+    public void recordItem(long nanos) {
+        items.increment();
+        busyNanos.add(nanos);
+    }
+
+    /**
+     * Records time spent waiting for the next stage to take a graph or the previous one to deliver it.
+     */
+    public void recordBlocked(long nanos) {
+        blockedNanos.add(nanos);
+    }
+
+    /**
+     * @param depth Graphs in the stage's queue right after one was added.
+     */
+    public void sampleQueue(int depth) {
+        depthSum.add(depth);
+        depthSamples.increment();
+        maxDepth.accumulate(depth);
+    }
+
+    public String getName() { return name; }
+    public int getWorkers() { return workers; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public long getItems() { return items.sum(); }
+    public long getBusyNanos() { return busyNanos.sum(); }
+    public long getBlockedNanos() { return blockedNanos.sum(); }
+    public long getMaxQueueDepth() { return maxDepth.get(); }
+
+    public double getAverageQueueDepth() {
+        long samples = depthSamples.sum();
+        return samples == 0 ? 0.0 : (double) depthSum.sum() / samples;
+    }
+
+    /**
+     * @return graphs per second the stage could sustain on all its workers if it never waited
+     */
+    public double getThroughput() {
+        long busy = getBusyNanos();
+        return busy == 0 ? 0.0 : getItems() * workers * 1e9 / busy;
+    }
+
+    /**
+     * @param wallNanos Duration of the whole run.
+     * @return share of the run's worker time the stage spent working, between 0 and 1
+     */
+    public double getUtilization(long wallNanos) {
+        return wallNanos <= 0 ? 0.0 : Math.min(1.0, (double) getBusyNanos() / ((double) wallNanos * workers));
+    }
+}
@@ -0,0 +1,123 @@
+package hw3.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed binary min-heap over primitive double keys.
+ * Same contract as algs4's IndexMinPQ, but keys are never boxed.
+ */
+public class BinaryIndexedHeap implements IndexedDoubleHeap {
+    private final int maxN;
+    private int n;
+    private final int[] pq;       // binary heap using 1-based indexing
+    private final int[] qp;       // inverse of pq: qp[pq[i]] = i, -1 if absent
+    private final double[] keys;  // keys[i] = priority of i
+
+    /**
+     * @param maxN indices are in 0..maxN-1
+     */
+    public BinaryIndexedHeap(int maxN) {
+        if (maxN < 0) throw new IllegalArgumentException("maxN must be non-negative");
+        this.maxN = maxN;
+        pq = new int[maxN + 1];
+        qp = new int[maxN];
+        keys = new double[maxN];
+        Arrays.fill(qp, -1);
+    }
+
+    @Override
+    public boolean isEmpty() { return n == 0; }
+    @Override
+    public int size() { return n; }
+
+    @Override
+    public boolean contains(int i) {
+        validateIndex(i);
+        return qp[i] != -1;
+    }
+
+    @Override
+    public void insert(int i, double key) {
+        validateIndex(i);
+        if (qp[i] != -1) throw new IllegalArgumentException("index is already in the priority queue");
+        n++;
+        qp[i] = n;
+        pq[n] = i;
+        keys[i] = key;
+        swim(n);
+    }
+
+    public int minIndex() {
+        if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+        return pq[1];
+    }
+
+    public double minKey() {
+        if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+        return keys[pq[1]];
+    }
+
+    public double keyOf(int i) {
+        if (!contains(i)) throw new NoSuchElementException("index is not in the priority queue");
+        return keys[i];
+    }
+
+    @Override
+    public int delMin() {
+        if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+        int min = pq[1];
+        exch(1, n--);
+        sink(1);
+        qp[min] = -1;
+        return min;
+    }
+
+    @Override
+    public void decreaseKey(int i, double key) {
+        if (!contains(i)) throw new NoSuchElementException("index is not in the priority queue");
+        if (keys[i] < key) throw new IllegalArgumentException("Calling decreaseKey() with a key strictly greater than the key in the priority queue");
+        keys[i] = key;
+        swim(qp[i]);
+    }
+
+    private void validateIndex(int i) {
+        if (i < 0 || i >= maxN) throw new IllegalArgumentException("index out of range: " + i);
+    }
+
+    private void swim(int k) {
+        int i = pq[k];
+        double key = keys[i];
+        while (k > 1 && keys[pq[k >> 1]] > key) {
+            int parent = pq[k >> 1];
+            pq[k] = parent;
+            qp[parent] = k;
+            k >>= 1;
+        }
+        pq[k] = i;
+        qp[i] = k;
+    }
+
+    private void sink(int k) {
+        int i = pq[k];
+        double key = keys[i];
+        while (2 * k <= n) {
+            int j = 2 * k;
+            if (j < n && keys[pq[j + 1]] < keys[pq[j]]) j++;
+            if (keys[pq[j]] >= key) break;
+            pq[k] = pq[j];
+            qp[pq[k]] = k;
+            k = j;
+        }
+        pq[k] = i;
+        qp[i] = k;
+    }
+
+    private void exch(int i, int j) {
+        int swap = pq[i];
+        pq[i] = pq[j];
+        pq[j] = swap;
+        qp[pq[i]] = i;
+        qp[pq[j]] = j;
+    }
+}
@@ -0,0 +1,13 @@
+package hw3.utils;
+
+/**
+ * Result of one connected component of a minimum spanning forest.
+ *
+ * @param vertices  Number of vertices in the component.
+ * @param edges     Number of graph edges inside the component.
+ * @param treeEdges Number of edges in the component's spanning tree (vertices - 1).
+ * @param weight    Total weight of the component's spanning tree.
+ * @param nanos     Time spent solving the component.
+ */
+public record ComponentStats(int vertices, int edges, int treeEdges, double weight, long nanos) {
+}
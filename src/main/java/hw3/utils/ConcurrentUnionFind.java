@@ -0,0 +1,113 @@
+package hw3.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint-set forest over 0..n-1 that many threads may use at once.
+ * Parents live in an {@link AtomicIntegerArray}; roots are linked with a single CAS,
+ * ordered by a hashed vertex index (randomized linking by index), and finds shorten
+ * paths with CAS-based path splitting. A failed CAS only means another thread made
+ * progress, so operations retry and never block.
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;   // parent[i] = parent of i, parent[i] == i for roots
+    private final AtomicInteger count;         // number of components
+
+    /**
+     * Initializes n singleton sets 0 through n-1.
+     *
+     * @param n the number of elements
+     */
+    public ConcurrentUnionFind(int n) {
+        if (n < 0) throw new IllegalArgumentException("n must be non-negative");
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+        count = new AtomicInteger(n);
+    }
+
+    /**
+     * Returns the root of the set containing p. Under concurrent unions the result
+     * was the root at some instant during the call.
+     */
+    public int find(int p) {
+        validate(p);
+        while (true) {
+            int q = parent.get(p);
+            if (q == p) return p;
+            int r = parent.get(q);
+            if (q != r) {
+                parent.compareAndSet(p, q, r);   // path splitting
+            }
+            p = q;
+        }
+    }
+
+    /**
+     * Merges the sets containing p and q.
+     *
+     * @return true if they were in different sets and this call linked them
+     */
+    public boolean union(int p, int q) {
+        while (true) {
+            int rootP = find(p);
+            int rootQ = find(q);
+            if (rootP == rootQ) return false;
+
+            // the root with the lower priority becomes the child
+            if (before(rootP, rootQ)) {
+                int swap = rootP;
+                rootP = rootQ;
+                rootQ = swap;
+            }
+            if (parent.compareAndSet(rootQ, rootQ, rootP)) {
+                count.decrementAndGet();
+                return true;
+            }
+            // rootQ was linked by another thread meanwhile; retry from the new roots
+        }
+    }
+
+    /**
+     * @return true if p and q are in the same set at some instant during the call
+     */
+    public boolean connected(int p, int q) {
+        while (true) {
+            int rootP = find(p);
+            int rootQ = find(q);
+            if (rootP == rootQ) return true;
+            // rootP still a root means the two sets were distinct when it was read
+            if (parent.get(rootP) == rootP) return false;
+        }
+    }
+
+    /**
+     * @return the number of sets
+     */
+    public int count() {
+        return count.get();
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    // strict total order on vertices that does not follow index order
+    private static boolean before(int p, int q) {
+        int hp = mix(p), hq = mix(q);
+        return hp < hq || (hp == hq && p < q);
+    }
+
+    private static int mix(int x) {
+        x *= 0x9E3779B9;
+        return x ^ (x >>> 15);
+    }
+
+    private void validate(int p) {
+        if (p < 0 || p >= parent.length()) {
+            throw new IllegalArgumentException("index " + p + " is not between 0 and " + (parent.length() - 1));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package hw3.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min-heap over primitive double keys. A larger d makes the tree
+ * shallower, trading more comparisons per sink for fewer levels per swim.
+ */
+public class DaryIndexedHeap implements IndexedDoubleHeap {
+    private final int maxN;
+    private final int d;
+    private int n;
+    private final int[] pq;       // d-ary heap using 0-based indexing
+    private final int[] qp;       // inverse of pq: qp[pq[i]] = i, -1 if absent
+    private final double[] keys;  // keys[i] = priority of i
+
+    /**
+     * @param maxN indices are in 0..maxN-1
+     * @param d    number of children per node, at least 2
+     */
+    public DaryIndexedHeap(int maxN, int d) {
+        if (maxN < 0) throw new IllegalArgumentException("maxN must be non-negative");
+        if (d < 2) throw new IllegalArgumentException("d must be at least 2");
+        this.maxN = maxN;
+        this.d = d;
+        pq = new int[maxN];
+        qp = new int[maxN];
+        keys = new double[maxN];
+        Arrays.fill(qp, -1);
+    }
+
+    @Override
+    public boolean isEmpty() { return n == 0; }
+    @Override
+    public int size() { return n; }
+
+    @Override
+    public boolean contains(int i) {
+        validateIndex(i);
+        return qp[i] != -1;
+    }
+
+    @Override
+    public void insert(int i, double key) {
+        validateIndex(i);
+        if (qp[i] != -1) throw new IllegalArgumentException("index is already in the priority queue");
+        keys[i] = key;
+        swim(n++, i);
+    }
+
+    @Override
+    public int delMin() {
+        if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+        int min = pq[0];
+        qp[min] = -1;
+        int last = pq[--n];
+        if (n > 0) sink(0, last);
+        return min;
+    }
+
+    @Override
+    public void decreaseKey(int i, double key) {
+        if (!contains(i)) throw new NoSuchElementException("index is not in the priority queue");
+        if (keys[i] < key) throw new IllegalArgumentException("Calling decreaseKey() with a key strictly greater than the key in the priority queue");
+        keys[i] = key;
+        swim(qp[i], i);
+    }
+
+    private void validateIndex(int i) {
+        if (i < 0 || i >= maxN) throw new IllegalArgumentException("index out of range: " + i);
+    }
+
+    // moves index i up from position k
+    private void swim(int k, int i) {
+        double key = keys[i];
+        while (k > 0) {
+            int parent = (k - 1) / d;
+            int p = pq[parent];
+            if (keys[p] <= key) break;
+            pq[k] = p;
+            qp[p] = k;
+            k = parent;
+        }
+        pq[k] = i;
+        qp[i] = k;
+    }
+
+    // places index i at position k and moves it down
+    private void sink(int k, int i) {
+        double key = keys[i];
+        while (true) {
+            int first = d * k + 1;
+            if (first >= n) break;
+            int last = Math.min(first + d, n);
+            int best = first;
+            double bestKey = keys[pq[first]];
+            for (int c = first + 1; c < last; c++) {
+                double ck = keys[pq[c]];
+                if (ck < bestKey) {
+                    best = c;
+                    bestKey = ck;
+                }
+            }
+            if (bestKey >= key) break;
+            pq[k] = pq[best];
+            qp[pq[k]] = k;
+            k = best;
+        }
+        pq[k] = i;
+        qp[i] = k;
+    }
+}
@@ -0,0 +1,120 @@
+package hw3.utils;
+
+/**
+ * Sorts parallel primitive arrays of edge weights and edge ids by weight,
+ * without boxing edges or allocating comparators. Equal weights are ordered
+ * by edge id, so the result matches a stable sort of edges in id order.
+ */
+public final class EdgeSort {
+    private static final int INSERTION_SORT_CUTOFF = 24;
+
+    private EdgeSort() {}
+
+    /**
+     * Sorts keys[lo..hi) ascending and applies the same permutation to ids.
+     *
+     * @param keys edge weights
+     * @param ids  edge ids, permuted together with keys
+     * @param lo   first index (inclusive)
+     * @param hi   last index (exclusive)
+     */
+    public static void sort(double[] keys, int[] ids, int lo, int hi) {
+        if (hi - lo < 2) return;
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(hi - lo));
+        introSort(keys, ids, lo, hi - 1, depthLimit);
+    }
+
+    public static void sort(double[] keys, int[] ids) {
+        sort(keys, ids, 0, keys.length);
+    }
+
+    // quicksort that falls back to heapsort when recursion gets too deep
+    private static void introSort(double[] keys, int[] ids, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_SORT_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(keys, ids, lo, hi);
+                return;
+            }
+            int p = partition(keys, ids, lo, hi);
+            // recurse into the smaller side, loop on the larger one
+            if (p - lo < hi - p) {
+                introSort(keys, ids, lo, p, depth);
+                lo = p + 1;
+            } else {
+                introSort(keys, ids, p + 1, hi, depth);
+                hi = p;
+            }
+        }
+        insertionSort(keys, ids, lo, hi);
+    }
+
+    /**
+     * Partitions [lo..hi] around a median-of-three pivot, leaving every (weight, id)
+     * pair in [lo, p] no greater and every pair in (p, hi] no smaller than the pivot.
+     *
+     * @return the split point p, with lo <= p < hi
+     */
+    public static int partition(double[] keys, int[] ids, int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        if (less(keys, ids, mid, lo)) swap(keys, ids, mid, lo);
+        if (less(keys, ids, hi, lo)) swap(keys, ids, hi, lo);
+        if (less(keys, ids, hi, mid)) swap(keys, ids, hi, mid);
+        double pivot = keys[mid];
+        int pivotId = ids[mid];
+
+        int i = lo - 1, j = hi + 1;
+        while (true) {
+            do i++; while (keys[i] < pivot || (keys[i] == pivot && ids[i] < pivotId));
+            do j--; while (keys[j] > pivot || (keys[j] == pivot && ids[j] > pivotId));
+            if (i >= j) return j;
+            swap(keys, ids, i, j);
+        }
+    }
+
+    private static void insertionSort(double[] keys, int[] ids, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            double k = keys[i];
+            int id = ids[i];
+            int j = i - 1;
+            while (j >= lo && (keys[j] > k || (keys[j] == k && ids[j] > id))) {
+                keys[j + 1] = keys[j];
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            keys[j + 1] = k;
+            ids[j + 1] = id;
+        }
+    }
+
+    private static void heapSort(double[] keys, int[] ids, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int k = n / 2 - 1; k >= 0; k--) siftDown(keys, ids, lo, k, n);
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, ids, lo, lo + end);
+            siftDown(keys, ids, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] keys, int[] ids, int base, int k, int n) {
+        while (2 * k + 1 < n) {
+            int j = 2 * k + 1;
+            if (j + 1 < n && less(keys, ids, base + j, base + j + 1)) j++;
+            if (!less(keys, ids, base + k, base + j)) return;
+            swap(keys, ids, base + k, base + j);
+            k = j;
+        }
+    }
+
+    private static boolean less(double[] keys, int[] ids, int i, int j) {
+        return keys[i] < keys[j] || (keys[i] == keys[j] && ids[i] < ids[j]);
+    }
+
+    private static void swap(double[] keys, int[] ids, int i, int j) {
+        double k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        int id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+    }
+}
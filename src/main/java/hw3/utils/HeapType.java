@@ -0,0 +1,24 @@
+package hw3.utils;
+
+/**
+ * Heap implementations available to Prim.
+ */
+public enum HeapType {
+    /** Array-based binary heap. */
+    BINARY,
+    /** Array-based 4-ary heap: shallower, so fewer cache misses per sift. */
+    DARY,
+    /** Pairing heap: O(1) insert and amortized sub-logarithmic decrease-key. */
+    PAIRING;
+
+    /**
+     * Creates an empty heap for indices 0..maxN-1.
+     */
+    public IndexedDoubleHeap create(int maxN) {
+        return switch (this) {
+            case BINARY -> new BinaryIndexedHeap(maxN);
+            case DARY -> new DaryIndexedHeap(maxN, 4);
+            case PAIRING -> new PairingIndexedHeap(maxN);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package hw3.utils;
+
+/**
+ * Indexed min-priority queue over primitive double keys, for indices 0..maxN-1.
+ * Lets Prim swap heap implementations without boxing keys.
+ */
+public interface IndexedDoubleHeap {
+    boolean isEmpty();
+
+    int size();
+
+    /**
+     * @return true if index i is currently in the queue
+     */
+    boolean contains(int i);
+
+    /**
+     * Associates key with index i; i must not already be in the queue.
+     */
+    void insert(int i, double key);
+
+    /**
+     * Lowers the key of index i; the new key must not be greater than the current one.
+     */
+    void decreaseKey(int i, double key);
+
+    /**
+     * Removes the minimum key and returns its associated index.
+     */
+    int delMin();
+}
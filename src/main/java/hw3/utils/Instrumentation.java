@@ -0,0 +1,28 @@
+package hw3.utils;
+
+import java.util.Locale;
+
+/**
+ * How much counting a {@link Metrics} object does.
+ */
+public enum Instrumentation {
+    /** Every counted event is recorded exactly. */
+    FULL,
+    /** About one in {@link Metrics#SAMPLE_RATE} single events is recorded, scaled up; counts are unbiased estimates. */
+    SAMPLED,
+    /** Nothing is counted; all counters read 0. Set per object the calls remain; {@code -Dmst.instrumentation=off} removes them. */
+    OFF;
+
+    /**
+     * Reads the mode from the {@code mst.instrumentation} system property (full, sampled or off).
+     */
+    static Instrumentation fromSystemProperty() {
+        String value = System.getProperty("mst.instrumentation", "full");
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown mst.instrumentation '" + value + "', using full");
+            return FULL;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package hw3.utils;
+
+import java.util.Arrays;
+
+/**
+ * Link-cut tree (Sleator–Tarjan) over nodes 0..n-1, each carrying a double value,
+ * answering "which node has the largest value on the path u-v" in amortized O(log n).
+ * MST code stores edges as nodes of their own, placed between their endpoints, so a
+ * path-maximum query returns the heaviest edge on a tree path. Splay trees are kept in
+ * flat int arrays; nothing is allocated per operation. Not thread-safe.
+ */
+public final class LinkCutTree {
+    private static final int NIL = -1;
+
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] parent = new int[0];          // splay parent, or path-parent pointer when this node is a splay root
+    private boolean[] flipped = new boolean[0]; // lazy reversal of the subtree
+    private double[] value = new double[0];
+    private int[] maxNode = new int[0];         // node with the largest value in this splay subtree
+    private int[] stack = new int[0];           // scratch space for pushing reversals down before a splay
+
+    /**
+     * Creates n isolated nodes with value negative infinity.
+     */
+    public LinkCutTree(int n) {
+        grow(n);
+    }
+
+    /**
+     * @return number of nodes
+     */
+    public int size() {
+        return left.length;
+    }
+
+    /**
+     * Adds isolated nodes up to a total of n; existing nodes keep their links and values.
+     */
+    public void grow(int n) {
+        int old = left.length;
+        if (n <= old) return;
+        left = Arrays.copyOf(left, n);
+        right = Arrays.copyOf(right, n);
+        parent = Arrays.copyOf(parent, n);
+        flipped = Arrays.copyOf(flipped, n);
+        value = Arrays.copyOf(value, n);
+        maxNode = Arrays.copyOf(maxNode, n);
+        stack = new int[n];
+        for (int x = old; x < n; x++) {
+            left[x] = right[x] = parent[x] = NIL;
+            value[x] = Double.NEGATIVE_INFINITY;
+            maxNode[x] = x;
+        }
+    }
+
+    public double value(int x) {
+        return value[x];
+    }
+
+    /**
+     * Sets the value of x; allowed while x is linked.
+     */
+    public void setValue(int x, double v) {
+        access(x);
+        value[x] = v;
+        pull(x);
+    }
+
+    /**
+     * @return true if u and v are in the same tree
+     */
+    public boolean connected(int u, int v) {
+        return u == v || findRoot(u) == findRoot(v);
+    }
+
+    /**
+     * Joins the trees of u and v with the edge u-v; they must be in different trees.
+     */
+    public void link(int u, int v) {
+        makeRoot(u);
+        if (findRoot(v) == u) {
+            throw new IllegalArgumentException("Nodes " + u + " and " + v + " are already connected");
+        }
+        parent[u] = v;
+    }
+
+    /**
+     * Removes the tree edge u-v.
+     */
+    public void cut(int u, int v) {
+        makeRoot(u);
+        access(v);
+        // after access(v) with u as root, u-v is an edge iff u is v's left child with no right child
+        if (left[v] == u) push(u);
+        if (left[v] != u || right[u] != NIL) {
+            throw new IllegalArgumentException("Nodes " + u + " and " + v + " are not adjacent");
+        }
+        left[v] = NIL;
+        parent[u] = NIL;
+        pull(v);
+    }
+
+    /**
+     * @return the node with the largest value on the tree path u-v; u and v must be connected
+     */
+    public int pathMax(int u, int v) {
+        makeRoot(u);
+        access(v);
+        return maxNode[v];
+    }
+
+    // makes x the root of its represented tree
+    private void makeRoot(int x) {
+        access(x);
+        flipped[x] ^= true;
+        push(x);
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        while (true) {
+            push(x);
+            if (left[x] == NIL) break;
+            x = left[x];
+        }
+        splay(x);
+        return x;
+    }
+
+    // makes the root-to-x path preferred; afterwards x is the root of its splay tree with no right child
+    private void access(int x) {
+        int last = NIL;
+        for (int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void splay(int x) {
+        // push pending reversals from the splay root down to x
+        int top = 0;
+        stack[top++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            stack[top++] = parent[y];
+        }
+        while (top > 0) {
+            push(stack[--top]);
+        }
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigzig = (left[g] == p) == (left[p] == x);
+                rotate(zigzig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    // rotates x above its parent
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        boolean pIsRoot = isSplayRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NIL) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NIL) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pIsRoot) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        pull(p);
+        pull(x);
+    }
+
+    private void push(int x) {
+        if (!flipped[x]) return;
+        int l = left[x];
+        left[x] = right[x];
+        right[x] = l;
+        if (left[x] != NIL) flipped[left[x]] ^= true;
+        if (right[x] != NIL) flipped[right[x]] ^= true;
+        flipped[x] = false;
+    }
+
+    private void pull(int x) {
+        int best = x;
+        int l = left[x], r = right[x];
+        if (l != NIL && value[maxNode[l]] > value[best]) best = maxNode[l];
+        if (r != NIL && value[maxNode[r]] > value[best]) best = maxNode[r];
+        maxNode[x] = best;
+    }
+}
@@ -3,25 +3,58 @@ package hw3.utils;
 import edu.princeton.cs.algorithms.Edge;
 import edu.princeton.cs.algorithms.EdgeWeightedGraph;
 
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 /**
  * Tracks performance metrics for MST algorithms.
+ * Counters are {@link LongAdder}s, so they stay exact when an algorithm counts from
+ * several threads. How much is counted is chosen per object through {@link Instrumentation}.
+ * Only starting the JVM with {@code -Dmst.instrumentation=off} makes counting free: that switch
+ * is a static final constant, so the JIT removes the counting calls entirely. A per-object OFF
+ * still costs a field check per call, and SAMPLED a countdown per single event.
+ * Execution time runs from {@link #start}, which algorithms call once their working storage is
+ * allocated, until {@link #setResults} and is frozen there; Metrics that are never started, like
+ * those of cache hits, time from construction.
+ * {@link Phase} durations are accumulated separately with nanosecond resolution.
  */
 public class Metrics {
-    private long operationCount = 0;
+    /** Default mode for new Metrics, from the mst.instrumentation system property. */
+    public static final Instrumentation DEFAULT_INSTRUMENTATION = Instrumentation.fromSystemProperty();
+    /** In {@link Instrumentation#SAMPLED} mode one in this many single events is recorded, scaled up. */
+    public static final int SAMPLE_RATE = 64;
+    // events left until the next sample, for threads other than the one that created the Metrics
+    private static final ThreadLocal<int[]> COUNTDOWN = ThreadLocal.withInitial(() -> new int[] {nextGap()});
+    // constant-folded by the JIT: with -Dmst.instrumentation=off every count* call compiles to nothing
+    private static final boolean COUNTING = DEFAULT_INSTRUMENTATION != Instrumentation.OFF;
+    private static final Phase[] PHASES = Phase.values();
+    /** Column names of the rows written by {@link hw3.exporter.CSVResultWriter}. */
+    public static final String CSV_HEADER =
+            "timestamp,algorithm,graph_id,dataset,vertices,edges,comparisons,finds,unions,operations,time_ms,mst_weight,time_ns"
+                    + Arrays.stream(PHASES).map(phase -> "," + phase.getKey() + "_ns").reduce("", String::concat)
+                    + ",components,cached,spill_bytes,merge_passes";
+
+    private final LongAdder operationCount = new LongAdder();
     private long startTime = 0;
-    private long comparisons = 0;
-    private long finds = 0;
-    private long unions = 0;
+    private long endTime = -1;                                  // -1 while the algorithm is running
+    private final long[] phaseNanos = new long[PHASES.length];  // accumulated duration per phase
+    private final long[] phaseStart = new long[PHASES.length];  // start of the open interval per phase
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder unions = new LongAdder();
+    private final Instrumentation instrumentation;
+    private final Thread owner = Thread.currentThread();       // counts through the countdown field below
+    private int countdown = nextGap();                          // events left until the owner's next sample
     private final String algorithmName;
     private  double mstWeight;
     private  List<Edge> mstEdges;
-    private  EdgeWeightedGraph graph;
+    private final int graphV;
+    private final int graphE;
+    private boolean cached;                                     // result was read from a ResultCache
+    private List<ComponentStats> components = List.of();        // per component, if solved component by component
+    private long spillBytes;                                    // bytes written to temp files by an external sort
+    private int mergePasses;                                    // passes over the spilled runs
 
     /**
      * Constructs a Metrics object for a given algorithm and graph.
@@ -30,10 +63,40 @@ public class Metrics {
      * @param graph         Graph being processed.
      */
     public Metrics(String algorithmName, EdgeWeightedGraph graph) {
+        this(algorithmName, graph.V(), graph.E());
+    }
+    /**
+     * Constructs a Metrics object from the graph size only, so the graph itself is not retained.
+     *
+     * @param algorithmName Name of the algorithm.
+     * @param vertices      Number of vertices in the processed graph.
+     * @param edges         Number of edges in the processed graph.
+     */
+    public Metrics(String algorithmName, int vertices, int edges) {
+        this(algorithmName, vertices, edges, DEFAULT_INSTRUMENTATION);
+    }
+    /**
+     * Constructs a Metrics object with an explicit instrumentation mode.
+     *
+     * @param algorithmName   Name of the algorithm.
+     * @param vertices        Number of vertices in the processed graph.
+     * @param edges           Number of edges in the processed graph.
+     * @param instrumentation How much to count; has no effect when counting is off JVM-wide.
+     */
+    public Metrics(String algorithmName, int vertices, int edges, Instrumentation instrumentation) {
         this.algorithmName = algorithmName;
-        this.graph = graph;
+        this.instrumentation = COUNTING ? instrumentation : Instrumentation.OFF;
+        this.graphV = vertices;
+        this.graphE = edges;
         this.startTime = System.nanoTime();
     }
+    /**
+     * Restarts the execution clock, so allocating the algorithm's arrays is not counted.
+     */
+    public void start() {
+        startTime = System.nanoTime();
+    }
+
     /**
      * Sets the MST results.
      *
@@ -41,54 +104,128 @@ public class Metrics {
      * @param mstEdges  List of edges in the MST.
      */
     public void setResults(double mstWeight, List<Edge> mstEdges) {
+        stop();
         this.mstWeight = mstWeight;
         this.mstEdges = mstEdges;
     }
 
+    /**
+     * Freezes the execution time; later calls have no effect.
+     */
+    public void stop() {
+        if (endTime < 0) endTime = System.nanoTime();
+    }
 
-    public void countOperation() { operationCount++; }
-    public void countComparison() { comparisons++; }
-    public void countComparison(long n) { comparisons += n; }
-    public void countFind() { finds++; }
-    public void countUnion() { unions++; }
+    /**
+     * Records the results of the individual components of a minimum spanning forest.
+     *
+     * @param components One entry per component with at least two vertices.
+     */
+    public void setComponents(List<ComponentStats> components) {
+        this.components = List.copyOf(components);
+    }
 
+    /**
+     * Records the temp-file traffic of an out-of-core algorithm.
+     *
+     * @param spillBytes  Bytes written to temp files, intermediate merges included.
+     * @param mergePasses Passes over the spilled runs, the final merge included.
+     */
+    public void setSpill(long spillBytes, int mergePasses) {
+        this.spillBytes = spillBytes;
+        this.mergePasses = mergePasses;
+    }
 
-    public long getOperationCount() { return operationCount; }
-    public long getComparisons() { return comparisons; }
-    public long getFinds() { return finds; }
-    public long getUnions() { return unions; }
+    /**
+     * Marks the result as read back from a cache rather than computed; its counters stay zero.
+     */
+    public void markCached() {
+        this.cached = true;
+    }
 
-    public double getMstWeight() { return mstWeight; }
-    public List<Edge> getMstEdges() { return mstEdges; }
-    public String getAlgorithmName() { return algorithmName; }
-    public int getGraphV() { return graph.V(); }
-    public int getGraphE() { return graph.E(); }
-    public long getExecutionTimeMs() { return (System.nanoTime() - startTime) / 1_000_000; }
-
-    // CSV EXPORT
-    public static void createCSVHeader(String filename) throws IOException {
-        try (PrintWriter w = new PrintWriter(new FileWriter(filename, false))) {
-            w.println("timestamp,algorithm,graph_id,dataset,vertices,edges,comparisons,finds,unions,operations,time_ms,mst_weight");
-        }
+    /**
+     * Starts timing a phase. Phases may be entered repeatedly; their durations add up.
+     */
+    public void startPhase(Phase phase) {
+        phaseStart[phase.ordinal()] = System.nanoTime();
     }
-/**
- * Exports metrics to a CSV file with graph details.
- */
-    public void exportToCSVWithGraph(String filename, String datasetName, int graphId) throws IOException {
-        try (var writer = new PrintWriter(new FileWriter(filename, true))) {
-            String ts = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-
-            writer.printf("%s,%s,%d,%s,%d,%d,%d,%d,%d,%d,%d,%.2f%n",
-                    ts, algorithmName, graphId, datasetName,
-                    getGraphV(), getGraphE(),
-                    comparisons, finds, unions, operationCount,
-                    getExecutionTimeMs(), mstWeight
-            );
+
+    /**
+     * Ends the interval opened by the last {@link #startPhase} for this phase.
+     */
+    public void stopPhase(Phase phase) {
+        phaseNanos[phase.ordinal()] += System.nanoTime() - phaseStart[phase.ordinal()];
+    }
+
+    /**
+     * Adds a duration measured elsewhere, such as the loader's parse time.
+     */
+    public void recordPhase(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+
+    public void countOperation() { count(operationCount); }
+    public void countOperation(long n) { count(operationCount, n); }
+    public void countComparison() { count(comparisons); }
+    public void countComparison(long n) { count(comparisons, n); }
+    public void countFind() { count(finds); }
+    public void countFind(long n) { count(finds, n); }
+    public void countUnion() { count(unions); }
+    public void countUnion(long n) { count(unions, n); }
+
+    private void count(LongAdder counter) {
+        if (!COUNTING || instrumentation == Instrumentation.OFF) return;
+        if (instrumentation == Instrumentation.FULL) {
+            counter.increment();
+        } else if (Thread.currentThread() == owner) {
+            if (--countdown == 0) {
+                countdown = nextGap();
+                counter.add(SAMPLE_RATE);
+            }
+        } else {
+            int[] left = COUNTDOWN.get();
+            if (--left[0] == 0) {
+                left[0] = nextGap();
+                counter.add(SAMPLE_RATE);
+            }
         }
     }
+
+    // gaps average SAMPLE_RATE but vary, so events that alternate in a fixed pattern are not always skipped
+    private static int nextGap() {
+        return 1 + ThreadLocalRandom.current().nextInt(2 * SAMPLE_RATE - 1);
+    }
+
+    // bulk counts are already one call per batch, so they are recorded exactly unless counting is off
+    private void count(LongAdder counter, long n) {
+        if (!COUNTING || instrumentation == Instrumentation.OFF) return;
+        counter.add(n);
+    }
+
+
+    public long getOperationCount() { return operationCount.sum(); }
+    public long getComparisons() { return comparisons.sum(); }
+    public long getFinds() { return finds.sum(); }
+    public long getUnions() { return unions.sum(); }
+    public Instrumentation getInstrumentation() { return instrumentation; }
+
+    public double getMstWeight() { return mstWeight; }
+    public List<Edge> getMstEdges() { return mstEdges; }
+    public String getAlgorithmName() { return algorithmName; }
+    public int getGraphV() { return graphV; }
+    public int getGraphE() { return graphE; }
+    public boolean isCached() { return cached; }
+    public List<ComponentStats> getComponents() { return components; }
+    public long getSpillBytes() { return spillBytes; }
+    public int getMergePasses() { return mergePasses; }
+    public long getExecutionTimeNanos() { return (endTime < 0 ? System.nanoTime() : endTime) - startTime; }
+    public double getExecutionTimeMs() { return getExecutionTimeNanos() / 1_000_000.0; }
+    public long getPhaseNanos(Phase phase) { return phaseNanos[phase.ordinal()]; }
+
     @Override
     public String toString() {
-        return String.format("%s: %.5f (%.0f ops, %.0f ms)",
-                algorithmName, mstWeight, (double)operationCount, (double)getExecutionTimeMs());
+        return String.format("%s: %.5f (%.0f ops, %.3f ms)",
+                algorithmName, mstWeight, (double)getOperationCount(), getExecutionTimeMs());
     }
 }
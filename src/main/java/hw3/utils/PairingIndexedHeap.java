@@ -0,0 +1,127 @@
+package hw3.utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed pairing heap over primitive double keys. Nodes are the indices themselves
+ * and the tree links live in int arrays, so no node objects are allocated.
+ * Insert and decrease-key are a constant-time meld with the root; delete-min
+ * rebuilds the root with the standard two-pass pairing of its children.
+ */
+public class PairingIndexedHeap implements IndexedDoubleHeap {
+    private static final int NIL = -1;
+
+    private final int maxN;
+    private int n;
+    private int root = NIL;
+    private final double[] keys;
+    private final int[] child;     // leftmost child
+    private final int[] sibling;   // next sibling to the right
+    private final int[] prev;      // parent if leftmost child, else left sibling
+    private final boolean[] present;
+    private final int[] pairs;     // scratch space for delMin's first pass
+
+    /**
+     * @param maxN indices are in 0..maxN-1
+     */
+    public PairingIndexedHeap(int maxN) {
+        if (maxN < 0) throw new IllegalArgumentException("maxN must be non-negative");
+        this.maxN = maxN;
+        keys = new double[maxN];
+        child = new int[maxN];
+        sibling = new int[maxN];
+        prev = new int[maxN];
+        present = new boolean[maxN];
+        pairs = new int[maxN];
+    }
+
+    @Override
+    public boolean isEmpty() { return n == 0; }
+    @Override
+    public int size() { return n; }
+
+    @Override
+    public boolean contains(int i) {
+        validateIndex(i);
+        return present[i];
+    }
+
+    @Override
+    public void insert(int i, double key) {
+        validateIndex(i);
+        if (present[i]) throw new IllegalArgumentException("index is already in the priority queue");
+        keys[i] = key;
+        child[i] = sibling[i] = prev[i] = NIL;
+        present[i] = true;
+        n++;
+        root = meld(root, i);
+    }
+
+    @Override
+    public void decreaseKey(int i, double key) {
+        if (!contains(i)) throw new NoSuchElementException("index is not in the priority queue");
+        if (keys[i] < key) throw new IllegalArgumentException("Calling decreaseKey() with a key strictly greater than the key in the priority queue");
+        keys[i] = key;
+        if (i == root) return;
+
+        // cut the subtree rooted at i and meld it back in at the top
+        int p = prev[i];
+        if (child[p] == i) child[p] = sibling[i];
+        else sibling[p] = sibling[i];
+        if (sibling[i] != NIL) prev[sibling[i]] = p;
+        sibling[i] = prev[i] = NIL;
+        root = meld(root, i);
+    }
+
+    @Override
+    public int delMin() {
+        if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+        int min = root;
+        present[min] = false;
+        n--;
+
+        // first pass: meld children pairwise from left to right
+        int count = 0;
+        int c = child[min];
+        while (c != NIL) {
+            int a = c;
+            int b = sibling[a];
+            c = b == NIL ? NIL : sibling[b];
+            sibling[a] = prev[a] = NIL;
+            if (b != NIL) {
+                sibling[b] = prev[b] = NIL;
+                a = meld(a, b);
+            }
+            pairs[count++] = a;
+        }
+        // second pass: meld the pairs from right to left
+        int r = NIL;
+        while (count > 0) {
+            r = meld(pairs[--count], r);
+        }
+        root = r;
+        child[min] = NIL;
+        return min;
+    }
+
+    // links two roots, making the larger one the leftmost child of the smaller
+    private int meld(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (keys[b] < keys[a]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        sibling[b] = child[a];
+        if (child[a] != NIL) prev[child[a]] = b;
+        prev[b] = a;
+        child[a] = b;
+        sibling[a] = prev[a] = NIL;
+        return a;
+    }
+
+    private void validateIndex(int i) {
+        if (i < 0 || i >= maxN) throw new IllegalArgumentException("index out of range: " + i);
+    }
+}
@@ -0,0 +1,30 @@
+package hw3.utils;
+
+import java.util.Locale;
+
+/**
+ * Timed stages of loading a graph and computing its MST, recorded by {@link Metrics}.
+ */
+public enum Phase {
+    /** Parsing the graph from its input file. */
+    LOAD,
+    /** Packing parsed edges into the in-memory graph. */
+    BUILD,
+    /** Splitting the graph into connected components. */
+    COMPONENTS,
+    /** Ordering or partitioning edges by weight. */
+    SORT,
+    /** Greedy edge selection through union-find (Kruskal, Borůvka). */
+    UNION_FIND,
+    /** Priority-queue driven growth of the tree (Prim). */
+    PQ_LOOP,
+    /** Checking the result. */
+    VERIFY;
+
+    /**
+     * @return lower-case name used in CSV columns and JSON keys
+     */
+    public String getKey() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
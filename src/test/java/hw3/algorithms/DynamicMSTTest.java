@@ -0,0 +1,188 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.algorithms.DynamicMST.Update;
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks {@link DynamicMST} against Kruskal after every batch of inserts, deletes and weight
+ * changes: the tree weight, the certificate, and with distinct weights the exact tree edges.
+ * Batches often touch one edge twice or update an edge they inserted; a batch that is invalid
+ * anywhere must leave the tree unchanged.
+ */
+class DynamicMSTTest {
+    private static final double TOLERANCE = 1e-9;
+
+    // distinct weights: the MST is unique, so inTree must match Kruskal edge for edge
+    @Test
+    void distinctWeightsMatchKruskal() {
+        Random random = new Random(11);
+        for (int round = 0; round < 30; round++) {
+            runRandomBatches(random, false);
+        }
+    }
+
+    // few distinct weights: many minimum trees, so the tree is checked by weight and certificate
+    @Test
+    void tiedWeightsMatchKruskal() {
+        Random random = new Random(12);
+        for (int round = 0; round < 30; round++) {
+            runRandomBatches(random, true);
+        }
+    }
+
+    @Test
+    void invalidBatchChangesNothing() {
+        Model model = new Model(4);
+        model.add(0, 1, 1.0);
+        model.add(1, 2, 2.0);
+        DynamicMST mst = new DynamicMST(model.graph());
+
+        List<Update> batch = List.of(Update.delete(0), Update.changeWeight(0, 5.0));
+        assertThrows(IllegalArgumentException.class, () -> mst.applyBatch(batch));
+        assertThrows(IllegalArgumentException.class, () -> mst.applyBatch(List.of(Update.insert(0, 4, 1.0))));
+        assertThrows(IllegalArgumentException.class, () -> mst.applyBatch(List.of(Update.changeWeight(1, Double.NaN))));
+        assertEquals(3.0, mst.weight(), TOLERANCE);
+        assertEquals(2, mst.getE());
+    }
+
+    private static void runRandomBatches(Random random, boolean ties) {
+        int V = 2 + random.nextInt(30);
+        Model model = new Model(V);
+        int initial = random.nextInt(3 * V);
+        for (int i = 0; i < initial; i++) {
+            model.add(random.nextInt(V), random.nextInt(V), weight(random, ties));
+        }
+        DynamicMST mst = new DynamicMST(model.graph());
+        assertMatches(model, mst);
+
+        for (int batch = 0; batch < 8; batch++) {
+            int size = 1 + random.nextInt(random.nextBoolean() ? 8 : 150);
+            List<Update> updates = new ArrayList<>();
+            double[] expected = new double[size];
+            for (int u = 0; u < size; u++) {
+                updates.add(randomUpdate(random, model, ties));
+                expected[u] = model.kruskal().weight();
+            }
+
+            double[] actual = mst.applyBatch(updates);
+            assertEquals(size, actual.length);
+            for (int u = 0; u < size; u++) {
+                assertEquals(expected[u], actual[u], TOLERANCE * Math.max(1, Math.abs(expected[u])),
+                        "weight after update " + u + " (" + updates.get(u) + ") of a batch of " + size);
+            }
+            assertMatches(model, mst);
+        }
+    }
+
+    // draws an update that is valid for the model and applies it there
+    private static Update randomUpdate(Random random, Model model, boolean ties) {
+        List<Integer> live = model.live();
+        int kind = live.isEmpty() ? 0 : random.nextInt(4);
+        if (kind == 0) {
+            int v = random.nextInt(model.V), w = random.nextInt(model.V);
+            double weight = weight(random, ties);
+            model.add(v, w, weight);
+            return Update.insert(v, w, weight);
+        }
+        // prefer recently touched edges, so one batch often hits an edge twice or one it inserted
+        int e = random.nextBoolean() && !model.recent.isEmpty()
+                ? model.recent.get(random.nextInt(model.recent.size()))
+                : live.get(random.nextInt(live.size()));
+        if (!model.alive.get(e)) e = live.get(random.nextInt(live.size()));
+        if (kind == 1) {
+            model.alive.set(e, false);
+            model.recent.add(e);
+            return Update.delete(e);
+        }
+        double weight = weight(random, ties);
+        model.weight.set(e, weight);
+        model.recent.add(e);
+        return Update.changeWeight(e, weight);
+    }
+
+    private static double weight(Random random, boolean ties) {
+        return ties ? random.nextInt(4) : random.nextDouble();
+    }
+
+    private static void assertMatches(Model model, DynamicMST mst) {
+        CSRGraph graph = mst.toGraph();
+        CSRKruskal kruskal = new CSRKruskal(graph);
+        assertEquals(kruskal.weight(), mst.weight(), TOLERANCE * Math.max(1, Math.abs(kruskal.weight())));
+        assertEquals(model.kruskal().weight(), mst.weight(), TOLERANCE * Math.max(1, Math.abs(kruskal.weight())));
+        assertNull(MSTVerifier.findViolation(graph, mst));
+
+        // weights are distinct unless tied on purpose; then the tree edge set is unique
+        Map<Double, Integer> byWeight = new HashMap<>();
+        boolean distinct = true;
+        for (int e : model.live()) {
+            distinct &= byWeight.put(model.weight.get(e), e) == null;
+        }
+        if (!distinct) return;
+        boolean[] expected = new boolean[model.from.size()];
+        for (Edge edge : kruskal.edges()) {
+            expected[byWeight.get(edge.weight())] = true;
+        }
+        for (int e = 0; e < model.from.size(); e++) {
+            assertEquals(model.alive.get(e), mst.isAlive(e), "liveness of edge " + e);
+            assertEquals(model.weight.get(e), mst.weight(e), "weight of edge " + e);
+            assertEquals(expected[e], mst.inTree(e), "edge " + e + " in tree");
+            if (!model.alive.get(e)) assertFalse(mst.inTree(e));
+        }
+    }
+
+    // the graph as the updates leave it, edge ids as DynamicMST hands them out
+    private static final class Model {
+        final int V;
+        final List<Integer> from = new ArrayList<>();
+        final List<Integer> to = new ArrayList<>();
+        final List<Double> weight = new ArrayList<>();
+        final List<Boolean> alive = new ArrayList<>();
+        final List<Integer> recent = new ArrayList<>();
+
+        Model(int V) {
+            this.V = V;
+        }
+
+        void add(int v, int w, double cost) {
+            recent.add(from.size());
+            from.add(v);
+            to.add(w);
+            weight.add(cost);
+            alive.add(true);
+        }
+
+        List<Integer> live() {
+            List<Integer> live = new ArrayList<>();
+            for (int e = 0; e < alive.size(); e++) {
+                if (alive.get(e)) live.add(e);
+            }
+            return live;
+        }
+
+        CSRGraph graph() {
+            CSRGraphBuilder builder = new CSRGraphBuilder();
+            for (int e = 0; e < from.size(); e++) {
+                if (alive.get(e)) builder.addEdge(from.get(e), to.get(e), weight.get(e));
+            }
+            return builder.build(V);
+        }
+
+        CSRKruskal kruskal() {
+            return new CSRKruskal(graph());
+        }
+    }
+}
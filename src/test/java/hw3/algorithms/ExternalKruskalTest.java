@@ -0,0 +1,93 @@
+package hw3.algorithms;
+
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the spill and multi-pass merge path with tiny runs and a fan-in of 2, which the
+ * default 4M-edge runs never reach on the bundled datasets.
+ */
+class ExternalKruskalTest {
+
+    @Test
+    void spilledRunsGiveTheKruskalWeight() throws IOException {
+        Random random = new Random(41);
+        Path tempDir = Files.createTempDirectory("external-kruskal-test");
+        try {
+            for (int trial = 0; trial < 300; trial++) {
+                int V = 1 + random.nextInt(60);
+                int E = 1 + random.nextInt(8 * V);
+                CSRGraph graph = randomGraph(random, V, E);
+                int runEdges = 1 + random.nextInt(Math.max(1, E / 2));
+                int fanIn = trial % 3 == 0 ? 2 + random.nextInt(4) : 2;
+
+                ExternalKruskal external = new ExternalKruskal(graph, runEdges, fanIn, tempDir);
+                CSRKruskal kruskal = new CSRKruskal(graph);
+                String message = "trial " + trial + ": V=" + V + ", E=" + E + ", runEdges=" + runEdges + ", fanIn=" + fanIn;
+                assertEquals(kruskal.weight(), external.weight(), 1e-9 * Math.max(1, kruskal.weight()), message);
+                assertEquals(kruskal.getMstEdgeIds().length, external.getMetrics().getMstEdges().size(), message);
+
+                // every pass but the last rewrites all E records; the last one feeds the union-find
+                int runs = (E + runEdges - 1) / runEdges;
+                int passes = 0;
+                long spilled = 0;
+                if (runs > 1) {
+                    spilled = 16L * E;
+                    for (int left = runs; left > fanIn; left = (left + fanIn - 1) / fanIn) {
+                        spilled += 16L * E;
+                        passes++;
+                    }
+                    passes++;
+                }
+                assertEquals(runs > 1 ? runs : 0, external.getRunCount(), message);
+                assertEquals(spilled, external.getMetrics().getSpillBytes(), message);
+                assertEquals(passes, external.getMetrics().getMergePasses(), message);
+                assertEmpty(tempDir, message);
+            }
+        } finally {
+            Files.delete(tempDir);
+        }
+    }
+
+    @Test
+    void graphThatFitsOneRunIsNotSpilled() throws IOException {
+        Path tempDir = Files.createTempDirectory("external-kruskal-test");
+        try {
+            CSRGraph graph = randomGraph(new Random(42), 50, 200);
+            ExternalKruskal external = new ExternalKruskal(graph, 200, 2, tempDir);
+            assertEquals(new CSRKruskal(graph).weight(), external.weight(), 1e-9);
+            assertEquals(0, external.getRunCount());
+            assertEquals(0, external.getMetrics().getSpillBytes());
+            assertEquals(0, external.getMetrics().getMergePasses());
+            assertEmpty(tempDir, "in-memory run");
+        } finally {
+            Files.delete(tempDir);
+        }
+    }
+
+    // integer weights in half the graphs, so runs hold many ties
+    private static CSRGraph randomGraph(Random random, int V, int E) {
+        boolean ties = random.nextBoolean();
+        CSRGraphBuilder builder = new CSRGraphBuilder(E);
+        for (int i = 0; i < E; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), ties ? random.nextInt(5) : random.nextDouble());
+        }
+        return builder.build(V);
+    }
+
+    private static void assertEmpty(Path dir, String message) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.findAny().isEmpty(), "temp files left behind: " + message);
+        }
+    }
+}
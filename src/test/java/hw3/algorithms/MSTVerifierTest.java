@@ -0,0 +1,132 @@
+package hw3.algorithms;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import hw3.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that {@link MSTVerifier} accepts a spanning forest exactly when it weighs as much as
+ * the Kruskal forest, accepts every algorithm's output, and rejects forests with an edge
+ * missing, a cycle, or an edge that is not in the graph.
+ */
+class MSTVerifierTest {
+
+    // any spanning forest of the graph, taken greedily in random edge order
+    @Test
+    void acceptsExactlyTheMinimumForests() {
+        Random random = new Random(21);
+        int accepted = 0, rejected = 0;
+        for (int trial = 0; trial < 2000; trial++) {
+            CSRGraph graph = randomGraph(random);
+            double minimum = new CSRKruskal(graph).weight();
+            List<Edge> forest = randomSpanningForest(graph, random, trial % 2 == 0);
+            double weight = forest.stream().mapToDouble(Edge::weight).sum();
+
+            String violation = MSTVerifier.findViolation(graph, tree(forest));
+            if (Math.abs(weight - minimum) <= 1e-9 * Math.max(1, minimum)) {  // summed in another order
+                assertNull(violation, "minimum forest rejected in trial " + trial);
+                accepted++;
+            } else {
+                assertNotNull(violation, "forest of weight " + weight + " > " + minimum + " accepted in trial " + trial);
+                rejected++;
+            }
+        }
+        assertEquals(2000, accepted + rejected);
+    }
+
+    @Test
+    void acceptsEveryAlgorithm() {
+        Random random = new Random(22);
+        for (int trial = 0; trial < 300; trial++) {
+            CSRGraph graph = randomGraph(random);
+            assertNull(MSTVerifier.findViolation(graph, new CSRKruskal(graph)));
+            assertNull(MSTVerifier.findViolation(graph, new CSRPrim(graph)));
+            assertNull(MSTVerifier.findViolation(graph, new DynamicMST(graph)));
+        }
+    }
+
+    @Test
+    void rejectsBrokenForests() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 1000; trial++) {
+            CSRGraph graph = randomGraph(random);
+            List<Edge> mst = new ArrayList<>();
+            new CSRKruskal(graph).edges().forEach(mst::add);
+            if (mst.isEmpty()) continue;
+
+            // an edge missing: no longer spanning
+            List<Edge> missing = new ArrayList<>(mst);
+            missing.remove(random.nextInt(missing.size()));
+            assertNotNull(MSTVerifier.findViolation(graph, tree(missing)), "missing edge in trial " + trial);
+
+            // a graph edge added: a cycle
+            List<Edge> extra = new ArrayList<>(mst);
+            extra.add(graph.toEdge(random.nextInt(graph.E())));
+            assertNotNull(MSTVerifier.findViolation(graph, tree(extra)), "extra edge in trial " + trial);
+
+            // a tree edge reweighed: not a graph edge
+            List<Edge> reweighed = new ArrayList<>(mst);
+            Edge e = reweighed.remove(0);
+            int v = e.either();
+            reweighed.add(new Edge(v, e.other(v), e.weight() + 0.5));
+            assertNotNull(MSTVerifier.findViolation(graph, tree(reweighed)), "reweighed edge in trial " + trial);
+        }
+    }
+
+    // small integer weights in half the graphs, so ties and several minimum forests are common
+    private static CSRGraph randomGraph(Random random) {
+        int V = 1 + random.nextInt(15);
+        int E = 1 + random.nextInt(3 * V);
+        boolean ties = random.nextBoolean();
+        CSRGraphBuilder builder = new CSRGraphBuilder(E);
+        for (int i = 0; i < E; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), ties ? random.nextInt(3) : random.nextDouble());
+        }
+        return builder.build(V);
+    }
+
+    // Kruskal over the edges in random order, or by weight with ties broken at random
+    private static List<Edge> randomSpanningForest(CSRGraph graph, Random random, boolean sorted) {
+        List<Integer> order = new ArrayList<>();
+        for (int e = 0; e < graph.E(); e++) order.add(e);
+        Collections.shuffle(order, random);
+        if (sorted) order.sort((a, b) -> Double.compare(graph.weight(a), graph.weight(b)));
+
+        int[] parent = new int[graph.V()];
+        for (int v = 0; v < parent.length; v++) parent[v] = v;
+        List<Edge> forest = new ArrayList<>();
+        for (int e : order) {
+            int a = find(parent, graph.from(e)), b = find(parent, graph.to(e));
+            if (a != b) {
+                parent[a] = b;
+                forest.add(graph.toEdge(e));
+            }
+        }
+        return forest;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) v = parent[v];
+        return v;
+    }
+
+    private static MinimumSpanningTree tree(List<Edge> edges) {
+        double weight = edges.stream().mapToDouble(Edge::weight).sum();
+        return new MinimumSpanningTree() {
+            @Override public Metrics getMetrics() { return new Metrics("Test forest", 0, 0); }
+            @Override public Iterable<Edge> edges() { return edges; }
+            @Override public double weight() { return weight; }
+        };
+    }
+}
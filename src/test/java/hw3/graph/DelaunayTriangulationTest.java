@@ -0,0 +1,125 @@
+package hw3.graph;
+
+import hw3.algorithms.CSRKruskal;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the Delaunay graph against a brute-force Euclidean MST: the MST of the
+ * triangulation edges must weigh as much as the MST of all V(V-1)/2 pairs.
+ */
+class DelaunayTriangulationTest {
+
+    @Test
+    void uniformPointsMatchBruteForce() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 3 + random.nextInt(60);
+            double[] coords = new double[2 * n];
+            for (int i = 0; i < coords.length; i++) coords[i] = random.nextDouble();
+            assertEuclideanMST(coords, "uniform trial " + trial);
+        }
+    }
+
+    // collinear rows far apart: the sweep meets points on hull edges and close orientation calls
+    @Test
+    void nearDegenerateRowsMatchBruteForce() {
+        Random random = new Random(2);
+        for (int trial = 0; trial < 2000; trial++) {
+            int n = 3 + random.nextInt(30);
+            double[] coords = new double[2 * n];
+            for (int i = 0; i < n; i++) {
+                coords[2 * i] = random.nextInt(3) * 1e6 + random.nextDouble();
+                coords[2 * i + 1] = random.nextInt(3);
+            }
+            assertEuclideanMST(coords, "row trial " + trial);
+        }
+    }
+
+    // a thin sliver along a line: the sweep meets points inside the hull and on its edges
+    @Test
+    void nearlyCollinearPointsMatchBruteForce() {
+        Random random = new Random(5);
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 3 + random.nextInt(150);
+            double[] coords = new double[2 * n];
+            for (int i = 0; i < n; i++) {
+                double t = random.nextDouble();
+                coords[2 * i] = 1e5 + t;
+                coords[2 * i + 1] = 1e5 + 3 * t + (random.nextInt(10) == 0 ? random.nextDouble() * 1e-9 : 0);
+            }
+            assertEuclideanMST(coords, "sliver trial " + trial);
+        }
+    }
+
+    @Test
+    void integerGridMatchesBruteForce() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 3 + random.nextInt(40);
+            double[] coords = new double[2 * n];
+            for (int i = 0; i < coords.length; i++) coords[i] = random.nextInt(5);
+            assertEuclideanMST(coords, "grid trial " + trial);
+        }
+    }
+
+    @Test
+    void trianglesAreCounterClockwiseWithMatchingHalfedges() {
+        Random random = new Random(4);
+        double[] coords = new double[2 * 1000];
+        for (int i = 0; i < coords.length; i++) coords[i] = random.nextDouble() * 1e6;
+        DelaunayTriangulation triangulation = new DelaunayTriangulation(coords);
+        int[] triangles = triangulation.triangles();
+        int[] halfedges = triangulation.halfedges();
+        for (int t = 0; t < triangles.length; t += 3) {
+            int a = triangles[t], b = triangles[t + 1], c = triangles[t + 2];
+            double area = (coords[2 * b] - coords[2 * a]) * (coords[2 * c + 1] - coords[2 * a + 1])
+                    - (coords[2 * b + 1] - coords[2 * a + 1]) * (coords[2 * c] - coords[2 * a]);
+            assertTrue(area > 0, "triangle " + t / 3 + " is not counter-clockwise");
+        }
+        for (int e = 0; e < halfedges.length; e++) {
+            int o = halfedges[e];
+            if (o == -1) continue;
+            assertEquals(e, halfedges[o]);
+            assertEquals(triangulation.start(e), triangulation.end(o));
+            assertEquals(triangulation.end(e), triangulation.start(o));
+        }
+    }
+
+    private static void assertEuclideanMST(double[] coords, String message) {
+        CSRGraph graph = EuclideanGraph.delaunay(coords);
+        double expected = bruteForceWeight(coords);
+        double actual = new CSRKruskal(graph).weight();
+        assertEquals(expected, actual, 1e-6 * Math.max(1, expected),
+                message + ": " + Arrays.toString(coords));
+    }
+
+    // O(V^2) Prim on the complete graph
+    private static double bruteForceWeight(double[] coords) {
+        int n = coords.length / 2;
+        double[] dist = new double[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[0] = 0;
+        double weight = 0;
+        for (int k = 0; k < n; k++) {
+            int v = -1;
+            for (int i = 0; i < n; i++) {
+                if (!inTree[i] && (v < 0 || dist[i] < dist[v])) v = i;
+            }
+            inTree[v] = true;
+            weight += dist[v];
+            for (int w = 0; w < n; w++) {
+                if (inTree[w]) continue;
+                double dx = coords[2 * v] - coords[2 * w], dy = coords[2 * v + 1] - coords[2 * w + 1];
+                dist[w] = Math.min(dist[w], Math.sqrt(dx * dx + dy * dy));
+            }
+        }
+        return weight;
+    }
+}
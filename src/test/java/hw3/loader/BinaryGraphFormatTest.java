@@ -0,0 +1,165 @@
+package hw3.loader;
+
+import hw3.generator.BinaryGraphSink;
+import hw3.generator.GraphGenerator;
+import hw3.generator.JsonGraphSink;
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import hw3.graph.NodeLabels;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Writes graphs with {@link BinaryGraphWriter} and maps them back with {@link BinaryGraphLoader}:
+ * every CSR array and label must survive unchanged, a graph streamed through
+ * {@link BinaryGraphSink} must produce the same bytes as converting it from JSON, and damaged
+ * files must fail with an IOException.
+ */
+class BinaryGraphFormatTest {
+
+    @Test
+    void writtenGraphsMapBackUnchanged() throws IOException {
+        Random random = new Random(61);
+        Path file = Files.createTempFile("graphs", BinaryGraphLoader.EXTENSION);
+        try {
+            List<CSRGraph> graphs = new ArrayList<>();
+            List<NodeLabels> labels = new ArrayList<>();
+            try (BinaryGraphWriter writer = new BinaryGraphWriter(file)) {
+                for (int id = 0; id < 40; id++) {
+                    int V = random.nextInt(50);
+                    CSRGraphBuilder builder = new CSRGraphBuilder();
+                    for (int i = 0, E = V == 0 ? 0 : random.nextInt(4 * V); i < E; i++) {
+                        builder.addEdge(random.nextInt(V), random.nextInt(V), random.nextGaussian());
+                    }
+                    List<String> names = new ArrayList<>();
+                    for (int v = 0; v < V; v++) {
+                        names.add(random.nextBoolean() ? "Station " + v : "Zürich-" + v + "-東京".repeat(v % 3));
+                    }
+                    graphs.add(builder.build(V));
+                    labels.add(NodeLabels.of(names));
+                    writer.write(id * 7, graphs.get(id), labels.get(id));
+                }
+            }
+
+            try (BinaryGraphLoader loader = new BinaryGraphLoader(file)) {
+                assertEquals(graphs.size(), loader.graphCount());
+                for (int id = 0; id < graphs.size(); id++) {
+                    LoadedGraph loaded = loader.next();
+                    assertEquals(id * 7, loaded.id());
+                    assertSameGraph(graphs.get(id), loaded.graph());
+                    assertSameLabels(labels.get(id), loaded.labels());
+                }
+                assertNull(loader.next());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void sinkWritesWhatTheConverterWrites() throws IOException {
+        Path json = Files.createTempFile("generated", ".json");
+        Path converted = Files.createTempFile("converted", BinaryGraphLoader.EXTENSION);
+        Path streamed = Files.createTempFile("streamed", BinaryGraphLoader.EXTENSION);
+        try {
+            for (GraphGenerator.Kind kind : GraphGenerator.Kind.values()) {
+                GraphGenerator generator = new GraphGenerator(kind, 200, 1500);
+                try (OutputStream out = Files.newOutputStream(json); JsonGraphSink sink = new JsonGraphSink(out)) {
+                    for (int id = 1; id <= 3; id++) generator.generate(id, 100 + id, sink);
+                }
+                try (BinaryGraphSink sink = new BinaryGraphSink(streamed)) {
+                    for (int id = 1; id <= 3; id++) generator.generate(id, 100 + id, sink);
+                }
+                assertEquals(3, BinaryGraphWriter.convert(json.toString(), converted));
+                assertArrayEquals(Files.readAllBytes(converted), Files.readAllBytes(streamed), kind.toString());
+            }
+        } finally {
+            Files.delete(json);
+            Files.delete(converted);
+            Files.delete(streamed);
+        }
+    }
+
+    @Test
+    void damagedFilesAreRejected() throws IOException {
+        Path file = Files.createTempFile("damaged", BinaryGraphLoader.EXTENSION);
+        try {
+            CSRGraphBuilder builder = new CSRGraphBuilder();
+            for (int v = 1; v < 20; v++) builder.addEdge(v - 1, v, v);
+            List<String> names = new ArrayList<>();
+            for (int v = 0; v < 20; v++) names.add("n" + v);
+            try (BinaryGraphWriter writer = new BinaryGraphWriter(file)) {
+                writer.write(1, builder.build(20), NodeLabels.of(names));
+            }
+            long size = Files.size(file);
+
+            // cut inside the graph block: the header promises more than the file holds
+            truncate(file, size - 8);
+            try (BinaryGraphLoader loader = new BinaryGraphLoader(file)) {
+                assertThrows(IOException.class, loader::next);
+            }
+            // cut inside the graph header
+            truncate(file, 24);
+            try (BinaryGraphLoader loader = new BinaryGraphLoader(file)) {
+                assertThrows(IOException.class, loader::next);
+            }
+            // cut inside the file header
+            truncate(file, 10);
+            assertThrows(IOException.class, () -> new BinaryGraphLoader(file));
+
+            Files.write(file, "{\"graphs\": []}".getBytes());
+            assertThrows(IOException.class, () -> new BinaryGraphLoader(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void assertSameGraph(CSRGraph expected, CSRGraph actual) {
+        assertEquals(expected.V(), actual.V());
+        assertEquals(expected.E(), actual.E());
+        for (int v = 0; v < expected.V(); v++) {
+            assertEquals(expected.begin(v), actual.begin(v));
+            assertEquals(expected.end(v), actual.end(v));
+        }
+        for (int i = 0; i < 2 * expected.E(); i++) {
+            assertEquals(expected.target(i), actual.target(i));
+            assertEquals(expected.slotEdge(i), actual.slotEdge(i));
+            assertEquals(expected.slotWeight(i), actual.slotWeight(i));
+        }
+        for (int e = 0; e < expected.E(); e++) {
+            assertEquals(expected.from(e), actual.from(e));
+            assertEquals(expected.to(e), actual.to(e));
+            assertEquals(expected.weight(e), actual.weight(e));
+        }
+    }
+
+    private static void assertSameLabels(NodeLabels expected, NodeLabels actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int v = 0; v < expected.size(); v++) {
+            assertEquals(expected.label(v), actual.label(v));
+            assertEquals(v, actual.indexOf(expected.label(v)));
+        }
+        assertNull(actual.label(expected.size()));
+        assertEquals(-1, actual.indexOf("not a label"));
+    }
+}
@@ -0,0 +1,211 @@
+package hw3.solver;
+
+import edu.princeton.cs.algorithms.Edge;
+import hw3.algorithms.MinimumSpanningTree;
+import hw3.graph.CSRGraph;
+import hw3.graph.CSRGraphBuilder;
+import hw3.loader.LoadedGraph;
+import hw3.loader.StreamingGraphLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks when the result cache may serve a stored MST: damaged entries are dropped rather
+ * than returned, the store stays within its size limit by evicting the least recently used
+ * results, and keys follow the graph's structure, not its labels or edge listing order.
+ */
+class ResultCacheTest {
+    private static final String GRAPH = """
+            {"graphs": [{"id": 1, "nodes": [%s], "edges": [%s]}]}""";
+
+    @Test
+    void storedResultIsReadBack() throws IOException {
+        Path dir = Files.createTempDirectory("result-cache-test");
+        try {
+            CSRGraph graph = path(6, 1.0);
+            ResultCache cache = new ResultCache(dir, 1 << 20);
+            String key = ResultCache.key(graph);
+            assertNull(cache.get(key, MSTAlgorithm.KRUSKAL, graph));
+
+            MinimumSpanningTree mst = MSTAlgorithm.KRUSKAL.solve(graph);
+            cache.put(key, MSTAlgorithm.KRUSKAL, mst);
+            MinimumSpanningTree cached = cache.get(key, MSTAlgorithm.KRUSKAL, graph);
+            assertNotNull(cached);
+            assertTrue(cached.getMetrics().isCached());
+            assertEquals(mst.weight(), cached.weight());
+            assertEquals(edges(mst), edges(cached));
+            assertNull(cache.get(key, MSTAlgorithm.PRIM, graph));
+            assertEquals(1, cache.getHits());
+            assertEquals(2, cache.getMisses());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void damagedEntriesAreDropped() throws IOException {
+        Path dir = Files.createTempDirectory("result-cache-test");
+        try {
+            CSRGraph graph = path(6, 1.0);
+            String key = ResultCache.key(graph);
+            MinimumSpanningTree mst = MSTAlgorithm.KRUSKAL.solve(graph);
+            ResultCache cache = new ResultCache(dir, 1 << 20);
+            Path file = dir.resolve(key + "-" + MSTAlgorithm.KRUSKAL.getKey() + ResultCache.EXTENSION);
+
+            // cut inside the header: the weight and edge count are missing
+            cache.put(key, MSTAlgorithm.KRUSKAL, mst);
+            truncate(file, 33);
+            assertDropped(cache, key, graph, file);
+
+            // cut inside the edge list
+            cache.put(key, MSTAlgorithm.KRUSKAL, mst);
+            truncate(file, Files.size(file) - 8);
+            assertDropped(cache, key, graph, file);
+
+            // not a result file
+            cache.put(key, MSTAlgorithm.KRUSKAL, mst);
+            Files.write(file, "definitely not a result".repeat(4).getBytes(StandardCharsets.UTF_8));
+            assertDropped(cache, key, graph, file);
+
+            // stored for a graph of another size
+            cache.put(key, MSTAlgorithm.KRUSKAL, mst);
+            assertDropped(cache, key, path(7, 1.0), file);
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedResultsAreEvicted() throws IOException {
+        Path dir = Files.createTempDirectory("result-cache-test");
+        try {
+            List<CSRGraph> graphs = List.of(path(20, 1.0), path(20, 2.0), path(20, 3.0));
+            List<String> keys = graphs.stream().map(ResultCache::key).toList();
+            ResultCache probe = new ResultCache(dir.resolve("probe"), 1 << 20);
+            probe.put(keys.get(0), MSTAlgorithm.KRUSKAL, MSTAlgorithm.KRUSKAL.solve(graphs.get(0)));
+            long entryBytes = probe.sizeInBytes();
+
+            // room for two results
+            ResultCache cache = new ResultCache(dir.resolve("lru"), 2 * entryBytes + entryBytes / 2);
+            cache.put(keys.get(0), MSTAlgorithm.KRUSKAL, MSTAlgorithm.KRUSKAL.solve(graphs.get(0)));
+            cache.put(keys.get(1), MSTAlgorithm.KRUSKAL, MSTAlgorithm.KRUSKAL.solve(graphs.get(1)));
+            assertNotNull(cache.get(keys.get(0), MSTAlgorithm.KRUSKAL, graphs.get(0)));   // 0 is now the newest
+            cache.put(keys.get(2), MSTAlgorithm.KRUSKAL, MSTAlgorithm.KRUSKAL.solve(graphs.get(2)));
+
+            assertEquals(2, cache.size());
+            assertEquals(2 * entryBytes, cache.sizeInBytes());
+            assertNotNull(cache.get(keys.get(0), MSTAlgorithm.KRUSKAL, graphs.get(0)));
+            assertNull(cache.get(keys.get(1), MSTAlgorithm.KRUSKAL, graphs.get(1)));
+            assertNotNull(cache.get(keys.get(2), MSTAlgorithm.KRUSKAL, graphs.get(2)));
+            assertEquals(2, count(dir.resolve("lru")));
+
+            // modification times carry the order over a restart
+            Files.setLastModifiedTime(file(dir.resolve("lru"), keys.get(0)), FileTime.fromMillis(1_000_000));
+            Files.setLastModifiedTime(file(dir.resolve("lru"), keys.get(2)), FileTime.fromMillis(2_000_000));
+            ResultCache reopened = new ResultCache(dir.resolve("lru"), entryBytes);
+            assertEquals(1, reopened.size());
+            assertNull(reopened.get(keys.get(0), MSTAlgorithm.KRUSKAL, graphs.get(0)));
+            assertNotNull(reopened.get(keys.get(2), MSTAlgorithm.KRUSKAL, graphs.get(2)));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void keysIgnoreLabelsAndEdgeOrder() throws IOException {
+        String key = ResultCache.key(load("\"A\", \"B\", \"C\", \"D\"",
+                edge("A", "B", 1) + "," + edge("B", "C", 2) + "," + edge("C", "D", 3) + "," + edge("A", "D", 4)
+                        + "," + edge("A", "D", 5)));
+        // the same vertices under other names
+        assertEquals(key, ResultCache.key(load("\"north\", \"south\", \"east\", \"west\"",
+                edge("north", "south", 1) + "," + edge("south", "east", 2) + "," + edge("east", "west", 3)
+                        + "," + edge("north", "west", 4) + "," + edge("north", "west", 5))));
+        // edges listed in another order, endpoints swapped, parallel edges exchanged
+        assertEquals(key, ResultCache.key(load("\"A\", \"B\", \"C\", \"D\"",
+                edge("D", "A", 5) + "," + edge("D", "C", 3) + "," + edge("A", "B", 1) + "," + edge("A", "D", 4)
+                        + "," + edge("C", "B", 2))));
+        // a changed weight or a vertex in another position is another graph
+        assertNotEquals(key, ResultCache.key(load("\"A\", \"B\", \"C\", \"D\"",
+                edge("A", "B", 1) + "," + edge("B", "C", 2) + "," + edge("C", "D", 3) + "," + edge("A", "D", 4)
+                        + "," + edge("A", "D", 6))));
+        assertNotEquals(key, ResultCache.key(load("\"B\", \"A\", \"C\", \"D\"",
+                edge("A", "B", 1) + "," + edge("B", "C", 2) + "," + edge("C", "D", 3) + "," + edge("A", "D", 4)
+                        + "," + edge("A", "D", 5))));
+    }
+
+    private static void assertDropped(ResultCache cache, String key, CSRGraph graph, Path file) {
+        long misses = cache.getMisses();
+        assertNull(cache.get(key, MSTAlgorithm.KRUSKAL, graph));
+        assertEquals(misses + 1, cache.getMisses());
+        assertFalse(Files.exists(file), "damaged entry left on disk");
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.sizeInBytes());
+    }
+
+    // 0-1-...-(V-1) with weights scale, 2 * scale, ...
+    private static CSRGraph path(int V, double scale) {
+        CSRGraphBuilder builder = new CSRGraphBuilder();
+        for (int v = 1; v < V; v++) builder.addEdge(v - 1, v, v * scale);
+        return builder.build(V);
+    }
+
+    private static CSRGraph load(String nodes, String edges) throws IOException {
+        byte[] json = GRAPH.formatted(nodes, edges).getBytes(StandardCharsets.UTF_8);
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(new ByteArrayInputStream(json))) {
+            LoadedGraph graph = loader.next();
+            return graph.graph();
+        }
+    }
+
+    private static String edge(String from, String to, double weight) {
+        return "{\"from\": \"" + from + "\", \"to\": \"" + to + "\", \"weight\": " + weight + "}";
+    }
+
+    private static List<String> edges(MinimumSpanningTree mst) {
+        List<String> edges = new ArrayList<>();
+        for (Edge e : mst.edges()) edges.add(e.toString());
+        return edges;
+    }
+
+    private static Path file(Path dir, String key) {
+        return dir.resolve(key + "-" + MSTAlgorithm.KRUSKAL.getKey() + ResultCache.EXTENSION);
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static long count(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
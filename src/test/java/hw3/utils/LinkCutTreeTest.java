@@ -0,0 +1,158 @@
+package hw3.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks {@link LinkCutTree#connected} and {@link LinkCutTree#pathMax} against a BFS over an
+ * adjacency-list forest while links, cuts, value changes and growth are applied at random,
+ * and that links closing a cycle and cuts of missing edges are rejected.
+ */
+class LinkCutTreeTest {
+
+    @Test
+    void matchesNaiveForest() {
+        Random random = new Random(31);
+        for (int round = 0; round < 50; round++) {
+            int n = 1 + random.nextInt(40);
+            LinkCutTree tree = new LinkCutTree(n);
+            Forest forest = new Forest(n);
+            for (int x = 0; x < n; x++) {
+                double value = random.nextDouble();
+                tree.setValue(x, value);
+                forest.value[x] = value;
+            }
+
+            for (int step = 0; step < 2000; step++) {
+                int u = random.nextInt(forest.size()), v = random.nextInt(forest.size());
+                switch (random.nextInt(6)) {
+                    case 0, 1 -> {
+                        if (u != v && forest.path(u, v) == null) {
+                            tree.link(u, v);
+                            forest.link(u, v);
+                        }
+                    }
+                    case 2 -> {
+                        int[] edge = forest.randomEdge(random);
+                        if (edge != null) {
+                            tree.cut(edge[0], edge[1]);
+                            forest.cut(edge[0], edge[1]);
+                        }
+                    }
+                    case 3 -> {
+                        double value = random.nextDouble();
+                        tree.setValue(u, value);
+                        forest.value[u] = value;
+                    }
+                    case 4 -> {
+                        if (random.nextInt(20) == 0) {
+                            int size = forest.size() + 1 + random.nextInt(5);
+                            tree.grow(size);
+                            forest.grow(size);
+                        }
+                    }
+                    default -> {
+                        List<Integer> path = forest.path(u, v);
+                        assertEquals(path != null, tree.connected(u, v), "connected(" + u + ", " + v + ")");
+                        if (path != null) {
+                            int heaviest = path.get(0);
+                            for (int x : path) {
+                                if (forest.value[x] > forest.value[heaviest]) heaviest = x;
+                            }
+                            assertEquals(heaviest, tree.pathMax(u, v), "pathMax(" + u + ", " + v + ")");
+                        }
+                    }
+                }
+                assertEquals(forest.size(), tree.size());
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidLinksAndCuts() {
+        LinkCutTree tree = new LinkCutTree(4);
+        tree.link(0, 1);
+        tree.link(1, 2);
+        assertThrows(IllegalArgumentException.class, () -> tree.link(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> tree.cut(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> tree.cut(0, 3));
+        tree.cut(1, 0);
+        assertFalse(tree.connected(0, 2));
+        assertEquals(Double.NEGATIVE_INFINITY, tree.value(3));
+    }
+
+    // adjacency lists with values; paths found by BFS
+    private static final class Forest {
+        List<List<Integer>> adjacent = new ArrayList<>();
+        double[] value;
+
+        Forest(int n) {
+            value = new double[0];
+            grow(n);
+        }
+
+        int size() {
+            return adjacent.size();
+        }
+
+        void grow(int n) {
+            int old = adjacent.size();
+            value = Arrays.copyOf(value, n);
+            for (int x = old; x < n; x++) {
+                adjacent.add(new ArrayList<>());
+                value[x] = Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        void link(int u, int v) {
+            adjacent.get(u).add(v);
+            adjacent.get(v).add(u);
+        }
+
+        void cut(int u, int v) {
+            adjacent.get(u).remove(Integer.valueOf(v));
+            adjacent.get(v).remove(Integer.valueOf(u));
+        }
+
+        int[] randomEdge(Random random) {
+            List<int[]> edges = new ArrayList<>();
+            for (int u = 0; u < size(); u++) {
+                for (int v : adjacent.get(u)) {
+                    if (u < v) edges.add(random.nextBoolean() ? new int[] {u, v} : new int[] {v, u});
+                }
+            }
+            return edges.isEmpty() ? null : edges.get(random.nextInt(edges.size()));
+        }
+
+        // nodes on the u-v path, both ends included, or null if they are not connected
+        List<Integer> path(int u, int v) {
+            int[] parent = new int[size()];
+            Arrays.fill(parent, -1);
+            parent[u] = u;
+            ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(u));
+            while (!queue.isEmpty()) {
+                int x = queue.poll();
+                for (int y : adjacent.get(x)) {
+                    if (parent[y] == -1) {
+                        parent[y] = x;
+                        queue.add(y);
+                    }
+                }
+            }
+            if (parent[v] == -1) return null;
+            List<Integer> path = new ArrayList<>();
+            for (int x = v; x != u; x = parent[x]) path.add(x);
+            path.add(u);
+            return path;
+        }
+    }
+}